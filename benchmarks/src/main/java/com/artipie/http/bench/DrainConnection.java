@@ -0,0 +1,49 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.bench;
+
+import com.artipie.http.Connection;
+import com.artipie.http.Headers;
+import com.artipie.http.rs.RsStatus;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletionStage;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+
+/**
+ * Connection which reads response body to the end and consumes
+ * status, headers and body size by blackhole.
+ * @since 1.2
+ */
+final class DrainConnection implements Connection {
+
+    /**
+     * JMH blackhole.
+     */
+    private final Blackhole bhole;
+
+    /**
+     * New connection.
+     * @param bhole Blackhole
+     */
+    DrainConnection(final Blackhole bhole) {
+        this.bhole = bhole;
+    }
+
+    @Override
+    public CompletionStage<Void> accept(final RsStatus status, final Headers headers,
+        final Publisher<ByteBuffer> body) {
+        this.bhole.consume(status);
+        headers.forEach(this.bhole::consume);
+        return Flowable.fromPublisher(body)
+            .reduce(0L, (acc, buf) -> acc + buf.remaining())
+            .doOnSuccess(this.bhole::consume)
+            .ignoreElement()
+            .<Void>toSingleDefault(null)
+            .to(SingleInterop.get());
+    }
+}
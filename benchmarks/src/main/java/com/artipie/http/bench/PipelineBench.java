@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.bench;
+
+import com.artipie.http.misc.DummySubscription;
+import com.artipie.http.misc.LockFreePipeline;
+import com.artipie.http.misc.Pipeline;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Contention benchmark of {@link Pipeline} and {@link LockFreePipeline}.
+ * <p>
+ * Several threads push items to the same pipeline with unbounded downstream demand:
+ * {@link Pipeline} serializes them on the monitor, {@link LockFreePipeline} queues items
+ * and one of the threads delivers them in the drain loop. Use {@code -t} option to change
+ * the amount of threads.
+ * </p>
+ * @since 1.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class PipelineBench {
+
+    /**
+     * Item to push.
+     */
+    private static final Object ITEM = new Object();
+
+    /**
+     * Monitor based pipeline.
+     */
+    private Pipeline<Object> locked;
+
+    /**
+     * Lock-free pipeline.
+     */
+    private LockFreePipeline<Object> lockfree;
+
+    @Setup
+    public void setup(final Blackhole bhole) {
+        this.locked = new Pipeline<>();
+        this.locked.onSubscribe(DummySubscription.VALUE);
+        this.locked.connect(new BlackholeSubscriber(bhole));
+        this.lockfree = new LockFreePipeline<>();
+        this.lockfree.onSubscribe(DummySubscription.VALUE);
+        this.lockfree.connect(new BlackholeSubscriber(bhole));
+    }
+
+    @Benchmark
+    public void locked() {
+        this.locked.onNext(PipelineBench.ITEM);
+    }
+
+    @Benchmark
+    public void lockfree() {
+        this.lockfree.onNext(PipelineBench.ITEM);
+    }
+
+    /**
+     * Subscriber with unbounded demand which consumes items by blackhole.
+     * @since 1.2
+     */
+    private static final class BlackholeSubscriber implements Subscriber<Object> {
+
+        /**
+         * JMH blackhole.
+         */
+        private final Blackhole bhole;
+
+        /**
+         * New subscriber.
+         * @param bhole Blackhole
+         */
+        BlackholeSubscriber(final Blackhole bhole) {
+            this.bhole = bhole;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription sub) {
+            sub.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final Object item) {
+            this.bhole.consume(item);
+        }
+
+        @Override
+        public void onError(final Throwable err) {
+            this.bhole.consume(err);
+        }
+
+        @Override
+        public void onComplete() {
+            // nothing to do
+        }
+    }
+}
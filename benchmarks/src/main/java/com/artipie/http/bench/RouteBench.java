@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.bench;
+
+import com.artipie.asto.Content;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.StandardRs;
+import com.artipie.http.rt.ByMethodsRule;
+import com.artipie.http.rt.RtPath;
+import com.artipie.http.rt.RtRule;
+import com.artipie.http.rt.RtRulePath;
+import com.artipie.http.rt.SliceRoute;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+
+/**
+ * Routing benchmark of {@link SliceRoute} and {@link SliceRoute.Compiled}.
+ * <p>
+ * Both slices route the request over the same list of routes which looks like
+ * a repository adapter routing table: method with exact path and path prefix rules per repository
+ * and a fallback route at the end. The request is matched by one of the last
+ * routes, so {@link SliceRoute} tries almost all of them. Slices under routes
+ * return static response without sending it, only lookups are measured.
+ * </p>
+ * @since 1.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class RouteBench {
+
+    /**
+     * Amount of repositories in routing table, each has three routes.
+     */
+    @Param({"10", "30"})
+    public int repos;
+
+    /**
+     * Linear routing slice.
+     */
+    private Slice linear;
+
+    /**
+     * Compiled routing slice.
+     */
+    private Slice compiled;
+
+    /**
+     * Request line.
+     */
+    private String line;
+
+    @Setup
+    public void setup() {
+        final List<RtPath> routes = new ArrayList<>(this.repos * 3 + 1);
+        for (int idx = 0; idx < this.repos; ++idx) {
+            final String repo = String.format("/repo%d", idx);
+            routes.add(
+                new RtRulePath(
+                    new RtRule.All(
+                        ByMethodsRule.Standard.ALL_READ,
+                        new RtRule.ByPath(String.format("%s/index\\.json", repo))
+                    ),
+                    new RouteBench.Static()
+                )
+            );
+            routes.add(
+                new RtRulePath(
+                    new RtRule.All(
+                        ByMethodsRule.Standard.ALL_READ,
+                        new RtRule.ByPath(String.format("%s/.*", repo))
+                    ),
+                    new RouteBench.Static()
+                )
+            );
+            routes.add(
+                new RtRulePath(
+                    new RtRule.All(
+                        new ByMethodsRule(RqMethod.PUT),
+                        new RtRule.ByPath(String.format("%s/.*", repo))
+                    ),
+                    new RouteBench.Static()
+                )
+            );
+        }
+        routes.add(new RtRulePath(RtRule.FALLBACK, new RouteBench.Static()));
+        this.linear = new SliceRoute(routes);
+        this.compiled = new SliceRoute.Compiled(routes);
+        this.line = new RequestLine(
+            RqMethod.GET, String.format("/repo%d/com/artipie/http/1.0/http-1.0.jar", this.repos - 1)
+        ).toString();
+    }
+
+    @Benchmark
+    public Response linear() {
+        return this.linear.response(this.line, Headers.EMPTY, Content.EMPTY);
+    }
+
+    @Benchmark
+    public Response compiled() {
+        return this.compiled.response(this.line, Headers.EMPTY, Content.EMPTY);
+    }
+
+    /**
+     * Slice with static response.
+     * @since 1.2
+     */
+    private static final class Static implements Slice {
+
+        @Override
+        public Response response(final String line,
+            final Iterable<Map.Entry<String, String>> headers,
+            final Publisher<ByteBuffer> body) {
+            return StandardRs.OK;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.bench;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.auth.Authentication;
+import com.artipie.http.auth.BasicAuthzSlice;
+import com.artipie.http.auth.OperationControl;
+import com.artipie.http.headers.Authorization;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.StandardRs;
+import com.artipie.http.rt.ByMethodsRule;
+import com.artipie.http.rt.RtRule;
+import com.artipie.http.rt.RtRulePath;
+import com.artipie.http.rt.SliceRoute;
+import com.artipie.http.slice.SliceDownload;
+import com.artipie.http.slice.SliceSimple;
+import com.artipie.http.slice.TrimPathSlice;
+import com.artipie.security.perms.Action;
+import com.artipie.security.perms.AdapterBasicPermission;
+import com.artipie.security.policy.Policy;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.security.PermissionCollection;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+
+/**
+ * End-to-end benchmark of the slice request/response hot path.
+ * <p>
+ * Request goes through {@link TrimPathSlice}, {@link SliceRoute} with several routes,
+ * {@link BasicAuthzSlice} and {@link SliceDownload} over {@link InMemoryStorage}, the
+ * response is sent to connection which reads the body to the end.
+ * Run it with {@code -prof gc} to get bytes allocated per request
+ * ({@code gc.alloc.rate.norm} metric).
+ * </p>
+ * @since 1.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SliceBench {
+
+    /**
+     * Repository name.
+     */
+    private static final String REPO = "my-repo";
+
+    /**
+     * User name.
+     */
+    private static final String USER = "alice";
+
+    /**
+     * User password.
+     */
+    private static final String PSWD = "secret";
+
+    /**
+     * Artifact size in bytes.
+     */
+    @Param({"1024", "1048576"})
+    private int size;
+
+    /**
+     * Slice under benchmark.
+     */
+    private Slice slice;
+
+    /**
+     * Request line.
+     */
+    private String line;
+
+    /**
+     * Request headers.
+     */
+    private Headers headers;
+
+    @Setup
+    public void setup() {
+        final Storage storage = new InMemoryStorage();
+        final byte[] data = new byte[this.size];
+        new Random(this.size).nextBytes(data);
+        storage.save(new Key.From("com/artipie/lib/1.0/lib-1.0.jar"), new Content.From(data))
+            .join();
+        final Policy<PermissionCollection> policy = user -> {
+            final PermissionCollection perms =
+                new AdapterBasicPermission(SliceBench.REPO, Action.Standard.READ)
+                    .newPermissionCollection();
+            if (SliceBench.USER.equals(user.name())) {
+                perms.add(new AdapterBasicPermission(SliceBench.REPO, Action.Standard.READ));
+            }
+            return perms;
+        };
+        this.slice = new TrimPathSlice(
+            new SliceRoute(
+                new RtRulePath(
+                    new RtRule.All(
+                        new ByMethodsRule(RqMethod.PUT), new RtRule.ByPath(".*\\.pom")
+                    ),
+                    new SliceSimple(StandardRs.OK)
+                ),
+                new RtRulePath(
+                    new RtRule.All(
+                        ByMethodsRule.Standard.GET, new RtRule.ByPath(".*/maven-metadata\\.xml")
+                    ),
+                    new SliceSimple(StandardRs.OK)
+                ),
+                new RtRulePath(
+                    new RtRule.All(
+                        ByMethodsRule.Standard.GET, new RtRule.ByPath(".*\\.jar")
+                    ),
+                    new BasicAuthzSlice(
+                        new SliceDownload(storage),
+                        new Authentication.Single(SliceBench.USER, SliceBench.PSWD),
+                        new OperationControl(
+                            policy,
+                            new AdapterBasicPermission(SliceBench.REPO, Action.Standard.READ)
+                        )
+                    )
+                ),
+                new RtRulePath(RtRule.FALLBACK, new SliceSimple(StandardRs.NOT_FOUND))
+            ),
+            SliceBench.REPO
+        );
+        this.line = new RequestLine(
+            RqMethod.GET, String.format("/%s/com/artipie/lib/1.0/lib-1.0.jar", SliceBench.REPO)
+        ).toString();
+        this.headers = new Headers.From(
+            new Authorization.Basic(SliceBench.USER, SliceBench.PSWD),
+            new Header("Accept", "*/*"),
+            new Header("User-Agent", "Apache-Maven/3.8.6"),
+            new Header("Host", "artipie.example.com")
+        );
+    }
+
+    @Benchmark
+    public void download(final Blackhole bhole) {
+        final Publisher<ByteBuffer> body = Flowable.empty();
+        final Iterable<Map.Entry<String, String>> hdrs = this.headers;
+        this.slice.response(this.line, hdrs, body)
+            .send(new DrainConnection(bhole))
+            .toCompletableFuture().join();
+    }
+}
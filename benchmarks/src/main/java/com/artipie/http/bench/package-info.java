@@ -0,0 +1,10 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+
+/**
+ * JMH benchmarks for HTTP layer.
+ * @since 1.2
+ */
+package com.artipie.http.bench;
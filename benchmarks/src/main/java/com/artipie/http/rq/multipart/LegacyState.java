@@ -0,0 +1,286 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.rq.multipart;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.BiFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Previous implementation of multipart processor {@link State}.
+ * <p>
+ * It patches the state with the chain of lambda patchers for each chunk, the copy
+ * is kept as a reference for {@link StateBench}.
+ * </p>
+ * @since 1.2
+ * @checkstyle MagicNumberCheck (50 lines)
+ */
+final class LegacyState {
+
+    /**
+     * Initial state.
+     */
+    private static final int INIT = 1;
+
+    /**
+     * Processing preamble.
+     */
+    private static final int PREAMBLE = 1 << 1;
+
+    /**
+     * Processing part.
+     */
+    private static final int PART = 1 << 2;
+
+    /**
+     * Finished part.
+     */
+    private static final int END = 1 << 3;
+
+    /**
+     * Starting part.
+     */
+    private static final int START = 1 << 4;
+
+    /**
+     * Processing epilogue.
+     */
+    private static final int EPILOGUE = 1 << 5;
+
+    /**
+     * Patch factories for multipart chunks.
+     */
+    private static final Collection<BiFunction<ByteBuffer, Boolean, Patch>> PATCHERS =
+        Collections.unmodifiableList(
+            Arrays.asList(
+                (buf, end) -> Patch.equal(LegacyState.INIT).addFlags(LegacyState.PREAMBLE),
+                (buf, end) -> Patch.hasFlag(LegacyState.INIT).removeFlags(LegacyState.INIT),
+                (buf, end) -> Patch.hasFlag(LegacyState.START).removeFlags(LegacyState.START),
+                (buf, end) -> Patch.equal(LegacyState.INIT).addFlags(LegacyState.START),
+                (buf, end) -> Patch.hasFlag(LegacyState.END).addFlags(LegacyState.START),
+                (buf, end) -> Patch.hasFlag(LegacyState.PREAMBLE | LegacyState.END).removeFlags(LegacyState.PREAMBLE),
+                (buf, end) -> new Patch(
+                    state -> (state & (LegacyState.END | LegacyState.EPILOGUE)) == LegacyState.END,
+                    state -> {
+                        final ByteBuffer dup = buf.duplicate();
+                        // epilogue starts with double minus `--` seq after end of previous part
+                        int patch = state;
+                        if (dup.remaining() >= 2 && dup.get() == '-' && dup.get() == '-') {
+                            patch |= LegacyState.EPILOGUE;
+                        }
+                        return patch;
+                    }
+                ),
+                (buf, end) -> new Patch(
+                    state -> ((state & LegacyState.END) == LegacyState.END) != end,
+                    state -> {
+                        final int patch;
+                        if (end) {
+                            patch = state | LegacyState.END;
+                        } else {
+                            patch = state & ~LegacyState.END;
+                        }
+                        return patch;
+                    }
+                ),
+                (buf, end) -> new Patch(state -> (state & (LegacyState.PREAMBLE | LegacyState.EPILOGUE)) == 0)
+                    .addFlags(LegacyState.PART),
+                (buf, end) -> new Patch(state -> (state & (LegacyState.PREAMBLE | LegacyState.EPILOGUE)) != 0)
+                    .removeFlags(LegacyState.PART)
+            )
+        );
+
+    /**
+     * Current state flags.
+     */
+    private volatile int flags;
+
+    /**
+     * New init state.
+     */
+    LegacyState() {
+        this.flags = LegacyState.INIT;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder res = new StringBuilder(38);
+        if (this.hasFlag(LegacyState.INIT)) {
+            res.append("INIT,");
+        }
+        if (this.hasFlag(LegacyState.PREAMBLE)) {
+            res.append("PREAMBLE,");
+        }
+        if (this.hasFlag(LegacyState.PART)) {
+            res.append("PART,");
+        }
+        if (this.hasFlag(LegacyState.END)) {
+            res.append("END,");
+        }
+        if (this.hasFlag(LegacyState.START)) {
+            res.append("START,");
+        }
+        if (this.hasFlag(LegacyState.EPILOGUE)) {
+            res.append("EPILOGUE,");
+        }
+        return res.toString();
+    }
+
+    /**
+     * Patch current state with new chunk.
+     * @param buf Next chunk
+     * @param end End of part
+     */
+    void patch(final ByteBuffer buf, final boolean end) {
+        for (final BiFunction<ByteBuffer, Boolean, Patch> patcher : LegacyState.PATCHERS) {
+            final ByteBuffer copy = buf.duplicate();
+            final Patch patch = patcher.apply(copy, end);
+            if (patch.test(this.flags)) {
+                this.flags = patch.applyAsInt(this.flags);
+            }
+        }
+    }
+
+    /**
+     * Current state should be ignored, since it's either preamble or
+     * epilogue.
+     * @return True if ignore
+     */
+    boolean shouldIgnore() {
+        return (this.flags & (LegacyState.PREAMBLE | LegacyState.EPILOGUE)) != 0;
+    }
+
+    /**
+     * Is in initial state.
+     * @return True if current state is initial
+     */
+    boolean isInit() {
+        return this.hasFlag(LegacyState.INIT);
+    }
+
+    /**
+     * Check if state is in start of the part.
+     * @return True if in start
+     */
+    boolean started() {
+        return this.hasFlag(LegacyState.START);
+    }
+
+    /**
+     * Check if state in end of the part.
+     * @return True if in the end
+     */
+    boolean ended() {
+        return this.hasFlag(LegacyState.END);
+    }
+
+    /**
+     * Check state has flag.
+     * @param flag Flag to check
+     * @return True if has
+     */
+    private boolean hasFlag(final int flag) {
+        return (this.flags & flag) == flag;
+    }
+
+    /**
+     * Patch for state, it matches state to apply and update state with new flags.
+     * @since 1.0
+     */
+    private static final class Patch implements IntPredicate, IntUnaryOperator {
+
+        /**
+         * Empty patch which match any state.
+         */
+        static final Patch ANY = new Patch(state -> true);
+
+        /**
+         * Predicate to match current state.
+         */
+        private final IntPredicate predicate;
+
+        /**
+         * Operator to update current state.
+         */
+        private final IntUnaryOperator operator;
+
+        /**
+         * New patch with predicate and operator.
+         * @param predicate To match current state
+         */
+        Patch(final IntPredicate predicate) {
+            this(predicate, state -> state);
+        }
+
+        /**
+         * New patch with predicate and operator.
+         * @param predicate To match current state
+         * @param operator To update current state
+         */
+        Patch(final IntPredicate predicate, final IntUnaryOperator operator) {
+            this.operator = operator;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean test(final int state) {
+            return this.predicate.test(state);
+        }
+
+        @Override
+        public int applyAsInt(final int state) {
+            return this.operator.applyAsInt(state);
+        }
+
+        /**
+         * Create new patch copy, that apply flags to state.
+         * @param flags To apply
+         * @return State copy with new operator
+         */
+        Patch addFlags(final int flags) {
+            return new Patch(this.predicate, this.operator.andThen(state -> state | flags));
+        }
+
+        /**
+         * Create new patch copy, that removes flags from state.
+         * @param flags To apply
+         * @return State copy with new operator
+         */
+        Patch removeFlags(final int flags) {
+            return new Patch(this.predicate, this.operator.andThen(state -> state & ~flags));
+        }
+
+        /**
+         * Creates new patch matches states equal to provided state.
+         * @param val Value to test against current state
+         * @return New patch instance
+         */
+        static Patch equal(final int val) {
+            return new Patch(test -> test == val, state -> state);
+        }
+
+        /**
+         * Creates new patch matches state by having flags.
+         * @param flag Flag that state should have to match
+         * @return New patch instance
+         */
+        static Patch hasFlag(final int flag) {
+            return new Patch(test -> (test & flag) == flag, state -> state);
+        }
+
+        /**
+         * Creates new patch matches state by having no flags.
+         * @param flag Flag that state should not have to match
+         * @return New patch instance
+         */
+        static Patch hasNoFlag(final int flag) {
+            return new Patch(test -> (test & flag) == 0, state -> state);
+        }
+    }
+}
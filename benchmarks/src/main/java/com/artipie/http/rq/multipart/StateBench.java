@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.rq.multipart;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Multipart state machine benchmark: per token cost of {@link State} patching
+ * compared to {@link LegacyState}.
+ * <p>
+ * Each operation patches the state with one token of multipart body: preamble,
+ * parts chunks and epilogue. Run it with {@code -prof gc} to compare bytes
+ * allocated per token.
+ * </p>
+ * @since 1.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class StateBench {
+
+    /**
+     * Amount of tokens in multipart body.
+     */
+    private static final int TOKENS = 64;
+
+    /**
+     * Multipart body tokens.
+     */
+    private final ByteBuffer[] tokens = StateBench.body();
+
+    /**
+     * End of part flags for tokens.
+     */
+    private final boolean[] ends = StateBench.ends();
+
+    @Benchmark
+    @OperationsPerInvocation(StateBench.TOKENS)
+    public void table(final Blackhole bhl) {
+        final State state = new State();
+        for (int idx = 0; idx < StateBench.TOKENS; ++idx) {
+            state.patch(this.tokens[idx], this.ends[idx]);
+            bhl.consume(state.started());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(StateBench.TOKENS)
+    public void legacy(final Blackhole bhl) {
+        final LegacyState state = new LegacyState();
+        for (int idx = 0; idx < StateBench.TOKENS; ++idx) {
+            state.patch(this.tokens[idx], this.ends[idx]);
+            bhl.consume(state.started());
+        }
+    }
+
+    /**
+     * Multipart body tokens: preamble, parts of three chunks each and epilogue.
+     * @return Tokens
+     */
+    private static ByteBuffer[] body() {
+        final ByteBuffer[] res = new ByteBuffer[StateBench.TOKENS];
+        res[0] = StateBench.token("preamble");
+        for (int idx = 1; idx < StateBench.TOKENS - 1; ++idx) {
+            final String token;
+            if (idx % 3 == 1) {
+                token = "\r\nContent-Disposition: form-data\r\n\r\npart";
+            } else {
+                token = "part body chunk";
+            }
+            res[idx] = StateBench.token(token);
+        }
+        res[StateBench.TOKENS - 1] = StateBench.token("--\r\nepilogue");
+        return res;
+    }
+
+    /**
+     * End of part flags for {@link #body()} tokens.
+     * @return Flags
+     */
+    private static boolean[] ends() {
+        final boolean[] res = new boolean[StateBench.TOKENS];
+        res[0] = true;
+        for (int idx = 1; idx < StateBench.TOKENS; ++idx) {
+            res[idx] = idx % 3 == 0 || idx == StateBench.TOKENS - 1;
+        }
+        return res;
+    }
+
+    /**
+     * Read-only token buffer.
+     * @param str Token string
+     * @return Buffer
+     */
+    private static ByteBuffer token(final String str) {
+        return ByteBuffer.wrap(str.getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer();
+    }
+}
@@ -5,10 +5,11 @@
 package com.artipie.http;
 
 import com.artipie.http.headers.Header;
-import com.google.common.collect.Iterables;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Spliterator;
 import java.util.function.Consumer;
@@ -26,6 +27,31 @@ public interface Headers extends Iterable<Map.Entry<String, String>> {
      */
     Headers EMPTY = new From(Collections.emptyList());
 
+    /**
+     * Header values by case-insensitive name.
+     * <p>
+     * Default implementation iterates all headers, {@link From}, {@link Wrap} and
+     * {@link Indexed} use hash index of header names.
+     * </p>
+     * <p>
+     * {@link From} and {@link Wrap} build the index on first lookup and reuse indexes of
+     * origin headers, so the index is a snapshot of origin iterable: headers are expected
+     * to be immutable, changes of origin iterable after first lookup are visible
+     * to iteration, but not to {@code find}.
+     * </p>
+     * @param name Header name
+     * @return Values in headers order, empty list if not found
+     */
+    default List<String> find(final String name) {
+        final List<String> res = new ArrayList<>(1);
+        for (final Map.Entry<String, String> entry : this) {
+            if (entry.getKey().equalsIgnoreCase(name)) {
+                res.add(entry.getValue());
+            }
+        }
+        return res;
+    }
+
     /**
      * {@link Headers} created from something.
      *
@@ -38,6 +64,11 @@ public interface Headers extends Iterable<Map.Entry<String, String>> {
          */
         private final Iterable<Map.Entry<String, String>> origin;
 
+        /**
+         * Index of origin headers, created on first lookup.
+         */
+        private volatile Headers index;
+
         /**
          * Ctor.
          *
@@ -118,7 +149,7 @@ public interface Headers extends Iterable<Map.Entry<String, String>> {
             final Iterable<Map.Entry<String, String>> origin,
             final Iterable<Map.Entry<String, String>> additional
         ) {
-            this(Iterables.concat(origin, additional));
+            this(new HeadersConcat(origin, additional));
         }
 
         /**
@@ -144,6 +175,24 @@ public interface Headers extends Iterable<Map.Entry<String, String>> {
         public Spliterator<Map.Entry<String, String>> spliterator() {
             return this.origin.spliterator();
         }
+
+        @Override
+        public List<String> find(final String name) {
+            return this.index().find(name);
+        }
+
+        /**
+         * Lookup index of origin headers, created on first call.
+         * @return Indexed headers
+         */
+        Headers index() {
+            Headers idx = this.index;
+            if (idx == null) {
+                idx = Indexed.of(this.origin);
+                this.index = idx;
+            }
+            return idx;
+        }
     }
 
     /**
@@ -157,6 +206,11 @@ public interface Headers extends Iterable<Map.Entry<String, String>> {
          */
         private final Iterable<Map.Entry<String, String>> origin;
 
+        /**
+         * Index of origin headers, created on first lookup.
+         */
+        private volatile Headers index;
+
         /**
          * Ctor.
          * @param origin Origin headers
@@ -187,5 +241,157 @@ public interface Headers extends Iterable<Map.Entry<String, String>> {
         public final Spliterator<Map.Entry<String, String>> spliterator() {
             return this.origin.spliterator();
         }
+
+        @Override
+        public final List<String> find(final String name) {
+            return this.index().find(name);
+        }
+
+        /**
+         * Lookup index of origin headers, created on first call.
+         * @return Indexed headers
+         */
+        final Headers index() {
+            Headers idx = this.index;
+            if (idx == null) {
+                idx = Indexed.of(this.origin);
+                this.index = idx;
+            }
+            return idx;
+        }
+    }
+
+    /**
+     * Headers with hash index of names for case-insensitive lookup.
+     * <p>
+     * Headers are copied to flat array on construction, names are indexed
+     * in open-addressing hash table, values of the same name are linked
+     * in headers order, so lookup by name doesn't depend on amount of headers.
+     * </p>
+     * @since 1.2
+     */
+    final class Indexed implements Headers {
+
+        /**
+         * Min hash table size.
+         */
+        private static final int MIN_TABLE = 8;
+
+        /**
+         * Headers.
+         */
+        private final List<Map.Entry<String, String>> entries;
+
+        /**
+         * Hash table of names: index of first header with the name plus one,
+         * zero for empty slot.
+         */
+        private final int[] table;
+
+        /**
+         * Index of next header with the same name plus one, zero for the last.
+         */
+        private final int[] next;
+
+        /**
+         * Index headers.
+         * @param origin Origin headers
+         */
+        public Indexed(final Iterable<Map.Entry<String, String>> origin) {
+            final List<Map.Entry<String, String>> list = new ArrayList<>(Indexed.MIN_TABLE);
+            origin.forEach(list::add);
+            this.entries = Collections.unmodifiableList(list);
+            this.table = new int[
+                Math.max(Indexed.MIN_TABLE, Integer.highestOneBit(list.size() * 2 + 1) << 1)
+            ];
+            this.next = new int[list.size()];
+            final int[] tail = new int[this.table.length];
+            final int mask = this.table.length - 1;
+            for (int idx = 0; idx < list.size(); ++idx) {
+                final String name = list.get(idx).getKey();
+                int slot = Indexed.hash(name) & mask;
+                while (this.table[slot] != 0
+                    && !list.get(this.table[slot] - 1).getKey().equalsIgnoreCase(name)) {
+                    slot = slot + 1 & mask;
+                }
+                if (this.table[slot] == 0) {
+                    this.table[slot] = idx + 1;
+                } else {
+                    this.next[tail[slot] - 1] = idx + 1;
+                }
+                tail[slot] = idx + 1;
+            }
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, String>> iterator() {
+            return this.entries.iterator();
+        }
+
+        @Override
+        public void forEach(final Consumer<? super Map.Entry<String, String>> action) {
+            this.entries.forEach(action);
+        }
+
+        @Override
+        public Spliterator<Map.Entry<String, String>> spliterator() {
+            return this.entries.spliterator();
+        }
+
+        @Override
+        public List<String> find(final String name) {
+            final int mask = this.table.length - 1;
+            int slot = Indexed.hash(name) & mask;
+            while (this.table[slot] != 0
+                && !this.entries.get(this.table[slot] - 1).getKey().equalsIgnoreCase(name)) {
+                slot = slot + 1 & mask;
+            }
+            final List<String> res;
+            if (this.table[slot] == 0) {
+                res = Collections.emptyList();
+            } else {
+                res = new ArrayList<>(1);
+                for (int pos = this.table[slot]; pos != 0; pos = this.next[pos - 1]) {
+                    res.add(this.entries.get(pos - 1).getValue());
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Indexed headers, existing index of headers or their parts is reused.
+         * @param headers Headers
+         * @return Indexed headers
+         */
+        static Headers of(final Iterable<Map.Entry<String, String>> headers) {
+            final Headers res;
+            if (headers instanceof Indexed) {
+                res = (Headers) headers;
+            } else if (headers instanceof From) {
+                res = ((From) headers).index();
+            } else if (headers instanceof Wrap) {
+                res = ((Wrap) headers).index();
+            } else if (headers instanceof HeadersConcat) {
+                res = ((HeadersConcat) headers).index();
+            } else {
+                res = new Indexed(headers);
+            }
+            return res;
+        }
+
+        /**
+         * Case-insensitive hash code of the name, consistent with
+         * {@link String#equalsIgnoreCase(String)}.
+         * @param name Header name
+         * @return Hash code
+         * @checkstyle MagicNumberCheck (10 lines)
+         */
+        private static int hash(final String name) {
+            int res = 0;
+            for (int pos = 0; pos < name.length(); ++pos) {
+                res = 31 * res + Character.toLowerCase(Character.toUpperCase(name.charAt(pos)));
+            }
+            return res ^ res >>> 16;
+        }
     }
 }
@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Concatenation of headers, which keeps both parts, so lookup index of
+ * concatenated headers reuses existing indexes of the parts.
+ * @since 1.2
+ */
+final class HeadersConcat implements Iterable<Map.Entry<String, String>> {
+
+    /**
+     * First part.
+     */
+    private final Iterable<Map.Entry<String, String>> first;
+
+    /**
+     * Second part.
+     */
+    private final Iterable<Map.Entry<String, String>> second;
+
+    /**
+     * Ctor.
+     * @param first First part
+     * @param second Second part
+     */
+    HeadersConcat(final Iterable<Map.Entry<String, String>> first,
+        final Iterable<Map.Entry<String, String>> second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public Iterator<Map.Entry<String, String>> iterator() {
+        return Iterables.concat(this.first, this.second).iterator();
+    }
+
+    @Override
+    public void forEach(final Consumer<? super Map.Entry<String, String>> action) {
+        this.first.forEach(action);
+        this.second.forEach(action);
+    }
+
+    @Override
+    public Spliterator<Map.Entry<String, String>> spliterator() {
+        return Iterables.concat(this.first, this.second).spliterator();
+    }
+
+    /**
+     * Lookup index of concatenated headers.
+     * @return Headers which find values in indexes of both parts
+     */
+    Headers index() {
+        return new Joined(
+            this, Headers.Indexed.of(this.first), Headers.Indexed.of(this.second)
+        );
+    }
+
+    /**
+     * Headers joined from indexes of parts.
+     * @since 1.2
+     */
+    private static final class Joined implements Headers {
+
+        /**
+         * Concatenated headers.
+         */
+        private final Iterable<Map.Entry<String, String>> all;
+
+        /**
+         * Index of first part.
+         */
+        private final Headers first;
+
+        /**
+         * Index of second part.
+         */
+        private final Headers second;
+
+        /**
+         * Ctor.
+         * @param all Concatenated headers
+         * @param first Index of first part
+         * @param second Index of second part
+         */
+        Joined(final Iterable<Map.Entry<String, String>> all, final Headers first,
+            final Headers second) {
+            this.all = all;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, String>> iterator() {
+            return this.all.iterator();
+        }
+
+        @Override
+        public List<String> find(final String name) {
+            final List<String> head = this.first.find(name);
+            final List<String> tail = this.second.find(name);
+            final List<String> res;
+            if (tail.isEmpty()) {
+                res = head;
+            } else if (head.isEmpty()) {
+                res = tail;
+            } else {
+                res = new ArrayList<>(head.size() + tail.size());
+                res.addAll(head);
+                res.addAll(tail);
+            }
+            return res;
+        }
+    }
+}
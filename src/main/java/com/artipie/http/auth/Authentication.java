@@ -4,9 +4,19 @@
  */
 package com.artipie.http.auth;
 
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -156,4 +166,170 @@ public interface Authentication {
             );
         }
     }
+
+    /**
+     * Caching authentication decorator.
+     * <p>
+     * Caches verification results of origin authentication by keyed hash
+     * (HMAC-SHA256 with random per instance key) of credentials, so neither
+     * passwords nor their plain hashes are kept in memory. Successful verifications
+     * are cached for TTL, failed verifications are cached for shorter negative TTL,
+     * both caches are bounded by size. It can be used with any slice or scheme
+     * which accepts {@link Authentication}, e.g. {@link BasicAuthScheme},
+     * {@link BasicAuthSlice} or {@link BasicAuthzSlice}.
+     * </p>
+     * @since 1.2
+     */
+    final class Cached implements Authentication {
+
+        /**
+         * Default maximum amount of cached credentials.
+         */
+        private static final long SIZE = 10_000L;
+
+        /**
+         * HMAC key size in bytes.
+         */
+        private static final int KEY_SIZE = 32;
+
+        /**
+         * Origin authentication.
+         */
+        private final Authentication origin;
+
+        /**
+         * Credentials hash function.
+         */
+        private final HashFunction hash;
+
+        /**
+         * Authenticated users by credentials hash.
+         */
+        private final Cache<HashCode, AuthUser> users;
+
+        /**
+         * Rejected credentials hashes.
+         */
+        private final Cache<HashCode, Boolean> rejected;
+
+        /**
+         * Cache hits.
+         */
+        private final AtomicLong hits;
+
+        /**
+         * Cache misses.
+         */
+        private final AtomicLong misses;
+
+        /**
+         * New caching authentication with max size of 10000 credentials, TTL of 5 minutes
+         * and negative TTL of 30 seconds.
+         * @param origin Origin authentication
+         */
+        public Cached(final Authentication origin) {
+            // @checkstyle MagicNumberCheck (1 line)
+            this(origin, Cached.SIZE, Duration.ofMinutes(5), Duration.ofSeconds(30));
+        }
+
+        /**
+         * New caching authentication.
+         * @param origin Origin authentication
+         * @param size Max amount of cached credentials in each of positive
+         *  and negative caches
+         * @param ttl Time to live of successful verification
+         * @param negative Time to live of failed verification
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        public Cached(final Authentication origin, final long size, final Duration ttl,
+            final Duration negative) {
+            this(origin, size, ttl, negative, Ticker.systemTicker());
+        }
+
+        /**
+         * New caching authentication with time source of cache expiration.
+         * @param origin Origin authentication
+         * @param size Max amount of cached credentials in each of positive
+         *  and negative caches
+         * @param ttl Time to live of successful verification
+         * @param negative Time to live of failed verification
+         * @param ticker Time source of cache expiration
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        public Cached(final Authentication origin, final long size, final Duration ttl,
+            final Duration negative, final Ticker ticker) {
+            this.origin = origin;
+            this.hash = Hashing.hmacSha256(Cached.secret());
+            this.users = CacheBuilder.newBuilder().ticker(ticker)
+                .maximumSize(size).expireAfterWrite(ttl).build();
+            this.rejected = CacheBuilder.newBuilder().ticker(ticker)
+                .maximumSize(size).expireAfterWrite(negative).build();
+            this.hits = new AtomicLong();
+            this.misses = new AtomicLong();
+        }
+
+        @Override
+        public Optional<AuthUser> user(final String username, final String password) {
+            final HashCode key = this.hash.newHasher()
+                .putInt(username.length())
+                .putString(username, StandardCharsets.UTF_8)
+                .putString(password, StandardCharsets.UTF_8)
+                .hash();
+            Optional<AuthUser> res = Optional.ofNullable(this.users.getIfPresent(key));
+            if (res.isPresent() || this.rejected.getIfPresent(key) != null) {
+                this.hits.incrementAndGet();
+            } else {
+                this.misses.incrementAndGet();
+                res = this.origin.user(username, password);
+                if (res.isPresent()) {
+                    this.users.put(key, res.get());
+                } else {
+                    this.rejected.put(key, Boolean.TRUE);
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Amount of verifications served from cache.
+         * @return Cache hits
+         */
+        public long hits() {
+            return this.hits.get();
+        }
+
+        /**
+         * Amount of verifications delegated to origin authentication.
+         * @return Cache misses
+         */
+        public long misses() {
+            return this.misses.get();
+        }
+
+        /**
+         * Invalidate all cached verifications, e.g. when users were changed.
+         */
+        public void invalidateAll() {
+            this.users.invalidateAll();
+            this.rejected.invalidateAll();
+        }
+
+        /**
+         * Random HMAC key.
+         * @return Key bytes
+         */
+        private static byte[] secret() {
+            final byte[] key = new byte[Cached.KEY_SIZE];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%s(%s, hits=%d, misses=%d)",
+                this.getClass().getSimpleName(), this.origin, this.hits.get(), this.misses.get()
+            );
+        }
+    }
 }
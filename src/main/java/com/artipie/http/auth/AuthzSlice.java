@@ -14,6 +14,8 @@ import com.artipie.http.rs.RsWithHeaders;
 import com.artipie.http.rs.RsWithStatus;
 import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import org.reactivestreams.Publisher;
 
 /**
@@ -58,30 +60,63 @@ public final class AuthzSlice implements Slice {
         final Publisher<ByteBuffer> body
     ) {
         final Response response;
-        if (this.control.allowed(Authentication.ANY_USER)) {
+        final CompletableFuture<Boolean> anonymous =
+            this.control.check(Authentication.ANY_USER).toCompletableFuture();
+        if (anonymous.getNow(false)) {
             response = this.origin.response(line, headers, body);
         } else {
             response = new AsyncResponse(
-                this.auth.authenticate(headers, line).thenApply(
-                    result -> result.user().map(this.control::allowed).map(
-                        allowed -> {
-                            final Response rsp;
-                            if (allowed) {
-                                rsp = this.origin.response(line, headers, body);
-                            } else {
-                                rsp = new RsWithStatus(RsStatus.FORBIDDEN);
-                            }
-                            return rsp;
+                anonymous.thenCompose(
+                    allowed -> {
+                        final CompletionStage<Response> res;
+                        if (allowed) {
+                            res = CompletableFuture.completedFuture(
+                                this.origin.response(line, headers, body)
+                            );
+                        } else {
+                            res = this.authorized(line, headers, body);
                         }
-                    ).orElseGet(
-                        () -> new RsWithHeaders(
-                            new RsWithStatus(RsStatus.UNAUTHORIZED),
-                            new Headers.From(new WwwAuthenticate(result.challenge()))
-                        )
-                    )
+                        return res;
+                    }
                 )
             );
         }
         return response;
     }
+
+    /**
+     * Authenticate user and check if it's authorized.
+     * @param line Request line
+     * @param headers Request headers
+     * @param body Request body
+     * @return Future response
+     */
+    private CompletionStage<Response> authorized(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        return this.auth.authenticate(headers, line).thenCompose(
+            result -> result.user().map(
+                user -> this.control.check(user).thenApply(
+                    allowed -> {
+                        final Response rsp;
+                        if (allowed) {
+                            rsp = this.origin.response(line, headers, body);
+                        } else {
+                            rsp = new RsWithStatus(RsStatus.FORBIDDEN);
+                        }
+                        return rsp;
+                    }
+                )
+            ).orElseGet(
+                () -> CompletableFuture.completedFuture(
+                    new RsWithHeaders(
+                        new RsWithStatus(RsStatus.UNAUTHORIZED),
+                        new Headers.From(new WwwAuthenticate(result.challenge()))
+                    )
+                )
+            )
+        );
+    }
 }
@@ -6,6 +6,7 @@ package com.artipie.http.auth;
 
 import com.artipie.security.policy.Policy;
 import java.security.Permission;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Operation controller for slice. The class is meant to check
@@ -43,6 +44,15 @@ public final class OperationControl {
      * @return True if authorized
      */
     public boolean allowed(final AuthUser user) {
-        return this.policy.getPermissions(user).implies(this.perm);
+        return this.policy.allowed(user, this.perm);
+    }
+
+    /**
+     * Check asynchronously if user is authorized to perform an action.
+     * @param user User name
+     * @return Future result, true if authorized
+     */
+    public CompletionStage<Boolean> check(final AuthUser user) {
+        return this.policy.check(user, this.perm);
     }
 }
@@ -4,8 +4,15 @@
  */
 package com.artipie.http.auth;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 
 /**
  * Mechanism to authenticate user by token.
@@ -21,4 +28,187 @@ public interface TokenAuthentication {
      * @return User if authenticated.
      */
     CompletionStage<Optional<AuthUser>> user(String token);
+
+    /**
+     * Caching token authentication decorator.
+     * <p>
+     * Caches verification futures by token: concurrent requests with the same token
+     * share one in-flight verification of origin authentication, and completed results
+     * are reused until TTL or token expiration whichever comes first. Failed verifications
+     * are not cached. The cache is bounded by size, tokens can be revoked explicitly.
+     * </p>
+     * @since 1.2
+     */
+    final class Cached implements TokenAuthentication {
+
+        /**
+         * Default maximum amount of cached tokens.
+         */
+        private static final long SIZE = 10_000L;
+
+        /**
+         * Origin authentication.
+         */
+        private final TokenAuthentication origin;
+
+        /**
+         * Verifications by token.
+         */
+        private final Cache<String, Entry> cache;
+
+        /**
+         * Time to live of verification.
+         */
+        private final Duration ttl;
+
+        /**
+         * Token expiration.
+         */
+        private final Function<String, Optional<Instant>> expiry;
+
+        /**
+         * Clock.
+         */
+        private final Clock clock;
+
+        /**
+         * New caching token authentication with max size of 10000 tokens and
+         * TTL of 5 minutes.
+         * @param origin Origin authentication
+         */
+        public Cached(final TokenAuthentication origin) {
+            // @checkstyle MagicNumberCheck (1 line)
+            this(origin, Cached.SIZE, Duration.ofMinutes(5));
+        }
+
+        /**
+         * New caching token authentication.
+         * @param origin Origin authentication
+         * @param size Max amount of cached tokens
+         * @param ttl Time to live of verification
+         */
+        public Cached(final TokenAuthentication origin, final long size, final Duration ttl) {
+            this(origin, size, ttl, token -> Optional.empty());
+        }
+
+        /**
+         * New caching token authentication.
+         * @param origin Origin authentication
+         * @param size Max amount of cached tokens
+         * @param ttl Time to live of verification
+         * @param expiry Token expiration, e.g. {@code exp} claim of JWT token,
+         *  verification is not reused after token expiration
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        public Cached(final TokenAuthentication origin, final long size, final Duration ttl,
+            final Function<String, Optional<Instant>> expiry) {
+            this(origin, size, ttl, expiry, Clock.systemUTC());
+        }
+
+        /**
+         * Primary constructor.
+         * @param origin Origin authentication
+         * @param size Max amount of cached tokens
+         * @param ttl Time to live of verification
+         * @param expiry Token expiration
+         * @param clock Clock
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Cached(final TokenAuthentication origin, final long size, final Duration ttl,
+            final Function<String, Optional<Instant>> expiry, final Clock clock) {
+            this.origin = origin;
+            this.cache = CacheBuilder.newBuilder().maximumSize(size).expireAfterWrite(ttl).build();
+            this.ttl = ttl;
+            this.expiry = expiry;
+            this.clock = clock;
+        }
+
+        @Override
+        public CompletionStage<Optional<AuthUser>> user(final String token) {
+            final long now = this.clock.millis();
+            Entry entry = this.cache.getIfPresent(token);
+            if (entry == null || entry.expired(now)) {
+                entry = this.cache.asMap().compute(
+                    token,
+                    (key, cached) -> {
+                        final Entry res;
+                        if (cached == null || cached.expired(now)) {
+                            res = this.load(key, now);
+                        } else {
+                            res = cached;
+                        }
+                        return res;
+                    }
+                );
+            }
+            return entry.future.thenApply(Function.identity());
+        }
+
+        /**
+         * Revoke token: drop cached verification, so the token will be verified
+         * by origin authentication on next request.
+         * @param token Token
+         */
+        public void revoke(final String token) {
+            this.cache.invalidate(token);
+        }
+
+        /**
+         * Revoke all cached tokens.
+         */
+        public void revokeAll() {
+            this.cache.invalidateAll();
+        }
+
+        /**
+         * Start token verification.
+         * @param token Token
+         * @param now Current time in millis
+         * @return Cache entry
+         */
+        private Entry load(final String token, final long now) {
+            long deadline = now + this.ttl.toMillis();
+            final Optional<Instant> exp = this.expiry.apply(token);
+            if (exp.isPresent()) {
+                deadline = Math.min(deadline, exp.get().toEpochMilli());
+            }
+            return new Entry(this.origin.user(token).toCompletableFuture(), deadline);
+        }
+
+        /**
+         * Cached verification.
+         * @since 1.2
+         */
+        private static final class Entry {
+
+            /**
+             * Verification future.
+             */
+            private final CompletableFuture<Optional<AuthUser>> future;
+
+            /**
+             * Time in millis when verification expires.
+             */
+            private final long deadline;
+
+            /**
+             * New entry.
+             * @param future Verification future
+             * @param deadline Time in millis when verification expires
+             */
+            Entry(final CompletableFuture<Optional<AuthUser>> future, final long deadline) {
+                this.future = future;
+                this.deadline = deadline;
+            }
+
+            /**
+             * Check if verification can't be reused.
+             * @param now Current time in millis
+             * @return True if expired or failed
+             */
+            boolean expired(final long now) {
+                return now >= this.deadline || this.future.isCompletedExceptionally();
+            }
+        }
+    }
 }
@@ -0,0 +1,277 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.group;
+
+import com.artipie.http.Connection;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.headers.Authorization;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.StandardRs;
+import com.google.common.hash.Hashing;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
+
+/**
+ * Group slice with members lookup cache.
+ * <p>
+ * {@code GET} and {@code HEAD} requests of targets (path with query) with known owner
+ * are sent to the owner member only, and requests of targets which all members
+ * replied with {@code 404} to the same caller are replied with {@code 404} without
+ * requesting members. Other targets are requested from members by {@link GroupStrategy}
+ * and its outcome is cached, see {@link GroupCache}. If the owner doesn't succeed,
+ * the target is requested from all members. Other requests are handled as
+ * {@link GroupSlice} does, and paths of write requests are evicted from the cache
+ * before the write is requested and after it's replied, outcome of lookups which
+ * were started before the write replied is not cached.
+ * </p>
+ * @since 1.2
+ */
+public final class CachedGroupSlice implements Slice {
+
+    /**
+     * Lookup cache.
+     */
+    private final GroupCache cache;
+
+    /**
+     * Members requests strategy.
+     */
+    private final GroupStrategy strategy;
+
+    /**
+     * Target slices.
+     */
+    private final List<Slice> targets;
+
+    /**
+     * Group slice for not cached requests.
+     */
+    private final Slice group;
+
+    /**
+     * New cached group slice.
+     * @param cache Lookup cache
+     * @param targets Slices to group
+     */
+    public CachedGroupSlice(final GroupCache cache, final Slice... targets) {
+        this(cache, Arrays.asList(targets));
+    }
+
+    /**
+     * New cached group slice.
+     * @param cache Lookup cache
+     * @param targets Slices to group
+     */
+    public CachedGroupSlice(final GroupCache cache, final List<Slice> targets) {
+        this(cache, GroupStrategy.PARALLEL, targets);
+    }
+
+    /**
+     * New cached group slice.
+     * @param cache Lookup cache
+     * @param strategy Members requests strategy
+     * @param targets Slices to group
+     */
+    public CachedGroupSlice(final GroupCache cache, final GroupStrategy strategy,
+        final List<Slice> targets) {
+        this.cache = cache;
+        this.strategy = strategy;
+        this.targets = Collections.unmodifiableList(targets);
+        this.group = new GroupSlice(strategy, targets);
+    }
+
+    @Override
+    public Response response(final String line, final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body) {
+        final RequestLineFrom rql = new RequestLineFrom(line);
+        final RqMethod method = rql.method();
+        final URI uri = rql.uri();
+        final Response rsp;
+        if (method == RqMethod.GET || method == RqMethod.HEAD) {
+            final String target = CachedGroupSlice.target(uri);
+            final Optional<Integer> owner = this.cache.owner(target);
+            if (owner.isPresent() && owner.get() < this.targets.size()) {
+                rsp = new Owned(
+                    owner.get(),
+                    this.targets.get(owner.get()).response(line, headers, body),
+                    () -> this.lookup(
+                        target, CachedGroupSlice.identity(headers), line, headers, body
+                    )
+                );
+            } else {
+                final String identity = CachedGroupSlice.identity(headers);
+                if (this.cache.missing(target, identity)) {
+                    rsp = StandardRs.NOT_FOUND;
+                } else {
+                    rsp = this.lookup(target, identity, line, headers, body);
+                }
+            }
+        } else if (method == RqMethod.OPTIONS || method == RqMethod.CONNECT
+            || method == RqMethod.TRACE) {
+            rsp = this.group.response(line, headers, body);
+        } else {
+            final String path = uri.getRawPath();
+            this.cache.invalidate(path);
+            final Response origin = this.group.response(line, headers, body);
+            rsp = con -> origin.send(con).whenComplete(
+                (none, err) -> this.cache.invalidate(path)
+            );
+        }
+        return rsp;
+    }
+
+    /**
+     * Request target from all members according to strategy and cache the outcome.
+     * @param target Request target
+     * @param identity Caller identity
+     * @param line Request line
+     * @param headers Request headers
+     * @param body Request body
+     * @return Response
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private Response lookup(final String target, final String identity, final String line,
+        final Iterable<Map.Entry<String, String>> headers, final Publisher<ByteBuffer> body) {
+        final long generation = this.cache.generation();
+        final List<Supplier<Response>> members = new ArrayList<>(this.targets.size());
+        for (final Slice member : this.targets) {
+            members.add(() -> member.response(line, headers, body));
+        }
+        return this.strategy.response(
+            members,
+            new GroupOutcome() {
+                @Override
+                public void served(final int member) {
+                    CachedGroupSlice.this.cache.served(target, member, generation);
+                }
+
+                @Override
+                public void notFound() {
+                    CachedGroupSlice.this.cache.notFound(target, identity, generation);
+                }
+            }
+        );
+    }
+
+    /**
+     * Request target: raw path with query.
+     * @param uri Request URI
+     * @return Target
+     */
+    private static String target(final URI uri) {
+        final String res;
+        if (uri.getRawQuery() == null) {
+            res = uri.getRawPath();
+        } else {
+            res = String.format("%s?%s", uri.getRawPath(), uri.getRawQuery());
+        }
+        return res;
+    }
+
+    /**
+     * Caller identity: hash of authorization headers, empty for anonymous caller.
+     * @param headers Request headers
+     * @return Identity
+     */
+    private static String identity(final Iterable<Map.Entry<String, String>> headers) {
+        final List<String> auth = new RqHeaders(headers, Authorization.NAME);
+        final String res;
+        if (auth.isEmpty()) {
+            res = "";
+        } else {
+            res = Hashing.sha256()
+                .hashString(String.join("\n", auth), StandardCharsets.UTF_8)
+                .toString();
+        }
+        return res;
+    }
+
+    /**
+     * Response of target owner which falls back to members lookup if owner
+     * didn't succeed, the lookup updates the owner.
+     * @since 1.2
+     */
+    private static final class Owned implements Response {
+
+        /**
+         * Owner index.
+         */
+        private final int owner;
+
+        /**
+         * Owner response.
+         */
+        private final Response origin;
+
+        /**
+         * Members lookup.
+         */
+        private final Supplier<Response> fallback;
+
+        /**
+         * New owner response.
+         * @param owner Owner index
+         * @param origin Owner response
+         * @param fallback Members lookup
+         */
+        Owned(final int owner, final Response origin, final Supplier<Response> fallback) {
+            this.owner = owner;
+            this.origin = origin;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public CompletionStage<Void> send(final Connection con) {
+            final AtomicBoolean answered = new AtomicBoolean();
+            return this.origin.send(
+                (status, headers, body) -> {
+                    answered.set(true);
+                    final GroupResult result = new GroupResult(status, headers, body);
+                    final CompletionStage<Void> res;
+                    if (result.success()) {
+                        res = result.replay(con);
+                    } else {
+                        result.cancel();
+                        res = this.fallback.get().send(con);
+                    }
+                    return res;
+                }
+            ).handle(
+                (none, err) -> {
+                    final CompletableFuture<Void> res;
+                    if (err == null) {
+                        res = CompletableFuture.completedFuture(null);
+                    } else if (answered.get()) {
+                        res = new CompletableFuture<>();
+                        res.completeExceptionally(err);
+                    } else {
+                        res = this.fallback.get().send(con).toCompletableFuture();
+                    }
+                    return res;
+                }
+            ).thenCompose(stage -> stage);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: member %d", this.getClass().getSimpleName(), this.owner);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.group;
+
+import com.artipie.asto.misc.Cleanable;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Group members lookup cache.
+ * <p>
+ * Remembers which group member served the request target (path with query) last
+ * time, and which targets were not found in any member. Not found targets are
+ * remembered per caller identity, since members may reply with {@code 404} depending
+ * on permissions. Both caches are bounded by size, and entries expire after write:
+ * not found targets usually expire sooner, because they may appear in proxy members
+ * at any time.
+ * </p>
+ * <p>
+ * Invalidation by path removes entries of all queries and identities of the path,
+ * it checks all cached entries, so it's expected to be called on write requests only.
+ * Each invalidation increments cache generation: outcome of lookup, which was started
+ * with another generation, is not cached, since it may be found before the write.
+ * </p>
+ * @since 1.2
+ */
+public final class GroupCache implements Cleanable<String> {
+
+    /**
+     * Default maximum amount of paths in each cache.
+     */
+    private static final long SIZE = 10_000L;
+
+    /**
+     * Targets owners: member index by target.
+     */
+    private final Cache<String, Integer> owners;
+
+    /**
+     * Targets not found in all members, keys are targets with identities.
+     */
+    private final Cache<String, Boolean> missing;
+
+    /**
+     * Cache generation, incremented on each invalidation.
+     */
+    private final AtomicLong generation;
+
+    /**
+     * New group cache with default size, owners TTL of 10 minutes and
+     * not found paths TTL of 1 minute.
+     */
+    public GroupCache() {
+        // @checkstyle MagicNumberCheck (1 line)
+        this(GroupCache.SIZE, Duration.ofMinutes(10), Duration.ofMinutes(1));
+    }
+
+    /**
+     * New group cache.
+     * @param size Maximum amount of targets in each cache
+     * @param ttl Time to live of target owner
+     * @param negative Time to live of not found target
+     */
+    public GroupCache(final long size, final Duration ttl, final Duration negative) {
+        this(
+            CacheBuilder.newBuilder().maximumSize(size).expireAfterWrite(ttl).build(),
+            CacheBuilder.newBuilder().maximumSize(size).expireAfterWrite(negative).build()
+        );
+    }
+
+    /**
+     * Primary constructor.
+     * @param owners Targets owners cache
+     * @param missing Not found targets cache
+     */
+    GroupCache(final Cache<String, Integer> owners, final Cache<String, Boolean> missing) {
+        this.owners = owners;
+        this.missing = missing;
+        this.generation = new AtomicLong();
+    }
+
+    /**
+     * Invalidate all entries of the path.
+     * @param path Raw request path without query
+     */
+    @Override
+    public void invalidate(final String path) {
+        this.generation.incrementAndGet();
+        this.owners.asMap().keySet().removeIf(key -> GroupCache.ofPath(key, path));
+        this.missing.asMap().keySet().removeIf(key -> GroupCache.ofPath(key, path));
+    }
+
+    @Override
+    public void invalidateAll() {
+        this.generation.incrementAndGet();
+        this.owners.invalidateAll();
+        this.missing.invalidateAll();
+    }
+
+    /**
+     * Current cache generation, it should be obtained before lookup is started.
+     * @return Generation
+     */
+    long generation() {
+        return this.generation.get();
+    }
+
+    /**
+     * Member which served the target last time.
+     * @param target Request target: raw path with query
+     * @return Member index if known
+     */
+    Optional<Integer> owner(final String target) {
+        return Optional.ofNullable(this.owners.getIfPresent(target));
+    }
+
+    /**
+     * Check if target was not found in all members for the caller.
+     * @param target Request target: raw path with query
+     * @param identity Caller identity
+     * @return True if not found
+     */
+    boolean missing(final String target, final String identity) {
+        return this.missing.getIfPresent(GroupCache.key(target, identity)) != null;
+    }
+
+    /**
+     * Target was served by member.
+     * @param target Request target: raw path with query
+     * @param member Member index
+     * @param started Cache generation when lookup was started
+     */
+    void served(final String target, final int member, final long started) {
+        if (this.generation.get() == started) {
+            this.owners.put(target, member);
+            if (this.generation.get() != started) {
+                this.owners.invalidate(target);
+            }
+        }
+    }
+
+    /**
+     * Target was not found in all members for the caller.
+     * @param target Request target: raw path with query
+     * @param identity Caller identity
+     * @param started Cache generation when lookup was started
+     */
+    void notFound(final String target, final String identity, final long started) {
+        this.owners.invalidate(target);
+        if (this.generation.get() == started) {
+            final String key = GroupCache.key(target, identity);
+            this.missing.put(key, Boolean.TRUE);
+            if (this.generation.get() != started) {
+                this.missing.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Not found cache key.
+     * @param target Request target
+     * @param identity Caller identity
+     * @return Key
+     */
+    private static String key(final String target, final String identity) {
+        return String.format("%s#%s", target, identity);
+    }
+
+    /**
+     * Check if cache key belongs to the path.
+     * @param key Cache key: target with optional identity
+     * @param path Raw request path
+     * @return True if key is the path, or the path with query or identity
+     */
+    private static boolean ofPath(final String key, final String path) {
+        return key.startsWith(path) && (key.length() == path.length()
+            || key.charAt(path.length()) == '?' || key.charAt(path.length()) == '#');
+    }
+}
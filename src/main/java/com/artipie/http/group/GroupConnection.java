@@ -7,8 +7,11 @@ package com.artipie.http.group;
 import com.artipie.http.Connection;
 import com.artipie.http.Headers;
 import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.reactivestreams.Publisher;
 
 /**
@@ -33,6 +36,11 @@ final class GroupConnection implements Connection {
      */
     private final GroupResults results;
 
+    /**
+     * Result was completed by response or timeout.
+     */
+    private final AtomicBoolean answered;
+
     /**
      * New connection for one target.
      * @param origin Origin connection
@@ -43,15 +51,40 @@ final class GroupConnection implements Connection {
         this.origin = origin;
         this.pos = pos;
         this.results = results;
+        this.answered = new AtomicBoolean();
     }
 
     @Override
     public CompletionStage<Void> accept(final RsStatus status, final Headers headers,
         final Publisher<ByteBuffer> body) {
-        synchronized (this.results) {
-            return this.results.complete(
-                this.pos, new GroupResult(status, headers, body), this.origin
+        final GroupResult result = new GroupResult(status, headers, body);
+        final CompletionStage<Void> res;
+        if (this.answered.compareAndSet(false, true)) {
+            res = this.complete(result);
+        } else {
+            result.cancel();
+            res = CompletableFuture.completedFuture(null);
+        }
+        return res;
+    }
+
+    /**
+     * Complete target result as failed if target didn't respond yet.
+     */
+    void timeout() {
+        if (this.answered.compareAndSet(false, true)) {
+            this.complete(
+                new GroupResult(RsStatus.REQUEST_TIMEOUT, Headers.EMPTY, Flowable.empty())
             );
         }
     }
+
+    /**
+     * Complete target result.
+     * @param result Result
+     * @return Future
+     */
+    private CompletionStage<Void> complete(final GroupResult result) {
+        return this.results.complete(this.pos, result, this.origin);
+    }
 }
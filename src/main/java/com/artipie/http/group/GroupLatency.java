@@ -0,0 +1,35 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.group;
+
+import com.artipie.http.rs.RsStatus;
+import java.time.Duration;
+
+/**
+ * Group member latency listener.
+ * <p>
+ * It's notified when group member responds: the latency is the time from sending
+ * the request to the member until the member accepted response status and headers.
+ * Members which were not requested by {@link GroupStrategy} are not reported.
+ * </p>
+ * @since 1.2
+ */
+@FunctionalInterface
+public interface GroupLatency {
+
+    /**
+     * Ignore latencies.
+     */
+    GroupLatency NOP = (member, status, latency) -> { };
+
+    /**
+     * Report member latency.
+     * @param member Member index in group
+     * @param status Member response status,
+     *  {@link RsStatus#INTERNAL_ERROR} if member failed with exception
+     * @param latency Member latency
+     */
+    void report(int member, RsStatus status, Duration latency);
+}
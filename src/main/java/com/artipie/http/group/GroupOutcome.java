@@ -0,0 +1,45 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.group;
+
+/**
+ * Outcome listener of group request.
+ * <p>
+ * It's notified by {@link GroupStrategy} before the group response is replied:
+ * either with the index of the member which response is replied, or that all
+ * members replied with {@code 404}. It's not notified if the group replies with
+ * {@code 404} because members failed with other statuses, e.g. {@code 401},
+ * timeouts or errors.
+ * </p>
+ * @since 1.2
+ */
+public interface GroupOutcome {
+
+    /**
+     * Ignore outcome.
+     */
+    GroupOutcome NOP = new GroupOutcome() {
+        @Override
+        public void served(final int member) {
+            // nothing to do
+        }
+
+        @Override
+        public void notFound() {
+            // nothing to do
+        }
+    };
+
+    /**
+     * Group replies with member response.
+     * @param member Member index in group
+     */
+    void served(int member);
+
+    /**
+     * All members replied with {@code 404}.
+     */
+    void notFound();
+}
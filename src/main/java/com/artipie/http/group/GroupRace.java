@@ -0,0 +1,294 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.group;
+
+import com.artipie.http.Connection;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.rs.StandardRs;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
+
+/**
+ * Group response which requests members one by one and replies with the first
+ * successful response.
+ * <p>
+ * The next member is requested when all requested members failed or, if hedging
+ * delay is specified, when the last requested member didn't respond within the delay.
+ * Delays are scheduled by the timer, but members are requested by the executor.
+ * Responses of members which responded after the winner are cancelled.
+ * The outcome listener is notified about the winner index, or if all members
+ * responded with {@code 404}.
+ * </p>
+ * @since 1.2
+ */
+final class GroupRace implements Response {
+
+    /**
+     * Members responses suppliers.
+     */
+    private final List<Supplier<Response>> members;
+
+    /**
+     * Hedging delay.
+     */
+    private final Optional<Duration> delay;
+
+    /**
+     * Delays scheduler.
+     */
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Executor to request members after delay.
+     */
+    private final Executor exec;
+
+    /**
+     * Outcome listener.
+     */
+    private final GroupOutcome outcome;
+
+    /**
+     * New group race.
+     * @param members Members responses suppliers
+     * @param delay Hedging delay, members are requested sequentially if empty
+     * @param timer Delays scheduler
+     * @param exec Executor to request members after delay
+     * @param outcome Outcome listener
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    GroupRace(final List<Supplier<Response>> members, final Optional<Duration> delay,
+        final ScheduledExecutorService timer, final Executor exec, final GroupOutcome outcome) {
+        this.members = members;
+        this.delay = delay;
+        this.timer = timer;
+        this.exec = exec;
+        this.outcome = outcome;
+    }
+
+    @Override
+    public CompletionStage<Void> send(final Connection con) {
+        final CompletionStage<Void> res;
+        if (this.members.isEmpty()) {
+            res = StandardRs.NOT_FOUND.send(con);
+        } else {
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            new Race(con, future).next(0);
+            res = future;
+        }
+        return res;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s: %d members, delay=%s", this.getClass().getSimpleName(),
+            this.members.size(), this.delay
+        );
+    }
+
+    /**
+     * One race of members to connection.
+     * @since 1.2
+     */
+    private final class Race {
+
+        /**
+         * Origin connection.
+         */
+        private final Connection con;
+
+        /**
+         * Completion future.
+         */
+        private final CompletableFuture<Void> future;
+
+        /**
+         * Amount of requested members.
+         */
+        private final AtomicInteger started;
+
+        /**
+         * Amount of requested members which didn't respond yet.
+         */
+        private final AtomicInteger pending;
+
+        /**
+         * Race is finished: response was replied to connection.
+         */
+        private final AtomicBoolean finished;
+
+        /**
+         * All failed members responded with {@code 404}.
+         */
+        private final AtomicBoolean missing;
+
+        /**
+         * Scheduled hedging tasks.
+         */
+        private final Queue<Future<?>> tasks;
+
+        /**
+         * New race.
+         * @param con Connection
+         * @param future Completion future
+         */
+        Race(final Connection con, final CompletableFuture<Void> future) {
+            this.con = con;
+            this.future = future;
+            this.started = new AtomicInteger();
+            this.pending = new AtomicInteger();
+            this.finished = new AtomicBoolean();
+            this.missing = new AtomicBoolean(true);
+            this.tasks = new ConcurrentLinkedQueue<>();
+        }
+
+        /**
+         * Request next member if members requested so far are {@code count}.
+         * @param count Expected amount of requested members
+         */
+        void next(final int count) {
+            if (count < GroupRace.this.members.size() && !this.finished.get()) {
+                this.pending.incrementAndGet();
+                if (this.started.compareAndSet(count, count + 1)) {
+                    this.request(count);
+                } else {
+                    this.release();
+                }
+            }
+        }
+
+        /**
+         * Request member.
+         * @param pos Member position
+         */
+        private void request(final int pos) {
+            if (GroupRace.this.delay.isPresent() && pos + 1 < GroupRace.this.members.size()) {
+                this.tasks.add(
+                    GroupRace.this.timer.schedule(
+                        () -> GroupRace.this.exec.execute(() -> this.next(pos + 1)),
+                        GroupRace.this.delay.get().toMillis(), TimeUnit.MILLISECONDS
+                    )
+                );
+            }
+            final Connection member = new Member(pos);
+            GroupResponse.requested(GroupRace.this.members.get(pos)).send(member)
+                .<CompletionStage<Void>>thenApply(CompletableFuture::completedFuture)
+                .exceptionally(
+                    throwable -> new RsWithStatus(RsStatus.INTERNAL_ERROR).send(member)
+                );
+        }
+
+        /**
+         * Member responded.
+         * @param pos Member position
+         * @param result Member result
+         * @return Future
+         */
+        private CompletionStage<Void> complete(final int pos, final GroupResult result) {
+            final CompletionStage<Void> res;
+            if (result.success() && this.finished.compareAndSet(false, true)) {
+                this.cancelTasks();
+                GroupRace.this.outcome.served(pos);
+                res = result.replay(this.con).thenRun(() -> this.future.complete(null));
+            } else {
+                if (!result.success() && !result.notFound()) {
+                    this.missing.set(false);
+                }
+                result.cancel();
+                this.next(this.started.get());
+                res = this.release();
+            }
+            return res;
+        }
+
+        /**
+         * Release pending member and reply with {@code 404} if all members failed.
+         * @return Future
+         */
+        private CompletionStage<Void> release() {
+            final CompletionStage<Void> res;
+            if (this.pending.decrementAndGet() == 0
+                && this.started.get() == GroupRace.this.members.size()
+                && this.finished.compareAndSet(false, true)) {
+                this.cancelTasks();
+                if (this.missing.get()) {
+                    GroupRace.this.outcome.notFound();
+                }
+                res = StandardRs.NOT_FOUND.send(this.con)
+                    .thenRun(() -> this.future.complete(null));
+            } else {
+                res = CompletableFuture.completedFuture(null);
+            }
+            return res;
+        }
+
+        /**
+         * Cancel scheduled hedging tasks.
+         */
+        private void cancelTasks() {
+            for (Future<?> task = this.tasks.poll(); task != null; task = this.tasks.poll()) {
+                task.cancel(false);
+            }
+        }
+
+        /**
+         * Connection of one member.
+         * @since 1.2
+         */
+        private final class Member implements Connection {
+
+            /**
+             * Member position.
+             */
+            private final int pos;
+
+            /**
+             * Member responded.
+             */
+            private final AtomicBoolean answered;
+
+            /**
+             * New member connection.
+             * @param pos Member position
+             */
+            Member(final int pos) {
+                this.pos = pos;
+                this.answered = new AtomicBoolean();
+            }
+
+            @Override
+            public CompletionStage<Void> accept(final RsStatus status, final Headers headers,
+                final Publisher<ByteBuffer> body) {
+                final GroupResult result = new GroupResult(status, headers, body);
+                final CompletionStage<Void> res;
+                if (this.answered.compareAndSet(false, true)) {
+                    res = Race.this.complete(this.pos, result);
+                } else {
+                    result.cancel();
+                    res = CompletableFuture.completedFuture(null);
+                }
+                return res;
+            }
+        }
+    }
+}
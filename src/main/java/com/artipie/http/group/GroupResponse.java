@@ -8,45 +8,93 @@ import com.artipie.http.Connection;
 import com.artipie.http.Response;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithStatus;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Group response.
  * <p>
- * The list of responses which can be send to connection by specified order.
+ * The list of responses which can be send to connection by specified order,
+ * all responses are requested at once on sending. If response timeout is specified,
+ * responses which were not received within the timeout are considered as failed.
+ * Timeouts are scheduled by the timer, but handled by the executor.
  * </p>
  * @since 0.11
  */
 final class GroupResponse implements Response {
 
     /**
-     * Responses.
+     * Responses suppliers.
      */
-    private final List<Response> responses;
+    private final List<Supplier<Response>> responses;
+
+    /**
+     * Response timeout.
+     */
+    private final Optional<Duration> timeout;
+
+    /**
+     * Timeouts scheduler.
+     */
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Executor to handle timeouts.
+     */
+    private final Executor exec;
+
+    /**
+     * Outcome listener.
+     */
+    private final GroupOutcome outcome;
 
     /**
      * New group response.
      * @param responses Responses to group
+     * @param timeout Response timeout
+     * @param timer Timeouts scheduler
+     * @param exec Executor to handle timeouts
+     * @param outcome Outcome listener
+     * @checkstyle ParameterNumberCheck (5 lines)
      */
-    GroupResponse(final List<Response> responses) {
+    GroupResponse(final List<Supplier<Response>> responses, final Optional<Duration> timeout,
+        final ScheduledExecutorService timer, final Executor exec, final GroupOutcome outcome) {
         this.responses = responses;
+        this.timeout = timeout;
+        this.timer = timer;
+        this.exec = exec;
+        this.outcome = outcome;
     }
 
     @Override
     public CompletionStage<Void> send(final Connection con) {
         final CompletableFuture<Void> future = new CompletableFuture<>();
-        final GroupResults results = new GroupResults(this.responses.size(), future);
+        final GroupResults results = new GroupResults(
+            this.responses.size(), future, this.outcome
+        );
         for (int pos = 0; pos < this.responses.size(); ++pos) {
             final GroupConnection connection = new GroupConnection(con, pos, results);
-            this.responses.get(pos)
+            GroupResponse.requested(this.responses.get(pos))
                 .send(connection)
                 .<CompletionStage<Void>>thenApply(CompletableFuture::completedFuture)
                 .exceptionally(
                     throwable -> new RsWithStatus(RsStatus.INTERNAL_ERROR).send(connection)
                 );
+            if (this.timeout.isPresent() && !future.isDone()) {
+                final ScheduledFuture<?> task = this.timer.schedule(
+                    () -> this.exec.execute(connection::timeout),
+                    this.timeout.get().toMillis(), TimeUnit.MILLISECONDS
+                );
+                future.whenComplete((none, err) -> task.cancel(false));
+            }
         }
         return future;
     }
@@ -54,8 +102,26 @@ final class GroupResponse implements Response {
     @Override
     public String toString() {
         return String.format(
-            "%s: [%s]", this.getClass().getSimpleName(),
-            this.responses.stream().map(Object::toString).collect(Collectors.joining(", "))
+            "%s: %d members, timeout=%s", this.getClass().getSimpleName(),
+            this.responses.size(), this.timeout
         );
     }
+
+    /**
+     * Request member: get its response from the supplier, member which failed
+     * to create the response is replied with {@code 500}.
+     * @param member Member response supplier
+     * @return Member response
+     * @checkstyle IllegalCatchCheck (10 lines)
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    static Response requested(final Supplier<Response> member) {
+        Response res;
+        try {
+            res = member.get();
+        } catch (final RuntimeException err) {
+            res = new RsWithStatus(RsStatus.INTERNAL_ERROR);
+        }
+        return res;
+    }
 }
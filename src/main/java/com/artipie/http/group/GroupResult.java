@@ -110,6 +110,14 @@ final class GroupResult {
         return code >= 200 && code < 300;
     }
 
+    /**
+     * Check if response is {@code 404}.
+     * @return True if not found
+     */
+    public boolean notFound() {
+        return this.status == RsStatus.NOT_FOUND;
+    }
+
     /**
      * Cancel response body stream.
      */
@@ -6,47 +6,84 @@ package com.artipie.http.group;
 
 import com.artipie.http.Connection;
 import com.artipie.http.rs.StandardRs;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Group response results aggregator.
- * @implNote This class is not thread safe and should be synchronized
+ * <p>
+ * Results are stored in atomic array by order, and decided in order by drain loop
+ * which is performed by one completing thread at a time: the cursor points to the
+ * next result to decide, failed results are skipped and cancelled, so each result is
+ * checked once. The first successful result is replied as soon as all previous results
+ * failed, other results are cancelled, results completed after that are cancelled
+ * by completing thread without drain loop. The outcome listener is notified about
+ * the index of replied result, or if all results are {@code 404}.
+ * </p>
+ * @implNote This class is thread safe
  * @since 0.11
  */
 final class GroupResults {
 
     /**
-     * List of results.
+     * Results by order.
      */
-    private final List<GroupResult> list;
+    private final AtomicReferenceArray<GroupResult> results;
 
     /**
      * Completion future.
      */
     private final CompletableFuture<Void> future;
 
+    /**
+     * Outcome listener.
+     */
+    private final GroupOutcome outcome;
+
+    /**
+     * Work in progress counter of drain loop.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * Next result to decide, it's accessed only by drain loop.
+     */
+    private int cursor;
+
+    /**
+     * All decided results are {@code 404}, it's accessed only by drain loop.
+     */
+    private boolean missing;
+
+    /**
+     * Response was replied or is being replied, it's set only by drain loop.
+     */
+    private volatile boolean decided;
+
     /**
      * New results aggregator.
      * @param cap Capacity
      * @param future Future to complete when all results are done
      */
     GroupResults(final int cap, final CompletableFuture<Void> future) {
-        this(new ArrayList<>(Collections.nCopies(cap, null)), future);
+        this(cap, future, GroupOutcome.NOP);
     }
 
     /**
-     * Primary constructor.
-     * @param list List of results
+     * New results aggregator.
+     * @param cap Capacity
      * @param future Future to complete when all results are done
+     * @param outcome Outcome listener
      */
-    private GroupResults(final List<GroupResult> list, final CompletableFuture<Void> future) {
-        this.list = list;
+    GroupResults(final int cap, final CompletableFuture<Void> future,
+        final GroupOutcome outcome) {
+        this.results = new AtomicReferenceArray<>(cap);
         this.future = future;
+        this.outcome = outcome;
+        this.wip = new AtomicInteger();
+        this.missing = true;
     }
 
     /**
@@ -55,36 +92,94 @@ final class GroupResults {
      * This method checks if the response can be completed. If the result was succeed and
      * all previous ordered results were completed and failed, then the whole response will
      * be replied to the {@link Connection}. If any previous results is not completed, then
-     * this result will be placed in the list to wait all previous results.
+     * this result will wait for all previous results.
      * </p>
      * @param order Order of result
      * @param result Repayable result
      * @param con Connection to use for replay
      * @return Future
-     * @checkstyle ReturnCountCheck (25 lines)
      */
-    @SuppressWarnings("PMD.OnlyOneReturn")
     public CompletionStage<Void> complete(final int order, final GroupResult result,
         final Connection con) {
-        if (this.future.isDone()) {
+        if (order >= this.results.length()) {
+            throw new IllegalStateException("Wrong order of result");
+        }
+        final CompletionStage<Void> res;
+        if (this.results.compareAndSet(order, null, result) && !this.decided) {
+            res = this.drain(con);
+        } else {
             result.cancel();
-            return CompletableFuture.completedFuture(null);
+            res = CompletableFuture.completedFuture(null);
         }
-        if (order >= this.list.size()) {
-            throw new IllegalStateException("Wrong order of result");
+        return res;
+    }
+
+    /**
+     * Drain loop, it's performed only by one thread at a time.
+     * @param con Connection to use for replay
+     * @return Reply future if response was replied by this loop
+     */
+    private CompletionStage<Void> drain(final Connection con) {
+        CompletionStage<Void> res = CompletableFuture.completedFuture(null);
+        if (this.wip.getAndIncrement() == 0) {
+            int missed = 1;
+            while (missed != 0) {
+                if (this.decided) {
+                    this.cancelAll();
+                } else {
+                    res = this.decide(con);
+                }
+                missed = this.wip.addAndGet(-missed);
+            }
         }
-        this.list.set(order, result);
-        for (int pos = 0; pos < this.list.size(); ++pos) {
-            final GroupResult target = this.list.get(pos);
-            if (target == null) {
-                return CompletableFuture.completedFuture(null);
+        return res;
+    }
+
+    /**
+     * Decide completed results in order.
+     * @param con Connection to use for replay
+     * @return Reply future if response was replied
+     */
+    private CompletionStage<Void> decide(final Connection con) {
+        CompletionStage<Void> res = CompletableFuture.completedFuture(null);
+        final int size = this.results.length();
+        while (this.cursor < size && !this.decided) {
+            final GroupResult next = this.results.get(this.cursor);
+            if (next == null) {
+                break;
+            }
+            if (next.success()) {
+                this.decided = true;
+                this.outcome.served(this.cursor);
+                res = next.replay(con);
+            } else {
+                this.missing &= next.notFound();
+                next.cancel();
+                ++this.cursor;
             }
-            if (target.success()) {
-                return target.replay(con).thenRun(
-                    () -> this.list.stream().filter(Objects::nonNull).forEach(GroupResult::cancel)
-                ).thenRun(() -> this.future.complete(null));
+        }
+        if (this.decided) {
+            this.cancelAll();
+            res = res.thenRun(() -> this.future.complete(null));
+        } else if (this.cursor == size) {
+            this.decided = true;
+            if (this.missing && size > 0) {
+                this.outcome.notFound();
+            }
+            res = StandardRs.NOT_FOUND.send(con).thenRun(() -> this.future.complete(null));
+        }
+        return res;
+    }
+
+    /**
+     * Cancel all completed results except replied one.
+     */
+    private void cancelAll() {
+        for (int pos = 0; pos < this.results.length(); ++pos) {
+            final GroupResult item = this.results.get(pos);
+            if (item != null) {
+                item.cancel();
             }
         }
-        return StandardRs.NOT_FOUND.send(con).thenRun(() -> this.future.complete(null));
     }
 }
@@ -4,22 +4,37 @@
  */
 package com.artipie.http.group;
 
+import com.artipie.http.Connection;
 import com.artipie.http.Response;
 import com.artipie.http.Slice;
 import com.artipie.http.rq.RequestLineFrom;
 import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import org.reactivestreams.Publisher;
 
 /**
  * Standard group {@link Slice} implementation.
+ * <p>
+ * Read requests are sent to group members according to {@link GroupStrategy},
+ * by default to all members at once with the first successful response in group
+ * order, other requests are sent to the first member.
+ * </p>
  *
  * @since 0.11
  */
@@ -36,11 +51,38 @@ public final class GroupSlice implements Slice {
         )
     );
 
+    /**
+     * Shared scheduler of strategies delays and timeouts. Scheduled tasks only submit
+     * the work to {@link #EXEC}, so one daemon thread is enough.
+     */
+    static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("artipie-group-%d").build()
+    );
+
+    /**
+     * Shared bounded thread pool to request members and reply to connection after
+     * strategies delays and timeouts, so slow members don't block the scheduler.
+     */
+    static final Executor EXEC = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors() * 2,
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("artipie-group-exec-%d").build()
+    );
+
     /**
      * Target slices.
      */
     private final List<Slice> targets;
 
+    /**
+     * Members requests strategy.
+     */
+    private final GroupStrategy strategy;
+
+    /**
+     * Members latency listener.
+     */
+    private final GroupLatency latency;
+
     /**
      * New group slice.
      * @param targets Slices to group
@@ -54,7 +96,38 @@ public final class GroupSlice implements Slice {
      * @param targets Slices to group
      */
     public GroupSlice(final List<Slice> targets) {
+        this(GroupStrategy.PARALLEL, targets);
+    }
+
+    /**
+     * New group slice.
+     * @param strategy Members requests strategy
+     * @param targets Slices to group
+     */
+    public GroupSlice(final GroupStrategy strategy, final Slice... targets) {
+        this(strategy, Arrays.asList(targets));
+    }
+
+    /**
+     * New group slice.
+     * @param strategy Members requests strategy
+     * @param targets Slices to group
+     */
+    public GroupSlice(final GroupStrategy strategy, final List<Slice> targets) {
+        this(strategy, GroupLatency.NOP, targets);
+    }
+
+    /**
+     * New group slice.
+     * @param strategy Members requests strategy
+     * @param latency Members latency listener
+     * @param targets Slices to group
+     */
+    public GroupSlice(final GroupStrategy strategy, final GroupLatency latency,
+        final List<Slice> targets) {
         this.targets = Collections.unmodifiableList(targets);
+        this.strategy = strategy;
+        this.latency = latency;
     }
 
     @Override
@@ -63,14 +136,105 @@ public final class GroupSlice implements Slice {
         final Response rsp;
         final RqMethod method = new RequestLineFrom(line).method();
         if (GroupSlice.BROADCAST_METHODS.contains(method)) {
-            rsp = new GroupResponse(
-                this.targets.stream()
-                    .map(slice -> slice.response(line, headers, body))
-                    .collect(Collectors.toList())
-            );
+            final List<Supplier<Response>> members = new ArrayList<>(this.targets.size());
+            for (int pos = 0; pos < this.targets.size(); ++pos) {
+                final Slice target = this.targets.get(pos);
+                if (this.latency == GroupLatency.NOP) {
+                    members.add(() -> target.response(line, headers, body));
+                } else {
+                    final int member = pos;
+                    members.add(
+                        () -> {
+                            final long start = System.nanoTime();
+                            return new Timed(
+                                target.response(line, headers, body), member, this.latency, start
+                            );
+                        }
+                    );
+                }
+            }
+            rsp = this.strategy.response(members);
         } else {
             rsp = this.targets.get(0).response(line, headers, body);
         }
         return rsp;
     }
+
+    /**
+     * Member response which reports latency from the member request start.
+     * @since 1.2
+     */
+    private static final class Timed implements Response {
+
+        /**
+         * Origin response.
+         */
+        private final Response origin;
+
+        /**
+         * Member index.
+         */
+        private final int member;
+
+        /**
+         * Latency listener.
+         */
+        private final GroupLatency latency;
+
+        /**
+         * Request start time in nanoseconds.
+         */
+        private final long start;
+
+        /**
+         * New timed response.
+         * @param origin Origin response
+         * @param member Member index
+         * @param latency Latency listener
+         * @param start Request start time in nanoseconds
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Timed(final Response origin, final int member, final GroupLatency latency,
+            final long start) {
+            this.origin = origin;
+            this.member = member;
+            this.latency = latency;
+            this.start = start;
+        }
+
+        @Override
+        public CompletionStage<Void> send(final Connection con) {
+            final AtomicBoolean reported = new AtomicBoolean();
+            return this.origin.send(
+                (status, headers, body) -> {
+                    this.report(reported, status);
+                    return con.accept(status, headers, body);
+                }
+            ).whenComplete(
+                (none, err) -> {
+                    if (err != null) {
+                        this.report(reported, RsStatus.INTERNAL_ERROR);
+                    }
+                }
+            );
+        }
+
+        @Override
+        public String toString() {
+            return this.origin.toString();
+        }
+
+        /**
+         * Report latency once.
+         * @param reported Reported flag
+         * @param status Response status
+         */
+        private void report(final AtomicBoolean reported, final RsStatus status) {
+            if (reported.compareAndSet(false, true)) {
+                this.latency.report(
+                    this.member, status, Duration.ofNanos(System.nanoTime() - this.start)
+                );
+            }
+        }
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.group;
+
+import com.artipie.http.Response;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Strategy of {@link GroupSlice} to request group members.
+ * <p>
+ * Strategy combines responses of group members into one response: it decides
+ * which members to request and when, and which member response to reply with.
+ * Member is requested only when strategy gets its response from the supplier,
+ * since slices may start the request on response creation.
+ * All strategies reply with the first successful response according to strategy
+ * rules, cancel bodies of other responses, and reply with {@code 404} if no member
+ * succeeded.
+ * </p>
+ * @since 1.2
+ */
+public interface GroupStrategy {
+
+    /**
+     * Parallel ordered strategy, it's used by default.
+     */
+    GroupStrategy PARALLEL = new Parallel();
+
+    /**
+     * Sequential strategy.
+     */
+    GroupStrategy SEQUENTIAL = new Sequential();
+
+    /**
+     * Combine members responses.
+     * @param members Suppliers of members responses in group order, the member
+     *  is requested when its response is supplied
+     * @return Group response
+     */
+    default Response response(List<Supplier<Response>> members) {
+        return this.response(members, GroupOutcome.NOP);
+    }
+
+    /**
+     * Combine members responses and notify about the outcome.
+     * @param members Suppliers of members responses in group order, the member
+     *  is requested when its response is supplied
+     * @param outcome Outcome listener
+     * @return Group response
+     */
+    Response response(List<Supplier<Response>> members, GroupOutcome outcome);
+
+    /**
+     * Parallel ordered strategy: request all members at once and reply with
+     * the first successful response in group order, i.e. wait for all previous
+     * members to fail.
+     * @since 1.2
+     */
+    final class Parallel implements GroupStrategy {
+
+        @Override
+        public Response response(final List<Supplier<Response>> members,
+            final GroupOutcome outcome) {
+            return new GroupResponse(
+                members, Optional.empty(), GroupSlice.TIMER, GroupSlice.EXEC, outcome
+            );
+        }
+    }
+
+    /**
+     * Sequential strategy: request members one by one in group order, next member
+     * is requested only when previous member failed.
+     * @since 1.2
+     */
+    final class Sequential implements GroupStrategy {
+
+        @Override
+        public Response response(final List<Supplier<Response>> members,
+            final GroupOutcome outcome) {
+            return new GroupRace(
+                members, Optional.empty(), GroupSlice.TIMER, GroupSlice.EXEC, outcome
+            );
+        }
+    }
+
+    /**
+     * Hedged strategy: request members in group order, next member is requested
+     * when previous member failed or didn't respond within hedging delay, and reply with
+     * the first successful response of requested members regardless of the order.
+     * @since 1.2
+     */
+    final class Hedged implements GroupStrategy {
+
+        /**
+         * Delay before requesting next member.
+         */
+        private final Duration delay;
+
+        /**
+         * Delays scheduler.
+         */
+        private final ScheduledExecutorService timer;
+
+        /**
+         * Executor to request members after delay.
+         */
+        private final Executor exec;
+
+        /**
+         * New hedged strategy.
+         * @param delay Delay before requesting next member
+         */
+        public Hedged(final Duration delay) {
+            this(delay, GroupSlice.TIMER, GroupSlice.EXEC);
+        }
+
+        /**
+         * New hedged strategy.
+         * @param delay Delay before requesting next member
+         * @param timer Delays scheduler, it only submits requests to executor
+         * @param exec Executor to request members after delay
+         */
+        public Hedged(final Duration delay, final ScheduledExecutorService timer,
+            final Executor exec) {
+            this.delay = delay;
+            this.timer = timer;
+            this.exec = exec;
+        }
+
+        @Override
+        public Response response(final List<Supplier<Response>> members,
+            final GroupOutcome outcome) {
+            return new GroupRace(
+                members, Optional.of(this.delay), this.timer, this.exec, outcome
+            );
+        }
+    }
+
+    /**
+     * Priority with timeout strategy: request all members at once and reply with
+     * the first successful response in group order as {@link Parallel} does, but members
+     * which didn't respond within timeout are considered as failed, so the group doesn't
+     * wait for slow members with higher priority.
+     * @since 1.2
+     */
+    final class Priority implements GroupStrategy {
+
+        /**
+         * Member response timeout.
+         */
+        private final Duration timeout;
+
+        /**
+         * Timeouts scheduler.
+         */
+        private final ScheduledExecutorService timer;
+
+        /**
+         * Executor to handle timeouts.
+         */
+        private final Executor exec;
+
+        /**
+         * New priority strategy.
+         * @param timeout Member response timeout
+         */
+        public Priority(final Duration timeout) {
+            this(timeout, GroupSlice.TIMER, GroupSlice.EXEC);
+        }
+
+        /**
+         * New priority strategy.
+         * @param timeout Member response timeout
+         * @param timer Timeouts scheduler, it only submits timeouts to executor
+         * @param exec Executor to handle timeouts
+         */
+        public Priority(final Duration timeout, final ScheduledExecutorService timer,
+            final Executor exec) {
+            this.timeout = timeout;
+            this.timer = timer;
+            this.exec = exec;
+        }
+
+        @Override
+        public Response response(final List<Supplier<Response>> members,
+            final GroupOutcome outcome) {
+            return new GroupResponse(
+                members, Optional.of(this.timeout), this.timer, this.exec, outcome
+            );
+        }
+    }
+}
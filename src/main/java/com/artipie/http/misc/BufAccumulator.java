@@ -19,6 +19,11 @@ import javax.annotation.concurrent.NotThreadSafe;
 @SuppressWarnings("PMD.TooManyMethods")
 public final class BufAccumulator implements ReadableByteChannel, WritableByteChannel {
 
+    /**
+     * Buffer pool.
+     */
+    private final BufferPool pool;
+
     /**
      * Buffer.
      */
@@ -30,7 +35,21 @@ public final class BufAccumulator implements ReadableByteChannel, WritableByteCh
      * @param cap Initial capacity
      */
     public BufAccumulator(final int cap) {
-        this.buffer = BufAccumulator.newEmptyBuffer(cap);
+        this(cap, BufferPool.UNPOOLED);
+    }
+
+    /**
+     * Create buffer with initial capacity using buffers from the pool.
+     * <p>
+     * Buffers are released back to the pool on resize and on close.
+     * </p>
+     *
+     * @param cap Initial capacity
+     * @param pool Buffer pool
+     */
+    public BufAccumulator(final int cap, final BufferPool pool) {
+        this.pool = pool;
+        this.buffer = BufAccumulator.newEmptyBuffer(pool.acquire(cap));
     }
 
     /**
@@ -114,7 +133,7 @@ public final class BufAccumulator implements ReadableByteChannel, WritableByteCh
             this.buffer.put(src);
         } else {
             final int cap = Math.max(this.buffer.capacity(), src.capacity()) * 2;
-            final ByteBuffer resized = ByteBuffer.allocate(cap);
+            final ByteBuffer resized = this.pool.acquire(cap);
             final int pos = this.buffer.position();
             final int lim = this.buffer.limit();
             this.buffer.flip();
@@ -122,6 +141,7 @@ public final class BufAccumulator implements ReadableByteChannel, WritableByteCh
             resized.limit(lim + size);
             resized.position(pos);
             resized.put(src);
+            this.pool.release(this.buffer);
             this.buffer = resized;
         }
         return size;
@@ -154,6 +174,7 @@ public final class BufAccumulator implements ReadableByteChannel, WritableByteCh
         this.check();
         // @checkstyle MethodBodyCommentsCheck (1 lines)
         // assign to null means broken state, it's verified by `check` method.
+        this.pool.release(this.buffer);
         this.buffer = null;
     }
 
@@ -170,13 +191,13 @@ public final class BufAccumulator implements ReadableByteChannel, WritableByteCh
     }
 
     /**
-     * Creates new empty buffer with zero position and limit.
+     * Prepares new empty buffer with zero position and limit.
      *
-     * @param cap Capacity
-     * @return New buffer
+     * @param buf Buffer
+     * @return Empty buffer
      */
-    private static ByteBuffer newEmptyBuffer(final int cap) {
-        final ByteBuffer buf = ByteBuffer.allocate(cap);
+    private static ByteBuffer newEmptyBuffer(final ByteBuffer buf) {
+        buf.clear();
         buf.flip();
         return buf;
     }
@@ -0,0 +1,51 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.misc;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Pool of byte buffers.
+ * <p>
+ * Buffer acquired from the pool is owned by the caller until it's released back
+ * to the pool. After release, the buffer and all its duplicates and slices must not
+ * be used by the caller, since the pool may give the same memory to another owner.
+ * Buffers which are passed to other components (e.g. published to downstream
+ * subscribers) should not be acquired from the pool.
+ * </p>
+ * @since 1.2
+ */
+public interface BufferPool {
+
+    /**
+     * Not pooled heap buffers: allocates new buffer on each acquire and
+     * ignores released buffers.
+     */
+    BufferPool UNPOOLED = new BufferPool() {
+        @Override
+        public ByteBuffer acquire(final int cap) {
+            return ByteBuffer.allocate(cap);
+        }
+
+        @Override
+        public void release(final ByteBuffer buf) {
+            // buffer is collected by GC
+        }
+    };
+
+    /**
+     * Acquire a buffer from the pool.
+     * @param cap Required capacity
+     * @return Buffer with capacity not less than required, with zero position
+     *  and limit equal to capacity
+     */
+    ByteBuffer acquire(int cap);
+
+    /**
+     * Release the buffer back to the pool.
+     * @param buf Buffer acquired from this pool
+     */
+    void release(ByteBuffer buf);
+}
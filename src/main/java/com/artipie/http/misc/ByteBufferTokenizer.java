@@ -24,6 +24,12 @@ import javax.annotation.concurrent.NotThreadSafe;
  * When chunk stream is ended, tokenizer should be notified with {@code close}
  * method, it will flush the buffer to receiver if any temporary state exist.
  * </p>
+ * <p>
+ * By default tokenizer copies all bytes of the chunk to the intermediate buffer
+ * and sends copies to the receiver, so the caller may reuse the chunk after
+ * {@code push} call. In {@link Mode#ZERO_COPY} mode receiver gets read-only slices
+ * of pushed chunks without copying, see the mode documentation for ownership rules.
+ * </p>
  *
  * @implNote This class is not thread safe, the access to push and close
  *  should be synchronized externally if needed
@@ -55,11 +61,26 @@ public final class ByteBufferTokenizer implements Closeable {
      */
     private final Receiver receiver;
 
+    /**
+     * Delimiter skip table.
+     */
+    private final int[] skip;
+
     /**
      * Buffer acc.
      */
     private final BufAccumulator acc;
 
+    /**
+     * Tokenizer mode.
+     */
+    private final Mode mode;
+
+    /**
+     * Position in accumulator to resume delimiter lookup from.
+     */
+    private int scan;
+
     /**
      * New tokenizer.
      *
@@ -78,9 +99,54 @@ public final class ByteBufferTokenizer implements Closeable {
      * @param cap Initial capacity
      */
     public ByteBufferTokenizer(final Receiver receiver, final byte[] delim, final int cap) {
+        this(receiver, delim, cap, Mode.COPY);
+    }
+
+    /**
+     * New tokenizer with specified mode.
+     *
+     * @param receiver Tokens receiver
+     * @param delim Delimiter
+     * @param mode Tokenizer mode
+     */
+    public ByteBufferTokenizer(final Receiver receiver, final byte[] delim, final Mode mode) {
+        this(receiver, delim, ByteBufferTokenizer.CAP_DEFAULT, mode);
+    }
+
+    /**
+     * New tokenizer with specified initial capacity of buffer and mode.
+     *
+     * @param receiver Tokens receiver
+     * @param delim Delimiter
+     * @param cap Initial capacity
+     * @param mode Tokenizer mode
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public ByteBufferTokenizer(final Receiver receiver, final byte[] delim, final int cap,
+        final Mode mode) {
+        this(receiver, delim, cap, mode, BufferPool.UNPOOLED);
+    }
+
+    /**
+     * New tokenizer with intermediate buffer from the pool.
+     * <p>
+     * Intermediate buffer is released to the pool on close.
+     * </p>
+     *
+     * @param receiver Tokens receiver
+     * @param delim Delimiter
+     * @param cap Initial capacity
+     * @param mode Tokenizer mode
+     * @param pool Buffer pool
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public ByteBufferTokenizer(final Receiver receiver, final byte[] delim, final int cap,
+        final Mode mode, final BufferPool pool) {
+        this.mode = mode;
         this.receiver = receiver;
         this.delim = Arrays.copyOf(delim, delim.length);
-        this.acc = new BufAccumulator(cap);
+        this.skip = ByteBufferTokenizer.skipTable(this.delim);
+        this.acc = new BufAccumulator(cap, pool);
     }
 
     /**
@@ -88,96 +154,219 @@ public final class ByteBufferTokenizer implements Closeable {
      *
      * @param chunk Next chunk
      */
-    @SuppressWarnings("PMD.AssignmentInOperand")
     public void push(final ByteBuffer chunk) {
-        if (this.acc.write(chunk) <= 0) {
-            return;
+        if (this.mode == Mode.ZERO_COPY) {
+            this.pushSlices(chunk);
+        } else if (this.acc.write(chunk) > 0) {
+            this.tokenize();
         }
-        final byte[] arr = this.acc.array();
+    }
+
+    @Override
+    @SuppressWarnings("PMD.NullAssignment")
+    public void close() {
+        this.flush();
+        this.acc.close();
+    }
+
+    /**
+     * Flush buffer, sends all remaining data to receiver.
+     * This method guarantee that the receiver will be called with {@code end} param, even if
+     * the buffer doesn't contain any bytes.
+     */
+    private void flush() {
+        final ByteBuffer dup = this.acc.duplicate();
+        dup.flip();
+        if (dup.hasRemaining()) {
+            this.receiver.receive(this.acc.copyRange(dup.position(), dup.limit()), true);
+        } else {
+            this.receiver.receive(ByteBufferTokenizer.EMPTY_BUF, true);
+        }
+    }
+
+    /**
+     * Split accumulated bytes by delimiter, send copies of tokens to receiver
+     * and keep in accumulator only the bytes which may contain partial delimiter.
+     */
+    @SuppressWarnings("PMD.AssignmentInOperand")
+    private void tokenize() {
+        // scan accumulated bytes in place, duplicate position is a size of accumulated data
+        final ByteBuffer buf = this.acc.duplicate();
+        final int size = buf.position();
         // bid is a next boundary id, offset is current offset of token + boundary
         int bid;
         int offset = 0;
-        // find next boundary token with offset as `bid`
-        while ((bid = indexOf(offset, arr, this.delim)) >= 0) {
-            if (bid == 0) {
+        // find next boundary token starting from last scan position
+        while ((bid = this.indexOf(buf, Math.max(offset, this.scan), size)) >= 0) {
+            if (bid == offset) {
                 // if boundary seq is a head, then next token is and empty token
                 this.receiver.receive(ByteBufferTokenizer.EMPTY_BUF, true);
-                // and offset for next lookup is a delimiter length
-                offset = this.delim.length;
-                continue;
+            } else {
+                // set bounds for next tokens from current offset to next delimiter id
+                this.receiver.receive(this.acc.copyRange(offset, bid), true);
             }
-            // set bounds for next tokens from current offset to next delimiter id
-            this.receiver.receive(this.acc.copyRange(offset, bid), true);
             // update offset to token position + delimiter length
             offset = bid + this.delim.length;
         }
         // if next delimiter was not found, then try to send save range of bytes to receiver,
         // since it may contain next delimiter partially, then safe range is a:
         // (buffer-length - (delimiter - 1))
-        final int margin = arr.length - this.delim.length + 1;
+        final int margin = size - this.delim.length + 1;
         if (margin > 0) {
             if (offset < margin) {
                 // if there are some bytes between last offset and margin, then send it
                 // to the receiver and update buffer bounds
                 this.receiver.receive(this.acc.copyRange(offset, margin), false);
                 this.acc.drop(margin);
+                this.scan -= margin;
             } else {
                 // if the offset is crossing possible delimiter margin,
                 // then just reset to the offset position
                 this.acc.drop(offset);
+                this.scan -= offset;
             }
         }
     }
 
-    @Override
-    @SuppressWarnings("PMD.NullAssignment")
-    public void close() {
-        this.flush();
-        this.acc.close();
-    }
-
     /**
-     * Flush buffer, sends all remaining data to receiver.
-     * This method guarantee that the receiver will be called with {@code end} param, even if
-     * the buffer doesn't contain any bytes.
+     * Split the chunk by delimiter in place and send slices of the chunk to receiver.
+     * <p>
+     * Only the bytes which may contain partial delimiter are copied to the accumulator:
+     * if accumulator is not empty, the head of the chunk (up to delimiter length - 1)
+     * is appended to accumulator to find delimiter crossing the chunks bounds, and the
+     * tail of the chunk is copied after processing.
+     * </p>
+     *
+     * @param chunk Next chunk
      */
-    private void flush() {
-        final ByteBuffer dup = this.acc.duplicate();
-        dup.flip();
-        if (dup.hasRemaining()) {
-            this.receiver.receive(this.acc.copyRange(dup.position(), dup.limit()), true);
-        } else {
-            this.receiver.receive(ByteBufferTokenizer.EMPTY_BUF, true);
+    @SuppressWarnings("PMD.AssignmentInOperand")
+    private void pushSlices(final ByteBuffer chunk) {
+        final ByteBuffer src = chunk.slice().asReadOnlyBuffer();
+        final int size = src.remaining();
+        int offset = 0;
+        if (!this.acc.empty()) {
+            final int bridge = Math.min(size, this.delim.length - 1);
+            this.acc.write(ByteBufferTokenizer.range(src, 0, bridge));
+            this.tokenize();
+            if (bridge == size) {
+                return;
+            }
+            // accumulator keeps only last bytes of the bridge now, so continue
+            // with the chunk from the position of these bytes
+            offset = bridge - this.acc.size();
+            this.scan += offset;
+            this.acc.drop(this.acc.size());
+        }
+        int bid;
+        while ((bid = this.indexOf(src, Math.max(offset, this.scan), size)) >= 0) {
+            if (bid == offset) {
+                this.receiver.receive(ByteBufferTokenizer.EMPTY_BUF, true);
+            } else {
+                this.receiver.receive(ByteBufferTokenizer.range(src, offset, bid), true);
+            }
+            offset = bid + this.delim.length;
         }
+        final int margin = size - this.delim.length + 1;
+        if (offset < margin) {
+            this.receiver.receive(ByteBufferTokenizer.range(src, offset, margin), false);
+            offset = margin;
+        }
+        this.scan -= offset;
+        this.acc.write(ByteBufferTokenizer.range(src, offset, size));
     }
 
     /**
-     * Finds index of token in array starting with offset.
+     * Finds index of delimiter in buffer using Boyer-Moore-Horspool algorithm.
+     * <p>
+     * If delimiter was not found, the position where the lookup should be
+     * resumed on next chunk is saved to {@code scan} field: all the positions
+     * before it were already checked and can't be a start of the delimiter.
+     * </p>
      *
-     * @param offset Offset to start
-     * @param array Source array
-     * @param token Token to find
-     * @return Position of token or -1 if not found
+     * @param buf Source buffer, it's accessed by absolute indexes
+     * @param from Position to start lookup from
+     * @param size Size of the data in buffer
+     * @return Position of delimiter or -1 if not found
      */
-    private static int indexOf(final int offset, final byte[] array, final byte[] token) {
+    private int indexOf(final ByteBuffer buf, final int from, final int size) {
+        final int last = this.delim.length - 1;
         int res = -1;
-        // @checkstyle LocalVariableNameCheck (10 lines)
-        TOP: for (int i = offset; i < array.length - token.length + 1; ++i) {
-            boolean found = true;
-            for (int j = 0; j < token.length; ++j) {
-                if (array[i + j] != token[j]) {
-                    found = false;
-                    break;
-                }
+        int pos = from;
+        while (pos + last < size) {
+            int idx = last;
+            while (idx >= 0 && buf.get(pos + idx) == this.delim[idx]) {
+                --idx;
             }
-            if (found) {
-                res = i;
-                break TOP;
+            if (idx < 0) {
+                res = pos;
+                break;
             }
+            pos += this.skip[buf.get(pos + last) & 0xff];
+        }
+        if (res < 0) {
+            this.scan = pos;
         }
         return res;
     }
 
+    /**
+     * Slice of buffer range.
+     *
+     * @param buf Source buffer
+     * @param pos Start position
+     * @param lim End position
+     * @return Buffer slice sharing the memory with source
+     */
+    private static ByteBuffer range(final ByteBuffer buf, final int pos, final int lim) {
+        final ByteBuffer dup = buf.duplicate();
+        dup.limit(lim);
+        dup.position(pos);
+        return dup.slice();
+    }
+
+    /**
+     * Bad character skip table for Boyer-Moore-Horspool search.
+     *
+     * @param delim Delimiter
+     * @return Shift distance for each byte value
+     * @checkstyle MagicNumberCheck (10 lines)
+     */
+    private static int[] skipTable(final byte[] delim) {
+        final int[] table = new int[256];
+        Arrays.fill(table, delim.length);
+        for (int idx = 0; idx < delim.length - 1; ++idx) {
+            table[delim[idx] & 0xff] = delim.length - 1 - idx;
+        }
+        return table;
+    }
+
+    /**
+     * Tokenizer mode.
+     *
+     * @since 1.2
+     */
+    public enum Mode {
+
+        /**
+         * Tokenizer copies chunks to intermediate buffer and sends copies of tokens
+         * to receiver. Chunk can be reused by the caller after {@code push} call.
+         */
+        COPY,
+
+        /**
+         * Tokenizer sends read-only slices of the pushed chunks to receiver.
+         * <p>
+         * Ownership of the chunk is transferred to the tokenizer on {@code push} call:
+         * the caller must not modify or reuse the chunk memory after that. Tokenizer
+         * doesn't keep references to the chunk after {@code push} returns (except
+         * the copy of delimiter length tail), and the ownership of received buffers
+         * is transferred to the receiver, so receiver may keep them without copying.
+         * Buffers are released when receiver drops the references.
+         * </p>
+         */
+        ZERO_COPY
+    }
+
     /**
      * Tokenizer series receiver.
      *
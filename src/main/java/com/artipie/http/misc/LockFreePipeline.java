@@ -0,0 +1,307 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.misc;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Lock-free async pipeline for flow processor to connect upstream subscriber
+ * and downstream subscription.
+ * <p>
+ * It's an alternative to {@link Pipeline} without monitors: connection state is
+ * kept as atomic flags, and all downstream signals are emitted by a drain loop
+ * guarded by work-in-progress counter, so only one thread signals downstream at a time,
+ * and other threads just mark more work for it. Unlike {@link Pipeline}, this
+ * implementation doesn't request items from upstream by itself, it translates
+ * downstream demand to upstream and queues items received above the demand.
+ * </p>
+ * @param <D> Downstream type
+ * @since 1.2
+ * @checkstyle MethodBodyCommentsCheck (500 lines)
+ */
+@SuppressWarnings("PMD.NullAssignment")
+public final class LockFreePipeline<D> implements Subscriber<D>, Subscription {
+
+    /**
+     * Downstream was connected.
+     */
+    private static final int CONNECTED = 1;
+
+    /**
+     * Downstream reference is ready.
+     */
+    private static final int DOWN = 1 << 1;
+
+    /**
+     * Upstream subscription is ready.
+     */
+    private static final int UP = 1 << 2;
+
+    /**
+     * Downstream received subscription.
+     */
+    private static final int STARTED = 1 << 3;
+
+    /**
+     * Upstream completed or failed.
+     */
+    private static final int DONE = 1 << 4;
+
+    /**
+     * Downstream cancelled subscription.
+     */
+    private static final int CANCELLED = 1 << 5;
+
+    /**
+     * Downstream received terminal signal.
+     */
+    private static final int TERMINATED = 1 << 6;
+
+    /**
+     * State flags.
+     */
+    private final AtomicInteger state;
+
+    /**
+     * Work in progress counter of drain loop.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * Downstream demand.
+     */
+    private final AtomicLong demand;
+
+    /**
+     * Items received from upstream but not delivered to downstream yet.
+     */
+    private final Queue<D> queue;
+
+    /**
+     * Upstream subscription.
+     */
+    private final AtomicReference<Subscription> upstream;
+
+    /**
+     * Upstream error.
+     */
+    private final AtomicReference<Throwable> error;
+
+    /**
+     * Downstream subscriber.
+     */
+    private volatile Subscriber<? super D> downstream;
+
+    /**
+     * New pipeline.
+     */
+    public LockFreePipeline() {
+        this.state = new AtomicInteger();
+        this.wip = new AtomicInteger();
+        this.demand = new AtomicLong();
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.upstream = new AtomicReference<>();
+        this.error = new AtomicReference<>();
+    }
+
+    /**
+     * Connect downstream.
+     * @param sub Downstream subscriber
+     */
+    public void connect(final Subscriber<? super D> sub) {
+        if ((this.mark(LockFreePipeline.CONNECTED) & LockFreePipeline.CONNECTED) == 0) {
+            this.downstream = sub;
+            this.mark(LockFreePipeline.DOWN);
+            this.drain();
+        } else {
+            sub.onSubscribe(DummySubscription.VALUE);
+            sub.onError(new IllegalStateException("Downstream already connected"));
+        }
+    }
+
+    @Override
+    public void onSubscribe(final Subscription sub) {
+        if (this.upstream.compareAndSet(null, sub)) {
+            if ((this.mark(LockFreePipeline.UP) & LockFreePipeline.CANCELLED) == 0) {
+                this.drain();
+            } else {
+                sub.cancel();
+            }
+        } else {
+            sub.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(final D item) {
+        this.queue.offer(item);
+        this.drain();
+    }
+
+    @Override
+    public void onError(final Throwable err) {
+        this.error.compareAndSet(null, err);
+        this.mark(LockFreePipeline.DONE);
+        this.drain();
+    }
+
+    @Override
+    public void onComplete() {
+        this.mark(LockFreePipeline.DONE);
+        this.drain();
+    }
+
+    @Override
+    public void request(final long amt) {
+        if (amt <= 0) {
+            this.cancelUpstream();
+            this.onError(
+                new IllegalArgumentException(
+                    String.format("Requested amount should be positive: %d", amt)
+                )
+            );
+        } else {
+            this.demand.accumulateAndGet(amt, LockFreePipeline::add);
+            this.upstream.get().request(amt);
+            this.drain();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if ((this.mark(LockFreePipeline.CANCELLED) & LockFreePipeline.CANCELLED) == 0) {
+            this.cancelUpstream();
+            this.drain();
+        }
+    }
+
+    /**
+     * Drain loop, it's performed only by one thread at a time.
+     */
+    private void drain() {
+        if (this.wip.getAndIncrement() == 0) {
+            int missed = 1;
+            while (missed != 0) {
+                this.signal();
+                missed = this.wip.addAndGet(-missed);
+            }
+        }
+    }
+
+    /**
+     * Signal downstream according to current state.
+     */
+    private void signal() {
+        final int flags = this.state.get();
+        final int ready = LockFreePipeline.DOWN | LockFreePipeline.UP;
+        if ((flags & LockFreePipeline.CANCELLED) != 0) {
+            this.queue.clear();
+            this.downstream = null;
+        } else if ((flags & ready) == ready && (flags & LockFreePipeline.TERMINATED) == 0) {
+            final Subscriber<? super D> sub = this.downstream;
+            if ((flags & LockFreePipeline.STARTED) == 0) {
+                this.mark(LockFreePipeline.STARTED);
+                // downstream may request and receive items synchronously here,
+                // drain calls are counted as missed and handled by this loop
+                sub.onSubscribe(this);
+            }
+            this.emit(sub);
+        }
+    }
+
+    /**
+     * Emit queued items and terminal signal to downstream.
+     * @param sub Downstream subscriber
+     */
+    private void emit(final Subscriber<? super D> sub) {
+        // read done flag before checking the queue: all items are queued when it's set
+        final boolean done = (this.state.get() & LockFreePipeline.DONE) != 0;
+        final Throwable err = this.error.get();
+        if (done && err != null && !this.cancelled()) {
+            this.terminate();
+            this.queue.clear();
+            sub.onError(err);
+        } else {
+            while (!this.queue.isEmpty() && !this.cancelled() && this.consume()) {
+                sub.onNext(this.queue.poll());
+            }
+            if (done && this.queue.isEmpty() && !this.cancelled()) {
+                this.terminate();
+                sub.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Check if downstream cancelled subscription.
+     * @return True if cancelled
+     */
+    private boolean cancelled() {
+        return (this.state.get() & LockFreePipeline.CANCELLED) != 0;
+    }
+
+    /**
+     * Mark downstream as terminated and drop its reference.
+     */
+    private void terminate() {
+        this.mark(LockFreePipeline.TERMINATED);
+        this.downstream = null;
+    }
+
+    /**
+     * Consume one item of downstream demand.
+     * @return True if downstream has demand
+     */
+    private boolean consume() {
+        return this.demand.getAndUpdate(
+            cur -> {
+                long res = cur;
+                if (cur > 0 && cur != Long.MAX_VALUE) {
+                    res = cur - 1;
+                }
+                return res;
+            }
+        ) > 0;
+    }
+
+    /**
+     * Cancel upstream subscription if subscribed.
+     */
+    private void cancelUpstream() {
+        final Subscription sub = this.upstream.get();
+        if (sub != null) {
+            sub.cancel();
+        }
+    }
+
+    /**
+     * Set state flag.
+     * @param flag Flag to set
+     * @return Previous state
+     */
+    private int mark(final int flag) {
+        return this.state.getAndUpdate(flags -> flags | flag);
+    }
+
+    /**
+     * Add demand without overflow.
+     * @param cur Current demand
+     * @param amt Amount to add
+     * @return New demand
+     */
+    private static long add(final long cur, final long amt) {
+        long res = cur + amt;
+        if (res < 0) {
+            res = Long.MAX_VALUE;
+        }
+        return res;
+    }
+}
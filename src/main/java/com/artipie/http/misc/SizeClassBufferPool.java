@@ -0,0 +1,425 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.misc;
+
+import com.jcabi.log.Logger;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Buffer pool with power of two size classes.
+ * <p>
+ * Requested capacity is rounded up to the next size class from 256 bytes to 1 MiB,
+ * larger buffers are not pooled. Released buffers are cached in a small thread-local
+ * cache first, and then in a shared bounded queue of the size class. Buffers are
+ * allocated by the function from constructor, so it can be either heap buffers
+ * ({@code ByteBuffer::allocate}) or direct buffers ({@code ByteBuffer::allocateDirect}).
+ * </p>
+ * <p>
+ * The pool counts hits (buffer was reused), misses (new buffer was allocated) and
+ * outstanding buffers (acquired but not released yet). The pool tracks acquired buffers
+ * with weak identity references; if leak detection is enabled, buffers which were
+ * collected by GC without releasing are reported as leaks.
+ * </p>
+ * <p>
+ * Released buffer must be acquired from the pool: buffers with capacity other than
+ * a size class and read-only buffers are rejected with {@link IllegalArgumentException},
+ * not tracked buffers (foreign buffers of size class capacity and buffers which
+ * were already released) are rejected with {@link IllegalStateException}, since
+ * otherwise two owners could acquire the same buffer later.
+ * </p>
+ * @since 1.2
+ */
+@ThreadSafe
+public final class SizeClassBufferPool implements BufferPool {
+
+    /**
+     * Smallest size class shift: 256 bytes.
+     */
+    private static final int MIN_SHIFT = 8;
+
+    /**
+     * Largest size class shift: 1 MiB.
+     */
+    private static final int MAX_SHIFT = 20;
+
+    /**
+     * Default max amount of buffers in shared queue of size class.
+     */
+    private static final int SHARED_DEFAULT = 64;
+
+    /**
+     * Default max amount of buffers in thread-local cache of size class.
+     */
+    private static final int LOCAL_DEFAULT = 4;
+
+    /**
+     * Buffer allocator.
+     */
+    private final IntFunction<ByteBuffer> alloc;
+
+    /**
+     * Shared queues of size classes.
+     */
+    private final List<Queue<ByteBuffer>> shared;
+
+    /**
+     * Amount of buffers in shared queues.
+     */
+    private final AtomicIntegerArray sizes;
+
+    /**
+     * Max amount of buffers in shared queue of size class.
+     */
+    private final int limit;
+
+    /**
+     * Max amount of buffers in thread-local cache of size class.
+     */
+    private final int local;
+
+    /**
+     * Thread-local caches of size classes.
+     */
+    private final ThreadLocal<List<Deque<ByteBuffer>>> caches;
+
+    /**
+     * Hits counter.
+     */
+    private final LongAdder hcnt;
+
+    /**
+     * Misses counter.
+     */
+    private final LongAdder mcnt;
+
+    /**
+     * Outstanding buffers counter.
+     */
+    private final AtomicLong ocnt;
+
+    /**
+     * Leaks tracker.
+     */
+    private final Leaks tracker;
+
+    /**
+     * New pool of heap buffers without leak detection.
+     */
+    public SizeClassBufferPool() {
+        this(ByteBuffer::allocate);
+    }
+
+    /**
+     * New pool without leak detection.
+     * @param alloc Buffer allocator
+     */
+    public SizeClassBufferPool(final IntFunction<ByteBuffer> alloc) {
+        this(alloc, false);
+    }
+
+    /**
+     * New pool with default limits.
+     * @param alloc Buffer allocator
+     * @param detect Detect leaks
+     */
+    public SizeClassBufferPool(final IntFunction<ByteBuffer> alloc, final boolean detect) {
+        this(alloc, SizeClassBufferPool.SHARED_DEFAULT, SizeClassBufferPool.LOCAL_DEFAULT, detect);
+    }
+
+    /**
+     * New pool.
+     * @param alloc Buffer allocator
+     * @param limit Max amount of buffers in shared queue of each size class
+     * @param local Max amount of buffers in thread-local cache of each size class
+     * @param detect Detect leaks
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public SizeClassBufferPool(final IntFunction<ByteBuffer> alloc, final int limit,
+        final int local, final boolean detect) {
+        final int classes = SizeClassBufferPool.MAX_SHIFT - SizeClassBufferPool.MIN_SHIFT + 1;
+        this.alloc = alloc;
+        this.limit = limit;
+        this.local = local;
+        this.shared = new ArrayList<>(classes);
+        for (int idx = 0; idx < classes; ++idx) {
+            this.shared.add(new ConcurrentLinkedQueue<>());
+        }
+        this.sizes = new AtomicIntegerArray(classes);
+        this.caches = ThreadLocal.withInitial(
+            () -> {
+                final List<Deque<ByteBuffer>> list = new ArrayList<>(classes);
+                for (int idx = 0; idx < classes; ++idx) {
+                    list.add(new ArrayDeque<>(local));
+                }
+                return list;
+            }
+        );
+        this.hcnt = new LongAdder();
+        this.mcnt = new LongAdder();
+        this.ocnt = new AtomicLong();
+        this.tracker = new Leaks(detect);
+    }
+
+    @Override
+    public ByteBuffer acquire(final int cap) {
+        final int idx = SizeClassBufferPool.sizeClass(cap);
+        ByteBuffer buf = null;
+        if (idx >= 0) {
+            buf = this.caches.get().get(idx).poll();
+            if (buf == null) {
+                buf = this.shared.get(idx).poll();
+                if (buf != null) {
+                    this.sizes.decrementAndGet(idx);
+                }
+            }
+        }
+        if (buf == null) {
+            this.mcnt.increment();
+            if (idx >= 0) {
+                buf = this.alloc.apply(1 << idx + SizeClassBufferPool.MIN_SHIFT);
+            } else {
+                buf = this.alloc.apply(cap);
+            }
+        } else {
+            this.hcnt.increment();
+            buf.clear();
+        }
+        this.ocnt.incrementAndGet();
+        this.tracker.track(buf);
+        return buf;
+    }
+
+    @Override
+    public void release(final ByteBuffer buf) {
+        final int cap = buf.capacity();
+        final int idx = SizeClassBufferPool.sizeClass(cap);
+        if (buf.isReadOnly() || idx >= 0 && cap != 1 << idx + SizeClassBufferPool.MIN_SHIFT) {
+            throw new IllegalArgumentException(
+                String.format("Buffer of %d bytes was not acquired from the pool", cap)
+            );
+        }
+        if (!this.tracker.untrack(buf)) {
+            throw new IllegalStateException(
+                String.format("Buffer of %d bytes is not acquired or already released", cap)
+            );
+        }
+        this.ocnt.decrementAndGet();
+        if (idx >= 0) {
+            final Deque<ByteBuffer> cache = this.caches.get().get(idx);
+            if (cache.size() < this.local) {
+                cache.push(buf);
+            } else if (this.sizes.incrementAndGet(idx) <= this.limit) {
+                this.shared.get(idx).offer(buf);
+            } else {
+                this.sizes.decrementAndGet(idx);
+            }
+        }
+    }
+
+    /**
+     * Amount of acquired buffers which were taken from the pool.
+     * @return Hits count
+     */
+    public long hits() {
+        return this.hcnt.sum();
+    }
+
+    /**
+     * Amount of acquired buffers which were allocated.
+     * @return Misses count
+     */
+    public long misses() {
+        return this.mcnt.sum();
+    }
+
+    /**
+     * Amount of buffers which were acquired but not released.
+     * @return Outstanding buffers count
+     */
+    public long outstanding() {
+        return this.ocnt.get();
+    }
+
+    /**
+     * Amount of buffers which were collected by GC without releasing.
+     * Always zero if leak detection is disabled.
+     * @return Leaks count
+     */
+    public long leaks() {
+        return this.tracker.count();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s(hits=%d, misses=%d, outstanding=%d, leaks=%d)",
+            this.getClass().getSimpleName(),
+            this.hits(), this.misses(), this.outstanding(), this.leaks()
+        );
+    }
+
+    /**
+     * Size class index for capacity.
+     * @param cap Capacity
+     * @return Size class index or -1 if capacity is too big for pooling
+     */
+    private static int sizeClass(final int cap) {
+        final int res;
+        if (cap > 1 << SizeClassBufferPool.MAX_SHIFT) {
+            res = -1;
+        } else if (cap <= 1 << SizeClassBufferPool.MIN_SHIFT) {
+            res = 0;
+        } else {
+            // @checkstyle MagicNumberCheck (1 line)
+            res = 32 - Integer.numberOfLeadingZeros(cap - 1) - SizeClassBufferPool.MIN_SHIFT;
+        }
+        return res;
+    }
+
+    /**
+     * Tracker of acquired buffers and leaks.
+     * @since 1.2
+     */
+    private static final class Leaks {
+
+        /**
+         * Leaks reporting is enabled.
+         */
+        private final boolean enabled;
+
+        /**
+         * Queue of collected buffers references.
+         */
+        private final ReferenceQueue<ByteBuffer> queue;
+
+        /**
+         * References of acquired buffers.
+         */
+        private final Set<Ref> refs;
+
+        /**
+         * Leaks counter.
+         */
+        private final LongAdder cnt;
+
+        /**
+         * New tracker.
+         * @param enabled Leaks reporting is enabled
+         */
+        Leaks(final boolean enabled) {
+            this.enabled = enabled;
+            this.queue = new ReferenceQueue<>();
+            this.refs = ConcurrentHashMap.newKeySet();
+            this.cnt = new LongAdder();
+        }
+
+        /**
+         * Track acquired buffer.
+         * @param buf Buffer
+         */
+        void track(final ByteBuffer buf) {
+            this.poll();
+            this.refs.add(new Ref(buf, this.queue));
+        }
+
+        /**
+         * Stop tracking of released buffer.
+         * @param buf Buffer
+         * @return False if the buffer is not tracked
+         */
+        boolean untrack(final ByteBuffer buf) {
+            return this.refs.remove(new Ref(buf, null));
+        }
+
+        /**
+         * Leaks count.
+         * @return Count of leaked buffers
+         */
+        long count() {
+            this.poll();
+            return this.cnt.sum();
+        }
+
+        /**
+         * Check collected buffers: buffer is leaked if it's still tracked.
+         */
+        @SuppressWarnings("PMD.AssignmentInOperand")
+        private void poll() {
+            Reference<? extends ByteBuffer> ref;
+            while ((ref = this.queue.poll()) != null) {
+                if (this.refs.remove(ref) && this.enabled) {
+                    this.cnt.increment();
+                    Logger.warn(
+                        this, "Buffer of %d bytes was not released to the pool",
+                        ((Ref) ref).capacity
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Weak identity reference of the buffer.
+     * @since 1.2
+     */
+    private static final class Ref extends WeakReference<ByteBuffer> {
+
+        /**
+         * Identity hash code of the buffer.
+         */
+        private final int hash;
+
+        /**
+         * Buffer capacity.
+         */
+        private final int capacity;
+
+        /**
+         * New reference.
+         * @param buf Buffer
+         * @param queue Reference queue
+         */
+        Ref(final ByteBuffer buf, final ReferenceQueue<ByteBuffer> queue) {
+            super(buf, queue);
+            this.hash = System.identityHashCode(buf);
+            this.capacity = buf.capacity();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            final boolean res;
+            if (this == obj) {
+                res = true;
+            } else if (obj instanceof Ref) {
+                final ByteBuffer buf = this.get();
+                res = buf != null && buf == ((Ref) obj).get();
+            } else {
+                res = false;
+            }
+            return res;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
@@ -6,15 +6,31 @@ package com.artipie.http.misc;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.jcip.annotations.GuardedBy;
 import org.reactivestreams.Processor;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
 /**
  * Byte buffer publisher processor tokenizer as a flat publisher of byte buffers.
+ * <p>
+ * Processor respects downstream demand: it requests next chunk from upstream only
+ * when all tokens of previous chunks were delivered and downstream requested more,
+ * so it keeps at most tokens of one upstream chunk in memory.
+ * </p>
+ * <p>
+ * Intermediate buffers are released to the pool once: when downstream is completed,
+ * when upstream fails or when downstream cancels the subscription. Chunks received
+ * after release are ignored.
+ * </p>
  *
  * @since 1.0
+ * @checkstyle MethodBodyCommentsCheck (500 lines)
  */
 public final class TokenizerFlatProc implements Processor<ByteBuffer, ByteBuffer>,
     ByteBufferTokenizer.Receiver {
@@ -40,10 +56,36 @@ public final class TokenizerFlatProc implements Processor<ByteBuffer, ByteBuffer
     private final AtomicBoolean completed;
 
     /**
-     * Subscription lock.
+     * Tokens ready for downstream.
+     */
+    private final Queue<ByteBuffer> tokens;
+
+    /**
+     * Work in progress counter of drain loop.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * Downstream completed flag.
+     */
+    private final AtomicBoolean terminated;
+
+    /**
+     * Tokenizer was closed and all tokens are queued.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Subscription and buffers lock.
      */
     private final Object lock;
 
+    /**
+     * Intermediate buffers were released to the pool.
+     */
+    @GuardedBy("lock")
+    private boolean released;
+
     /**
      * Downstream subscriber.
      */
@@ -68,9 +110,28 @@ public final class TokenizerFlatProc implements Processor<ByteBuffer, ByteBuffer
      * @param cap Buffer capacity in bytes
      */
     public TokenizerFlatProc(final String delim, final int cap) {
-        this.tokenizer = new ByteBufferTokenizer(this, delim.getBytes(StandardCharsets.US_ASCII));
-        this.accumulator = new BufAccumulator(cap);
+        this(delim, cap, BufferPool.UNPOOLED);
+    }
+
+    /**
+     * New tokenizer processor with intermediate buffers from the pool.
+     * <p>
+     * Tokens published to downstream are not taken from the pool.
+     * </p>
+     * @param delim Delimiter token
+     * @param cap Buffer capacity in bytes
+     * @param pool Buffer pool
+     */
+    public TokenizerFlatProc(final String delim, final int cap, final BufferPool pool) {
+        this.tokenizer = new ByteBufferTokenizer(
+            this, delim.getBytes(StandardCharsets.US_ASCII), cap,
+            ByteBufferTokenizer.Mode.COPY, pool
+        );
+        this.accumulator = new BufAccumulator(cap, pool);
         this.completed = new AtomicBoolean();
+        this.tokens = new ConcurrentLinkedQueue<>();
+        this.wip = new AtomicInteger();
+        this.terminated = new AtomicBoolean();
         this.lock = new Object();
     }
 
@@ -88,6 +149,7 @@ public final class TokenizerFlatProc implements Processor<ByteBuffer, ByteBuffer
                 this.downstream.onSubscribe(this.upstream);
             }
         }
+        this.drain();
     }
 
     @Override
@@ -96,42 +158,123 @@ public final class TokenizerFlatProc implements Processor<ByteBuffer, ByteBuffer
             if (this.upstream != null) {
                 throw new IllegalStateException("Already subscribed");
             }
-            this.upstream = new ProxySubscription(sub);
+            this.upstream = new ProxySubscription(sub, this::drain, this::cancel);
             if (this.downstream != null) {
                 this.downstream.onSubscribe(this.upstream);
             }
         }
+        this.drain();
     }
 
     @Override
     public void onNext(final ByteBuffer buffer) {
-        this.tokenizer.push(buffer);
+        synchronized (this.lock) {
+            if (!this.released) {
+                this.tokenizer.push(buffer);
+            }
+        }
+        this.upstream.received();
+        this.drain();
     }
 
     @Override
     public void onError(final Throwable err) {
-        this.downstream.onError(err);
+        if (this.terminated.compareAndSet(false, true)) {
+            this.release();
+            this.downstream.onError(err);
+        }
     }
 
     @Override
     public void onComplete() {
         if (this.completed.compareAndSet(false, true)) {
-            this.tokenizer.close();
+            synchronized (this.lock) {
+                if (!this.released) {
+                    this.tokenizer.close();
+                    this.closed = true;
+                }
+            }
+            this.drain();
         }
     }
 
     @Override
     public void receive(final ByteBuffer next, final boolean end) {
-        this.upstream.receive();
+        if (this.released) {
+            // tokenizer flushes remaining bytes on release, they are not delivered
+            return;
+        }
         this.accumulator.write(next);
         if (end) {
             final ByteBuffer dst = ByteBuffer.allocate(this.accumulator.size());
             this.accumulator.read(dst);
             dst.flip();
-            this.downstream.onNext(dst);
-            if (this.completed.get()) {
-                this.downstream.onComplete();
+            this.tokens.add(dst);
+        }
+    }
+
+    /**
+     * Deliver queued tokens to downstream while it has demand, request next
+     * chunk from upstream when all tokens are delivered, complete downstream
+     * when upstream completed and all tokens are delivered.
+     * <p>
+     * It can be called concurrently from upstream and downstream threads,
+     * only one thread performs the loop at a time.
+     * </p>
+     */
+    private void drain() {
+        if (this.downstream != null && this.upstream != null
+            && this.wip.getAndIncrement() == 0) {
+            int missed = 1;
+            while (missed != 0) {
+                while (!this.tokens.isEmpty() && this.upstream.consume()) {
+                    this.downstream.onNext(this.tokens.poll());
+                }
+                // read closed flag before queue check: all tokens are queued when it's set
+                final boolean done = this.closed;
+                if (this.tokens.isEmpty()) {
+                    if (done) {
+                        this.complete();
+                    } else {
+                        this.upstream.more();
+                    }
+                }
+                missed = this.wip.addAndGet(-missed);
+            }
+        }
+    }
+
+    /**
+     * Complete downstream once.
+     */
+    private void complete() {
+        if (this.terminated.compareAndSet(false, true)) {
+            this.downstream.onComplete();
+            this.release();
+        }
+    }
+
+    /**
+     * Downstream cancelled the subscription.
+     */
+    private void cancel() {
+        this.terminated.set(true);
+        this.release();
+    }
+
+    /**
+     * Release intermediate buffers to the pool once, queued tokens are dropped
+     * if downstream was not completed.
+     */
+    private void release() {
+        synchronized (this.lock) {
+            if (!this.released) {
+                this.released = true;
+                if (!this.closed) {
+                    this.tokenizer.close();
+                }
                 this.accumulator.close();
+                this.tokens.clear();
             }
         }
     }
@@ -139,13 +282,10 @@ public final class TokenizerFlatProc implements Processor<ByteBuffer, ByteBuffer
     /**
      * Upstream subscription proxy.
      * <p>
-     * It handle requests from downstream and translate it to upstream requests
-     * depends on about of processed items.
+     * It counts requests from downstream and requests upstream chunks one by one
+     * while downstream has demand.
      * </p>
      * @since 1.0
-     * @todo #299:30min Implement this subscription correctly.
-     *  Now it requests MAX_VALUE from upstream on first request from downstream.
-     *  It should count requests from downstream and request upstream only on demand.
      */
     private static final class ProxySubscription implements Subscription {
 
@@ -155,37 +295,95 @@ public final class TokenizerFlatProc implements Processor<ByteBuffer, ByteBuffer
         private final Subscription upstream;
 
         /**
-         * Requested flag.
+         * Drain callback on downstream request.
          */
-        private final AtomicBoolean requested;
+        private final Runnable drain;
+
+        /**
+         * Callback on downstream cancel.
+         */
+        private final Runnable cancel;
+
+        /**
+         * Downstream demand.
+         */
+        private final AtomicLong demand;
+
+        /**
+         * Upstream chunk was requested but not received yet.
+         */
+        private final AtomicBoolean pending;
 
         /**
          * New proxy for upstream.
          * @param upstream Subscription
+         * @param drain Drain callback
+         * @param cancel Cancel callback
          */
-        ProxySubscription(final Subscription upstream) {
+        ProxySubscription(final Subscription upstream, final Runnable drain,
+            final Runnable cancel) {
             this.upstream = upstream;
-            this.requested = new AtomicBoolean();
+            this.drain = drain;
+            this.cancel = cancel;
+            this.demand = new AtomicLong();
+            this.pending = new AtomicBoolean();
         }
 
         @Override
         public void request(final long amount) {
-            if (this.requested.compareAndSet(false, true)) {
-                this.upstream.request(Long.MAX_VALUE);
+            if (amount <= 0) {
+                throw new IllegalStateException("Requested amount should be greater than zero");
             }
+            this.demand.accumulateAndGet(
+                amount, (cur, add) -> {
+                    long res = cur + add;
+                    if (res < 0) {
+                        res = Long.MAX_VALUE;
+                    }
+                    return res;
+                }
+            );
+            this.drain.run();
         }
 
         @Override
         public void cancel() {
             this.upstream.cancel();
+            this.cancel.run();
         }
 
         /**
-         * Notify item received.
-         * @checkstyle NonStaticMethodCheck (10 lines)
+         * Notify upstream chunk received.
          */
-        public void receive() {
-            // not implemented
+        void received() {
+            this.pending.set(false);
+        }
+
+        /**
+         * Consume one item of downstream demand.
+         * @return True if downstream has demand
+         */
+        boolean consume() {
+            final long prev = this.demand.getAndUpdate(
+                cur -> {
+                    long res = cur;
+                    if (cur > 0 && cur != Long.MAX_VALUE) {
+                        res = cur - 1;
+                    }
+                    return res;
+                }
+            );
+            return prev > 0;
+        }
+
+        /**
+         * Request next chunk from upstream if downstream has demand and
+         * previous chunk was received.
+         */
+        void more() {
+            if (this.demand.get() > 0 && this.pending.compareAndSet(false, true)) {
+                this.upstream.request(1L);
+            }
         }
     }
 }
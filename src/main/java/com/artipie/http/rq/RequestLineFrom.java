@@ -22,22 +22,33 @@ import java.net.URI;
  * <p>
  * {@code Request-Line = Method SP Request-URI SP HTTP-Version CRLF}.
  * </p>
+ * <p>
+ * The line is parsed once on first access by single pass index-based parser,
+ * method and URI are computed lazily and cached. The last parsed line is memoized
+ * per thread, so slices of one request chain which create new instances for the same
+ * line reuse parsed form without reparsing.
+ * </p>
  * @see <a href="https://www.w3.org/Protocols/rfc2616/rfc2616-sec5.html">RFC2616</a>
  * @since 0.1
  */
 public final class RequestLineFrom {
 
     /**
-     * HTTP request line.
+     * Last parsed request line of current thread.
      */
-    private final String line;
+    private static final ThreadLocal<Parsed> LAST = new ThreadLocal<>();
+
+    /**
+     * Parsed request line.
+     */
+    private final Parsed parsed;
 
     /**
      * Primary ctor.
      * @param line HTTP request line
      */
     public RequestLineFrom(final String line) {
-        this.line = line;
+        this.parsed = RequestLineFrom.parsed(line);
     }
 
     /**
@@ -45,14 +56,7 @@ public final class RequestLineFrom {
      * @return Method name
      */
     public RqMethod method() {
-        final String string = this.part(0);
-        return RqMethod.ALL
-            .stream()
-            .filter(method -> method.value().equals(string))
-            .findAny()
-            .orElseThrow(
-                () -> new IllegalStateException(String.format("Unknown method: '%s'", string))
-            );
+        return this.parsed.method();
     }
 
     /**
@@ -60,7 +64,7 @@ public final class RequestLineFrom {
      * @return URI of the request
      */
     public URI uri() {
-        return URI.create(this.part(1));
+        return this.parsed.uri();
     }
 
     /**
@@ -68,24 +72,153 @@ public final class RequestLineFrom {
      * @return HTTP version string
      */
     public String version() {
-        return this.part(2);
+        return this.parsed.part(2);
+    }
+
+    /**
+     * Parsed form of request line, memoized per thread.
+     * @param line Request line
+     * @return Parsed line
+     */
+    private static Parsed parsed(final String line) {
+        Parsed res = RequestLineFrom.LAST.get();
+        if (res == null || !res.line.equals(line)) {
+            res = new Parsed(line);
+            RequestLineFrom.LAST.set(res);
+        }
+        return res;
     }
 
     /**
-     * Part of request line. Valid HTTP request line must contains 3 parts which can be
-     * splitted by whitespace char.
-     * @param idx Part index
-     * @return Part string
+     * Parsed request line.
+     * <p>
+     * Valid HTTP request line must contain 3 parts which are separated by single
+     * whitespace char, leading and trailing whitespaces are ignored.
+     * </p>
+     * @since 1.2
      */
-    private String part(final int idx) {
-        final String[] parts = this.line.trim().split("\\s");
-        // @checkstyle MagicNumberCheck (1 line)
-        if (parts.length == 3) {
-            return parts[idx];
-        } else {
-            throw new IllegalArgumentException(
+    private static final class Parsed {
+
+        /**
+         * HTTP request line.
+         */
+        private final String line;
+
+        /**
+         * Parts bounds: start and end indexes of method, URI and version.
+         */
+        private volatile int[] bounds;
+
+        /**
+         * Method.
+         */
+        private volatile RqMethod mtd;
+
+        /**
+         * URI.
+         */
+        private volatile URI addr;
+
+        /**
+         * New parsed line.
+         * @param line HTTP request line
+         */
+        Parsed(final String line) {
+            this.line = line;
+        }
+
+        /**
+         * Request method.
+         * @return Method
+         */
+        RqMethod method() {
+            RqMethod res = this.mtd;
+            if (res == null) {
+                res = RqMethod.of(this.part(0));
+                this.mtd = res;
+            }
+            return res;
+        }
+
+        /**
+         * Request URI.
+         * @return URI
+         */
+        URI uri() {
+            URI res = this.addr;
+            if (res == null) {
+                res = URI.create(this.part(1));
+                this.addr = res;
+            }
+            return res;
+        }
+
+        /**
+         * Part of request line.
+         * @param idx Part index
+         * @return Part string
+         */
+        String part(final int idx) {
+            int[] bnd = this.bounds;
+            if (bnd == null) {
+                bnd = this.parse();
+                this.bounds = bnd;
+            }
+            return this.line.substring(bnd[idx * 2], bnd[idx * 2 + 1]);
+        }
+
+        /**
+         * Find parts bounds in one pass.
+         * @return Bounds
+         * @checkstyle MagicNumberCheck (30 lines)
+         */
+        private int[] parse() {
+            int start = 0;
+            int end = this.line.length();
+            while (start < end && this.line.charAt(start) <= ' ') {
+                ++start;
+            }
+            while (end > start && this.line.charAt(end - 1) <= ' ') {
+                --end;
+            }
+            final int[] res = new int[6];
+            res[0] = start;
+            int part = 0;
+            for (int pos = start; pos < end; ++pos) {
+                if (Parsed.whitespace(this.line.charAt(pos))) {
+                    if (part == 2) {
+                        throw this.invalid();
+                    }
+                    res[part * 2 + 1] = pos;
+                    ++part;
+                    res[part * 2] = pos + 1;
+                }
+            }
+            if (part != 2) {
+                throw this.invalid();
+            }
+            res[5] = end;
+            return res;
+        }
+
+        /**
+         * Invalid request line error.
+         * @return Exception
+         */
+        private IllegalArgumentException invalid() {
+            return new IllegalArgumentException(
                 String.format("Invalid HTTP request line \n%s", this.line)
             );
         }
+
+        /**
+         * Check whitespace char, same set as {@code \s} regex.
+         * @param chr Char
+         * @return True if whitespace
+         */
+        private static boolean whitespace(final char chr) {
+            return chr == ' ' || chr == '\t' || chr == '\n' || chr == '\u000B'
+                || chr == '\f' || chr == '\r';
+        }
     }
 }
@@ -87,4 +87,51 @@ public enum RqMethod {
     public String value() {
         return this.string;
     }
+
+    /**
+     * Method by its string value.
+     * <p>
+     * It's a switch lookup by string hash code, without iteration over all methods.
+     * </p>
+     * @param value Method string
+     * @return Method
+     * @throws IllegalStateException If method is unknown
+     * @checkstyle CyclomaticComplexityCheck (50 lines)
+     */
+    @SuppressWarnings("PMD.CyclomaticComplexity")
+    public static RqMethod of(final String value) {
+        final RqMethod res;
+        switch (value) {
+            case "GET":
+                res = GET;
+                break;
+            case "HEAD":
+                res = HEAD;
+                break;
+            case "PUT":
+                res = PUT;
+                break;
+            case "POST":
+                res = POST;
+                break;
+            case "DELETE":
+                res = DELETE;
+                break;
+            case "OPTIONS":
+                res = OPTIONS;
+                break;
+            case "PATCH":
+                res = PATCH;
+                break;
+            case "TRACE":
+                res = TRACE;
+                break;
+            case "CONNECT":
+                res = CONNECT;
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unknown method: '%s'", value));
+        }
+        return res;
+    }
 }
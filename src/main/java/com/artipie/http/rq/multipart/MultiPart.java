@@ -5,11 +5,12 @@
 package com.artipie.http.rq.multipart;
 
 import com.artipie.http.Headers;
-import com.artipie.http.misc.BufAccumulator;
 import com.artipie.http.misc.ByteBufferTokenizer;
 import com.artipie.http.misc.DummySubscription;
 import java.nio.ByteBuffer;
-import java.util.concurrent.ExecutorService;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import net.jcip.annotations.GuardedBy;
 import org.reactivestreams.Subscriber;
@@ -46,8 +47,12 @@ final class MultiPart implements RqMultipart.Part, ByteBufferTokenizer.Receiver,
 
     /**
      * Part processor executor.
+     * <p>
+     * Body delivery tasks are submitted to this executor, it should be a sequential
+     * executor to deliver chunks in order without concurrent tasks.
+     * </p>
      */
-    private final ExecutorService exec;
+    private final Executor exec;
 
     /**
      * Multipart header.
@@ -74,15 +79,16 @@ final class MultiPart implements RqMultipart.Part, ByteBufferTokenizer.Receiver,
     private final Consumer<? super RqMultipart.Part> ready;
 
     /**
-     * Temporary body accumulator.
+     * Body chunks queue.
      * <p>
-     * It's needed when the downstream connected after the part of body received.
-     * It may happen if the first chunk of body received with last header chunk
-     * before downstream subscription.
+     * Keeps body chunks until downstream requests them. It's needed when the downstream
+     * connected after the part of body received. It may happen if the first chunk of body
+     * received with last header chunk before downstream subscription. In zero-copy
+     * mode chunks are read-only slices of upstream buffers, they are not copied.
      * </p>
      */
     @GuardedBy("lock")
-    private final BufAccumulator tmpacc;
+    private final Deque<ByteBuffer> chunks;
 
     /**
      * Completed flag.
@@ -104,6 +110,28 @@ final class MultiPart implements RqMultipart.Part, ByteBufferTokenizer.Receiver,
      */
     private volatile long demand;
 
+    /**
+     * High-water mark of queued body bytes.
+     */
+    private final Watermark mark;
+
+    /**
+     * Cancelled by downstream flag.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Pooled buffers of the part were released.
+     */
+    @GuardedBy("lock")
+    private boolean released;
+
+    /**
+     * Part completion was reported to completion handler.
+     */
+    @GuardedBy("lock")
+    private boolean finished;
+
     /**
      * New multipart request part.
      * @param completion Upstream completion handler
@@ -111,16 +139,35 @@ final class MultiPart implements RqMultipart.Part, ByteBufferTokenizer.Receiver,
      * @param exec Executor service
      */
     MultiPart(final Completion<?> completion, final Consumer<? super RqMultipart.Part> ready,
-        final ExecutorService exec) {
+        final Executor exec) {
+        this(
+            completion, ready, exec, RqMultipart.Settings.DEFAULT,
+            new Watermark(Long.MAX_VALUE, () -> { })
+        );
+    }
+
+    /**
+     * New multipart request part with parser settings and body bytes high-water mark.
+     * @param completion Upstream completion handler
+     * @param ready Ready callback
+     * @param exec Executor service
+     * @param settings Parser settings: buffer pool and tokenizer mode
+     * @param mark High-water mark of queued body bytes
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    MultiPart(final Completion<?> completion, final Consumer<? super RqMultipart.Part> ready,
+        final Executor exec, final RqMultipart.Settings settings, final Watermark mark) {
         this.ready = ready;
         this.completion = completion;
         this.tokenizer = new ByteBufferTokenizer(
-            this, MultiPart.DELIM.getBytes(), MultiPart.CAP_PART
+            this, MultiPart.DELIM.getBytes(), MultiPart.CAP_PART,
+            settings.mode(), settings.pool()
         );
-        this.hdr = new MultipartHeaders(MultiPart.CAP_HEADER);
-        this.tmpacc = new BufAccumulator(MultiPart.CAP_HEADER);
+        this.hdr = new MultipartHeaders(MultiPart.CAP_HEADER, settings.pool());
+        this.chunks = new ArrayDeque<>();
         this.lock = new Object();
         this.exec = exec;
+        this.mark = mark;
     }
 
     @Override
@@ -144,6 +191,10 @@ final class MultiPart implements RqMultipart.Part, ByteBufferTokenizer.Receiver,
     @Override
     public void receive(final ByteBuffer next, final boolean end) {
         synchronized (this.lock) {
+            if (this.released && !this.head) {
+                // tokenizer flushes incomplete headers on release, they are dropped
+                return;
+            }
             if (this.head) {
                 this.nextChunk(next);
             } else {
@@ -171,25 +222,57 @@ final class MultiPart implements RqMultipart.Part, ByteBufferTokenizer.Receiver,
                 this.demand += amt;
             }
         }
-        this.exec.submit(this::deliver);
+        this.exec.execute(this::deliver);
     }
 
     @Override
     public void cancel() {
         synchronized (this.lock) {
             this.downstream = null;
+            this.cancelled = true;
+            while (!this.chunks.isEmpty()) {
+                this.mark.remove(this.chunks.poll().remaining());
+            }
+            this.release();
+        }
+        this.exec.execute(this::deliver);
+    }
+
+    /**
+     * Release pooled buffers of the part, e.g. when request body failed or part was
+     * cancelled. Complete headers are parsed to release their buffer, incomplete
+     * headers are dropped with headers tokenizer buffer.
+     */
+    void release() {
+        synchronized (this.lock) {
+            if (!this.released) {
+                this.released = true;
+                if (this.head) {
+                    this.hdr.iterator();
+                } else {
+                    if (!this.completed) {
+                        this.tokenizer.close();
+                    }
+                    this.hdr.drop();
+                }
+            }
         }
     }
 
     /**
      * Push next chunk of raw data.
+     * <p>
+     * Ownership of the chunk is transferred to the part, it must not be
+     * modified by the caller after this call. Parts parser pushes chunks
+     * owned by it: copies in copy mode and slices of request body in zero-copy mode.
+     * </p>
      * @param chunk Chunk buffer
      */
     void push(final ByteBuffer chunk) {
         synchronized (this.lock) {
             if (this.head) {
                 this.nextChunk(chunk);
-            } else {
+            } else if (!this.released) {
                 this.tokenizer.push(chunk);
                 // head flag could be changed to true after processing chunk
                 if (this.head) {
@@ -204,11 +287,11 @@ final class MultiPart implements RqMultipart.Part, ByteBufferTokenizer.Receiver,
      */
     void flush() {
         synchronized (this.lock) {
-            if (!this.head) {
+            if (!this.head && !this.released) {
                 this.tokenizer.close();
             }
             this.completed = true;
-            this.exec.submit(this::deliver);
+            this.exec.execute(this::deliver);
         }
     }
 
@@ -217,37 +300,45 @@ final class MultiPart implements RqMultipart.Part, ByteBufferTokenizer.Receiver,
      * @param next Next buffer
      */
     private void nextChunk(final ByteBuffer next) {
-        this.tmpacc.write(next);
+        if (next.hasRemaining() && !this.cancelled) {
+            this.mark.add(next.remaining());
+            this.chunks.add(next);
+        }
         if (this.downstream != null) {
-            this.exec.submit(this::deliver);
+            this.exec.execute(this::deliver);
         }
     }
 
     /**
      * Deliver accumulated data to downstream.
+     * <p>
+     * Delivered chunks are removed from high-water mark, it may resume upstream reading.
+     * Cancelled part is reported as completed after upstream part end.
+     * </p>
      */
     private void deliver() {
         synchronized (this.lock) {
             boolean delivered = false;
-            while (this.demand > 0) {
-                final ByteBuffer out = ByteBuffer.allocate(4096);
-                if (this.tmpacc.read(out) < 0) {
-                    break;
-                }
-                out.flip();
-                this.downstream.onNext(out);
+            while (this.downstream != null && this.demand > 0 && !this.chunks.isEmpty()) {
+                final ByteBuffer next = this.chunks.poll();
+                final int size = next.remaining();
+                this.downstream.onNext(next);
+                this.mark.remove(size);
                 delivered = true;
                 if (this.demand != Long.MAX_VALUE) {
                     --this.demand;
                 }
             }
-            if (this.completed && this.tmpacc.empty()) {
-                if (!delivered) {
-                    this.downstream.onNext(ByteBuffer.allocate(0));
+            if (this.completed && this.chunks.isEmpty() && !this.finished
+                && (this.downstream != null || this.cancelled)) {
+                if (this.downstream != null) {
+                    if (!delivered) {
+                        this.downstream.onNext(ByteBuffer.allocate(0));
+                    }
+                    this.downstream.onComplete();
+                    this.downstream = null;
                 }
-                this.tmpacc.close();
-                this.downstream.onComplete();
-                this.downstream = null;
+                this.finished = true;
                 this.completion.itemCompleted();
             }
         }
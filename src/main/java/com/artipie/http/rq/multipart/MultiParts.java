@@ -6,11 +6,15 @@ package com.artipie.http.rq.multipart;
 
 import com.artipie.ArtipieException;
 import com.artipie.http.misc.ByteBufferTokenizer;
-import com.artipie.http.misc.Pipeline;
+import com.artipie.http.misc.LockFreePipeline;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import net.jcip.annotations.GuardedBy;
 import org.reactivestreams.Processor;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -18,6 +22,23 @@ import org.reactivestreams.Subscription;
 
 /**
  * Multipart parts publisher.
+ * <p>
+ * All asynchronous tasks of the request (upstream subscription, parts publishing
+ * and parts body delivery) are executed by sequential executors on top of shared
+ * executor: tasks of each sequential executor are executed one by one in submission
+ * order, but they don't hold any thread of shared executor between tasks, so
+ * multipart requests don't create own threads.
+ * </p>
+ * <p>
+ * Request body chunks are requested from upstream one by one while body bytes queued
+ * by current part for its downstream are below the high-water mark, so slow part consumer
+ * slows down request body reading instead of buffering it in memory. Each part has
+ * own high-water mark: bytes queued by previous parts don't pause reading of next parts.
+ * </p>
+ * <p>
+ * Pooled buffers of current part are released if request body fails or parts
+ * subscription is cancelled before the part end.
+ * </p>
  *
  * @since 1.0
  * @checkstyle MethodBodyCommentsCheck (500 lines)
@@ -26,14 +47,22 @@ final class MultiParts implements Processor<ByteBuffer, RqMultipart.Part>,
     ByteBufferTokenizer.Receiver {
 
     /**
-     * Cached thread pool for parts processing.
+     * Default shared bounded thread pool for multipart requests processing.
      */
-    private static final ExecutorService CACHED_PEXEC = Executors.newCachedThreadPool();
+    static final Executor SHARED_EXEC = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors() * 2,
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("artipie-multipart-%d").build()
+    );
+
+    /**
+     * Default high-water mark of queued part body bytes.
+     */
+    static final long HIGH_WATER_MARK = 1024 * 1024;
 
     /**
      * Upstream downstream pipeline.
      */
-    private final Pipeline<RqMultipart.Part> pipeline;
+    private final LockFreePipeline<RqMultipart.Part> pipeline;
 
     /**
      * Parts tokenizer.
@@ -41,14 +70,14 @@ final class MultiParts implements Processor<ByteBuffer, RqMultipart.Part>,
     private final ByteBufferTokenizer tokenizer;
 
     /**
-     * Subscription executor service.
+     * Sequential executor for upstream subscription and parts publishing.
      */
-    private final ExecutorService exec;
+    private final Executor exec;
 
     /**
-     * Part executor service.
+     * Shared executor for parts processing.
      */
-    private final ExecutorService pexec;
+    private final Executor shared;
 
     /**
      * State synchronization.
@@ -60,6 +89,17 @@ final class MultiParts implements Processor<ByteBuffer, RqMultipart.Part>,
      */
     private volatile MultiPart current;
 
+    /**
+     * Parts buffers were released, next chunks are ignored.
+     */
+    @GuardedBy("lock")
+    private boolean released;
+
+    /**
+     * Request body subscription.
+     */
+    private volatile Subscription upstream;
+
     /**
      * State flags.
      */
@@ -70,29 +110,40 @@ final class MultiParts implements Processor<ByteBuffer, RqMultipart.Part>,
      */
     private final Completion<?> completion;
 
+    /**
+     * Parser settings for parts.
+     */
+    private final RqMultipart.Settings settings;
+
+    /**
+     * High-water mark of current part queued body bytes, null before the first part.
+     */
+    private volatile Watermark mark;
+
     /**
      * New multipart parts publisher for upstream publisher.
      * @param boundary Boundary token delimiter of parts
      */
     MultiParts(final String boundary) {
-        this(boundary, MultiParts.CACHED_PEXEC);
+        this(boundary, RqMultipart.Settings.DEFAULT);
     }
 
     /**
      * New multipart parts publisher for upstream publisher.
      * @param boundary Boundary token delimiter of parts
-     * @param pexec Parts processing executor
+     * @param settings Parser settings
      */
-    MultiParts(final String boundary, final ExecutorService pexec) {
-        this.tokenizer = new ByteBufferTokenizer(
-            this, boundary.getBytes(StandardCharsets.US_ASCII)
+    MultiParts(final String boundary, final RqMultipart.Settings settings) {
+        this.tokenizer = MultiParts.tokenizer(
+            this, boundary.getBytes(StandardCharsets.US_ASCII), settings.mode()
         );
-        this.exec = Executors.newSingleThreadExecutor();
-        this.pipeline = new Pipeline<>();
+        this.settings = settings;
+        this.exec = MoreExecutors.newSequentialExecutor(settings.executor());
+        this.pipeline = new LockFreePipeline<>();
         this.completion = new Completion<>(this.pipeline);
         this.state = new State();
         this.lock = new Object();
-        this.pexec = pexec;
+        this.shared = settings.executor();
     }
 
     /**
@@ -100,7 +151,7 @@ final class MultiParts implements Processor<ByteBuffer, RqMultipart.Part>,
      * @param pub Upstream publisher
      */
     public void subscribeAsync(final Publisher<ByteBuffer> pub) {
-        this.exec.submit(() -> pub.subscribe(this));
+        this.exec.execute(() -> pub.subscribe(this));
     }
 
     @Override
@@ -110,7 +161,8 @@ final class MultiParts implements Processor<ByteBuffer, RqMultipart.Part>,
 
     @Override
     public void onSubscribe(final Subscription sub) {
-        this.pipeline.onSubscribe(sub);
+        this.upstream = sub;
+        this.pipeline.onSubscribe(new FirstRequest(sub, this::release));
     }
 
     @Override
@@ -130,13 +182,16 @@ final class MultiParts implements Processor<ByteBuffer, RqMultipart.Part>,
             next = chunk;
         }
         this.tokenizer.push(next);
-        this.pipeline.request(1L);
+        final Watermark part = this.mark;
+        if (part == null || !part.tryPause()) {
+            this.upstream.request(1L);
+        }
     }
 
     @Override
     public void onError(final Throwable err) {
+        this.release();
         this.pipeline.onError(new ArtipieException("Upstream failed", err));
-        this.exec.shutdown();
     }
 
     @Override
@@ -148,15 +203,20 @@ final class MultiParts implements Processor<ByteBuffer, RqMultipart.Part>,
     public void receive(final ByteBuffer next, final boolean end) {
         synchronized (this.lock) {
             this.state.patch(next, end);
-            if (this.state.shouldIgnore()) {
+            if (this.state.shouldIgnore() || this.released) {
                 return;
             }
             if (this.state.started()) {
                 this.completion.itemStarted();
+                this.mark = new Watermark(
+                    this.settings.highWaterMark(),
+                    () -> this.exec.execute(() -> this.upstream.request(1L))
+                );
                 this.current = new MultiPart(
                     this.completion,
-                    part -> this.exec.submit(() -> this.pipeline.onNext(part)),
-                    this.pexec
+                    part -> this.exec.execute(() -> this.pipeline.onNext(part)),
+                    MoreExecutors.newSequentialExecutor(this.shared),
+                    this.settings, this.mark
                 );
             }
             this.current.push(next);
@@ -165,4 +225,87 @@ final class MultiParts implements Processor<ByteBuffer, RqMultipart.Part>,
             }
         }
     }
+
+    /**
+     * Release pooled buffers of current part.
+     */
+    private void release() {
+        synchronized (this.lock) {
+            this.released = true;
+            if (this.current != null) {
+                this.current.release();
+            }
+        }
+    }
+
+    /**
+     * Boundary tokenizer.
+     * @param receiver Tokens receiver
+     * @param delim Boundary delimiter
+     * @param mode Tokenizer mode
+     * @return Tokenizer
+     */
+    private static ByteBufferTokenizer tokenizer(final ByteBufferTokenizer.Receiver receiver,
+        final byte[] delim, final ByteBufferTokenizer.Mode mode) {
+        final ByteBufferTokenizer res;
+        if (mode == ByteBufferTokenizer.Mode.ZERO_COPY) {
+            // in zero-copy mode tokenizer keeps less than two delimiters length bytes
+            res = new ByteBufferTokenizer(receiver, delim, delim.length * 2, mode);
+        } else {
+            res = new ByteBufferTokenizer(receiver, delim);
+        }
+        return res;
+    }
+
+    /**
+     * Request body subscription for pipeline.
+     * <p>
+     * Parts downstream demand is not translated to request body demand: the first
+     * request of parts downstream starts reading, next body chunks are requested by parser
+     * one by one according to current part high-water mark. Parts are queued by pipeline
+     * until parts downstream requests them.
+     * </p>
+     * @since 1.2
+     */
+    private static final class FirstRequest implements Subscription {
+
+        /**
+         * Request body subscription.
+         */
+        private final Subscription origin;
+
+        /**
+         * Callback on cancel.
+         */
+        private final Runnable release;
+
+        /**
+         * Requested flag.
+         */
+        private final AtomicBoolean requested;
+
+        /**
+         * Wrap subscription.
+         * @param origin Request body subscription
+         * @param release Callback to release buffers on cancel
+         */
+        FirstRequest(final Subscription origin, final Runnable release) {
+            this.origin = origin;
+            this.release = release;
+            this.requested = new AtomicBoolean();
+        }
+
+        @Override
+        public void request(final long amt) {
+            if (this.requested.compareAndSet(false, true)) {
+                this.origin.request(1L);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            this.origin.cancel();
+            this.release.run();
+        }
+    }
 }
@@ -7,6 +7,7 @@ package com.artipie.http.rq.multipart;
 import com.artipie.http.Headers;
 import com.artipie.http.headers.Header;
 import com.artipie.http.misc.BufAccumulator;
+import com.artipie.http.misc.BufferPool;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
@@ -23,7 +24,8 @@ import java.util.stream.Collectors;
  * When complete, it returns this headers wrapper and
  * it lazy parses and construt headers collection.
  * After reading headers iterable, the temporary buffer
- * becomes invalid.
+ * becomes invalid. Headers of the part which was not received
+ * completely are dropped by {@link #drop()}.
  * @since 1.0
  */
 final class MultipartHeaders implements Headers {
@@ -48,8 +50,17 @@ final class MultipartHeaders implements Headers {
      * @param cap Initial capacity
      */
     MultipartHeaders(final int cap) {
+        this(cap, BufferPool.UNPOOLED);
+    }
+
+    /**
+     * New headers builder with initial capacity and buffer pool.
+     * @param cap Initial capacity
+     * @param pool Buffer pool for temporary buffer
+     */
+    MultipartHeaders(final int cap, final BufferPool pool) {
         this.lock = new Object();
-        this.accumulator = new BufAccumulator(cap);
+        this.accumulator = new BufAccumulator(cap, pool);
     }
 
     @Override
@@ -71,13 +82,25 @@ final class MultipartHeaders implements Headers {
                             }
                         ).collect(Collectors.toList())
                     );
+                    this.accumulator.close();
                 }
-                this.accumulator.close();
             }
         }
         return this.cache.iterator();
     }
 
+    /**
+     * Drop headers which were not read yet and release the temporary buffer.
+     */
+    void drop() {
+        synchronized (this.lock) {
+            if (this.cache == null) {
+                this.cache = Headers.EMPTY;
+                this.accumulator.close();
+            }
+        }
+    }
+
     /**
      * Push new chunk to builder.
      * @param chunk Part of headers bytes
@@ -8,13 +8,16 @@ package com.artipie.http.rq.multipart;
 import com.artipie.http.ArtipieHttpException;
 import com.artipie.http.Headers;
 import com.artipie.http.headers.ContentType;
+import com.artipie.http.misc.BufferPool;
+import com.artipie.http.misc.ByteBufferTokenizer;
 import com.artipie.http.rs.RsStatus;
-import io.reactivex.Completable;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
 import io.reactivex.Flowable;
 import io.reactivex.Single;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 import org.reactivestreams.Publisher;
 import wtf.g4s8.mime.MimeType;
@@ -33,6 +36,13 @@ import wtf.g4s8.mime.MimeType;
  * @implNote The implementation does not keep request part data in memory or storage,
  * it should process each chunk and send to proper downstream.
  * @implNote The body part will not be parsed until {@code parts()} method call.
+ * @implNote Part body buffers are copies of request body bytes by default. Zero-copy
+ *  parsing could be enabled with {@link Settings#withMode(ByteBufferTokenizer.Mode)}.
+ * @implNote Parser doesn't create threads per request, all tasks are executed
+ *  sequentially per request and per part on shared bounded executor.
+ * @implNote Request body is read with backpressure: parser stops reading when part
+ *  subscriber doesn't consume body chunks and bytes queued for the part reach
+ *  the high-water mark.
  * @since 1.0
  */
 public final class RqMultipart {
@@ -47,6 +57,11 @@ public final class RqMultipart {
      */
     private Publisher<ByteBuffer> upstream;
 
+    /**
+     * Parser settings.
+     */
+    private final Settings settings;
+
     /**
      * Multipart request from headers and body upstream.
      * @param headers Request headers
@@ -63,8 +78,21 @@ public final class RqMultipart {
      * @param body Upstream
      */
     public RqMultipart(final ContentType ctype, final Publisher<ByteBuffer> body) {
+        this(ctype, body, Settings.DEFAULT);
+    }
+
+    /**
+     * Multipart request from content type and body upstream with parser settings.
+     *
+     * @param ctype Content type
+     * @param body Upstream
+     * @param settings Parser settings
+     */
+    public RqMultipart(final ContentType ctype, final Publisher<ByteBuffer> body,
+        final Settings settings) {
         this.ctype = ctype;
         this.upstream = body;
+        this.settings = settings;
     }
 
     /**
@@ -73,7 +101,7 @@ public final class RqMultipart {
      * @return Publisher of parts
      */
     public Publisher<Part> parts() {
-        final MultiParts pub = new MultiParts(this.boundary());
+        final MultiParts pub = new MultiParts(this.boundary(), this.settings);
         pub.subscribeAsync(this.upstream);
         return pub;
     }
@@ -99,7 +127,7 @@ public final class RqMultipart {
         return Flowable.fromPublisher(this.parts()).flatMapSingle(
             part -> {
                 final InternalSink sink = new InternalSink();
-                return Completable.fromFuture(inspector.inspect(part, sink).toCompletableFuture())
+                return CompletableInterop.fromFuture(inspector.inspect(part, sink))
                     .andThen(sink.filter());
             }
         ).filter(part -> part != Part.EMPTY);
@@ -141,6 +169,154 @@ public final class RqMultipart {
         return String.format("\r\n--%s", header);
     }
 
+    /**
+     * Multipart parser settings.
+     * <p>
+     * Settings are immutable, {@code with} methods create new settings with
+     * replaced value, e.g.
+     * {@code Settings.DEFAULT.withPool(pool).withHighWaterMark(hwm)}.
+     * </p>
+     * @since 1.2
+     */
+    public static final class Settings {
+
+        /**
+         * Default settings: shared bounded executor, not pooled buffers,
+         * 1 MiB high-water mark and copying of part body bytes.
+         */
+        public static final Settings DEFAULT = new Settings(
+            MultiParts.SHARED_EXEC, BufferPool.UNPOOLED, MultiParts.HIGH_WATER_MARK,
+            ByteBufferTokenizer.Mode.COPY
+        );
+
+        /**
+         * Shared executor for parser tasks.
+         */
+        private final Executor exec;
+
+        /**
+         * Buffer pool for parser temporary buffers.
+         */
+        private final BufferPool pool;
+
+        /**
+         * High-water mark of part body bytes queued for part downstream.
+         */
+        private final long hwm;
+
+        /**
+         * Tokenizer mode of request body.
+         */
+        private final ByteBufferTokenizer.Mode mode;
+
+        /**
+         * Ctor.
+         * @param exec Shared executor
+         * @param pool Buffer pool
+         * @param hwm High-water mark of queued part body bytes
+         * @param mode Tokenizer mode
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        private Settings(final Executor exec, final BufferPool pool, final long hwm,
+            final ByteBufferTokenizer.Mode mode) {
+            this.exec = exec;
+            this.pool = pool;
+            this.hwm = hwm;
+            this.mode = mode;
+        }
+
+        /**
+         * Settings with shared executor.
+         * <p>
+         * The executor is shared by all requests: parser submits its tasks to it
+         * via sequential executors, so the executor could be a bounded thread pool,
+         * it's not blocked by parser between tasks.
+         * </p>
+         * @param shared Shared executor
+         * @return New settings
+         */
+        public Settings withExecutor(final Executor shared) {
+            return new Settings(shared, this.pool, this.hwm, this.mode);
+        }
+
+        /**
+         * Settings with buffer pool.
+         * <p>
+         * The pool is used for temporary buffers of parts headers parsing, see
+         * {@link com.artipie.http.misc.SizeClassBufferPool} for pooled implementation.
+         * </p>
+         * @param buffers Buffer pool
+         * @return New settings
+         */
+        public Settings withPool(final BufferPool buffers) {
+            return new Settings(this.exec, buffers, this.hwm, this.mode);
+        }
+
+        /**
+         * Settings with high-water mark.
+         * <p>
+         * Parser reads request body only while the amount of part body bytes received
+         * but not yet consumed by part subscriber is below the high-water mark,
+         * so memory usage of the parser doesn't depend on request body size.
+         * The mark is applied to each part separately: bytes of previous parts which
+         * were not consumed yet don't pause reading of the current part.
+         * </p>
+         * @param mark High-water mark of queued part body bytes
+         * @return New settings
+         */
+        public Settings withHighWaterMark(final long mark) {
+            return new Settings(this.exec, this.pool, mark, this.mode);
+        }
+
+        /**
+         * Settings with tokenizer mode.
+         * <p>
+         * In {@link ByteBufferTokenizer.Mode#COPY} mode part body buffers are copies
+         * of request body bytes, they don't share memory with request body buffers.
+         * In {@link ByteBufferTokenizer.Mode#ZERO_COPY} mode part body buffers are
+         * slices of request body buffers, so request body publisher must not reuse
+         * published buffers.
+         * </p>
+         * @param tokens Tokenizer mode
+         * @return New settings
+         */
+        public Settings withMode(final ByteBufferTokenizer.Mode tokens) {
+            return new Settings(this.exec, this.pool, this.hwm, tokens);
+        }
+
+        /**
+         * Shared executor.
+         * @return Executor
+         */
+        Executor executor() {
+            return this.exec;
+        }
+
+        /**
+         * Buffer pool.
+         * @return Pool
+         */
+        BufferPool pool() {
+            return this.pool;
+        }
+
+        /**
+         * High-water mark.
+         * @return Queued part body bytes limit
+         */
+        long highWaterMark() {
+            return this.hwm;
+        }
+
+        /**
+         * Tokenizer mode.
+         * @return Mode
+         */
+        ByteBufferTokenizer.Mode mode() {
+            return this.mode;
+        }
+    }
+
     /**
      * Part of multipart.
      *
@@ -5,12 +5,6 @@
 package com.artipie.http.rq.multipart;
 
 import java.nio.ByteBuffer;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.function.BiFunction;
-import java.util.function.IntPredicate;
-import java.util.function.IntUnaryOperator;
 
 /**
  * Multipart processor state.
@@ -29,6 +23,11 @@ import java.util.function.IntUnaryOperator;
  * </ol>
  * This class defines all state and its transition and provide method to patch and check the state.
  * </p>
+ * <p>
+ * Transitions are precomputed on class loading into the table indexed by current flags,
+ * end of part flag and epilogue marker (chunk starts with double dash), so patching
+ * the state with next chunk is a single table lookup without allocations.
+ * </p>
  * @since 1.0
  * @checkstyle MagicNumberCheck (50 lines)
  */
@@ -65,47 +64,9 @@ final class State {
     private static final int EPILOGUE = 1 << 5;
 
     /**
-     * Patch factories for multipart chunks.
+     * Transition table, see {@link #index(int, boolean, boolean)} for index.
      */
-    private static final Collection<BiFunction<ByteBuffer, Boolean, Patch>> PATCHERS =
-        Collections.unmodifiableList(
-            Arrays.asList(
-                (buf, end) -> Patch.equal(State.INIT).addFlags(State.PREAMBLE),
-                (buf, end) -> Patch.hasFlag(State.INIT).removeFlags(State.INIT),
-                (buf, end) -> Patch.hasFlag(State.START).removeFlags(State.START),
-                (buf, end) -> Patch.equal(State.INIT).addFlags(State.START),
-                (buf, end) -> Patch.hasFlag(State.END).addFlags(State.START),
-                (buf, end) -> Patch.hasFlag(State.PREAMBLE | State.END).removeFlags(State.PREAMBLE),
-                (buf, end) -> new Patch(
-                    state -> (state & (State.END | State.EPILOGUE)) == State.END,
-                    state -> {
-                        final ByteBuffer dup = buf.duplicate();
-                        // epilogue starts with double minus `--` seq after end of previous part
-                        int patch = state;
-                        if (dup.remaining() >= 2 && dup.get() == '-' && dup.get() == '-') {
-                            patch |= State.EPILOGUE;
-                        }
-                        return patch;
-                    }
-                ),
-                (buf, end) -> new Patch(
-                    state -> ((state & State.END) == State.END) != end,
-                    state -> {
-                        final int patch;
-                        if (end) {
-                            patch = state | State.END;
-                        } else {
-                            patch = state & ~State.END;
-                        }
-                        return patch;
-                    }
-                ),
-                (buf, end) -> new Patch(state -> (state & (State.PREAMBLE | State.EPILOGUE)) == 0)
-                    .addFlags(State.PART),
-                (buf, end) -> new Patch(state -> (state & (State.PREAMBLE | State.EPILOGUE)) != 0)
-                    .removeFlags(State.PART)
-            )
-        );
+    private static final byte[] TABLE = State.table();
 
     /**
      * Current state flags.
@@ -149,13 +110,7 @@ final class State {
      * @param end End of part
      */
     void patch(final ByteBuffer buf, final boolean end) {
-        for (final BiFunction<ByteBuffer, Boolean, Patch> patcher : State.PATCHERS) {
-            final ByteBuffer copy = buf.duplicate();
-            final Patch patch = patcher.apply(copy, end);
-            if (patch.test(this.flags)) {
-                this.flags = patch.applyAsInt(this.flags);
-            }
-        }
+        this.flags = State.TABLE[State.index(this.flags, end, State.epilogue(buf))];
     }
 
     /**
@@ -201,97 +156,85 @@ final class State {
     }
 
     /**
-     * Patch for state, it matches state to apply and update state with new flags.
-     * @since 1.0
+     * Check if chunk starts with epilogue marker: double minus {@code --} seq
+     * after end of previous part.
+     * @param buf Chunk
+     * @return True if starts with marker
      */
-    private static final class Patch implements IntPredicate, IntUnaryOperator {
-
-        /**
-         * Empty patch which match any state.
-         */
-        static final Patch ANY = new Patch(state -> true);
-
-        /**
-         * Predicate to match current state.
-         */
-        private final IntPredicate predicate;
-
-        /**
-         * Operator to update current state.
-         */
-        private final IntUnaryOperator operator;
-
-        /**
-         * New patch with predicate and operator.
-         * @param predicate To match current state
-         */
-        Patch(final IntPredicate predicate) {
-            this(predicate, state -> state);
-        }
-
-        /**
-         * New patch with predicate and operator.
-         * @param predicate To match current state
-         * @param operator To update current state
-         */
-        Patch(final IntPredicate predicate, final IntUnaryOperator operator) {
-            this.operator = operator;
-            this.predicate = predicate;
-        }
-
-        @Override
-        public boolean test(final int state) {
-            return this.predicate.test(state);
-        }
-
-        @Override
-        public int applyAsInt(final int state) {
-            return this.operator.applyAsInt(state);
-        }
-
-        /**
-         * Create new patch copy, that apply flags to state.
-         * @param flags To apply
-         * @return State copy with new operator
-         */
-        Patch addFlags(final int flags) {
-            return new Patch(this.predicate, this.operator.andThen(state -> state | flags));
-        }
+    private static boolean epilogue(final ByteBuffer buf) {
+        final int pos = buf.position();
+        return buf.limit() - pos >= 2 && buf.get(pos) == '-' && buf.get(pos + 1) == '-';
+    }
 
-        /**
-         * Create new patch copy, that removes flags from state.
-         * @param flags To apply
-         * @return State copy with new operator
-         */
-        Patch removeFlags(final int flags) {
-            return new Patch(this.predicate, this.operator.andThen(state -> state & ~flags));
+    /**
+     * Transition table index.
+     * @param flags Current flags
+     * @param end End of part
+     * @param epilogue Epilogue marker
+     * @return Index
+     */
+    private static int index(final int flags, final boolean end, final boolean epilogue) {
+        int idx = flags << 2;
+        if (end) {
+            idx |= 2;
         }
-
-        /**
-         * Creates new patch matches states equal to provided state.
-         * @param val Value to test against current state
-         * @return New patch instance
-         */
-        static Patch equal(final int val) {
-            return new Patch(test -> test == val, state -> state);
+        if (epilogue) {
+            idx |= 1;
         }
+        return idx;
+    }
 
-        /**
-         * Creates new patch matches state by having flags.
-         * @param flag Flag that state should have to match
-         * @return New patch instance
-         */
-        static Patch hasFlag(final int flag) {
-            return new Patch(test -> (test & flag) == flag, state -> state);
+    /**
+     * Build transition table for all flags combinations.
+     * @return Table
+     */
+    private static byte[] table() {
+        final int size = State.EPILOGUE << 1;
+        final byte[] table = new byte[size << 2];
+        for (int flags = 0; flags < size; ++flags) {
+            table[State.index(flags, false, false)] = (byte) State.transit(flags, false, false);
+            table[State.index(flags, false, true)] = (byte) State.transit(flags, false, true);
+            table[State.index(flags, true, false)] = (byte) State.transit(flags, true, false);
+            table[State.index(flags, true, true)] = (byte) State.transit(flags, true, true);
         }
+        return table;
+    }
 
-        /**
-         * Creates new patch matches state by having no flags.
-         * @param flag Flag that state should not have to match
-         * @return New patch instance
-         */
-        static Patch hasNoFlag(final int flag) {
-            return new Patch(test -> (test & flag) == 0, state -> state);
-        }
+    /**
+     * State transition, each step is applied to the result of previous steps.
+     * @param flags Current flags
+     * @param end End of part
+     * @param epilogue Chunk starts with epilogue marker
+     * @return Next flags
+     * @checkstyle CyclomaticComplexityCheck (50 lines)
+     * @checkstyle NPathComplexityCheck (50 lines)
+     */
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    private static int transit(final int flags, final boolean end, final boolean epilogue) {
+        int state = flags;
+        if (state == State.INIT) {
+            state |= State.PREAMBLE;
+        }
+        state &= ~(State.INIT | State.START);
+        if ((state & State.END) == State.END) {
+            state |= State.START;
+        }
+        if ((state & (State.PREAMBLE | State.END)) == (State.PREAMBLE | State.END)) {
+            state &= ~State.PREAMBLE;
+        }
+        if (epilogue && (state & (State.END | State.EPILOGUE)) == State.END) {
+            state |= State.EPILOGUE;
+        }
+        if (end) {
+            state |= State.END;
+        } else {
+            state &= ~State.END;
+        }
+        if ((state & (State.PREAMBLE | State.EPILOGUE)) == 0) {
+            state |= State.PART;
+        } else {
+            state &= ~State.PART;
+        }
+        return state;
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.rq.multipart;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * High-water mark of multipart body bytes buffered by a part.
+ * <p>
+ * Part adds the size of body chunks queued for part downstream and removes it when
+ * chunks are delivered. Upstream reading is paused when the amount of queued bytes
+ * reaches the mark, and resumed by resume callback when part downstream consumes
+ * queued bytes.
+ * </p>
+ * @since 1.2
+ */
+final class Watermark {
+
+    /**
+     * High-water mark in bytes.
+     */
+    private final long high;
+
+    /**
+     * Resume callback.
+     */
+    private final Runnable resume;
+
+    /**
+     * Bytes buffered.
+     */
+    private final AtomicLong size;
+
+    /**
+     * Paused flag.
+     */
+    private final AtomicBoolean paused;
+
+    /**
+     * New high-water mark.
+     * @param high High-water mark in bytes
+     * @param resume Callback to resume upstream reading after pause
+     */
+    Watermark(final long high, final Runnable resume) {
+        if (high <= 0) {
+            throw new IllegalArgumentException("High-water mark should be positive");
+        }
+        this.high = high;
+        this.resume = resume;
+        this.size = new AtomicLong();
+        this.paused = new AtomicBoolean();
+    }
+
+    /**
+     * Bytes were queued.
+     * @param bytes Amount of bytes
+     */
+    void add(final long bytes) {
+        this.size.addAndGet(bytes);
+    }
+
+    /**
+     * Bytes were delivered or dropped.
+     * @param bytes Amount of bytes
+     */
+    void remove(final long bytes) {
+        if (this.size.addAndGet(-bytes) < this.high && this.paused.compareAndSet(true, false)) {
+            this.resume.run();
+        }
+    }
+
+    /**
+     * Try to pause upstream reading.
+     * <p>
+     * If this method returns true, resume callback will be called later when queued
+     * bytes go below the mark, otherwise the caller should continue reading.
+     * </p>
+     * @return True if paused
+     */
+    boolean tryPause() {
+        boolean res = false;
+        if (this.size.get() >= this.high) {
+            this.paused.set(true);
+            // parts could consume all bytes before paused flag was set
+            res = this.size.get() >= this.high || !this.paused.compareAndSet(true, false);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,606 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.rt;
+
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqMethod;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import org.reactivestreams.Publisher;
+
+/**
+ * Compiled routes index.
+ * <p>
+ * Routes of {@link RtRulePath} with rules built from {@link RtRule.ByPath} with
+ * literal, literal prefix ({@code literal.*}) or literal suffix ({@code .*literal})
+ * patterns, {@link ByMethodsRule} and {@link RtRule.All} of them are compiled into
+ * radix tries per request method. Other routes are not compiled and matched linearly,
+ * but only if they precede the first matched compiled route, so the first matched
+ * route of the list handles the request, as in {@link SliceRoute}.
+ * </p>
+ * @since 1.2
+ */
+final class RtIndex {
+
+    /**
+     * No route index.
+     */
+    private static final int NONE = Integer.MAX_VALUE;
+
+    /**
+     * Pattern meta chars.
+     */
+    private static final String META = ".[]{}()*+?^$|\\";
+
+    /**
+     * All routes.
+     */
+    private final List<RtPath> routes;
+
+    /**
+     * Slices of compiled routes by route index, null for not compiled routes.
+     */
+    private final Slice[] slices;
+
+    /**
+     * Indexes of not compiled routes in ascending order.
+     */
+    private final int[] linear;
+
+    /**
+     * Tries by method.
+     */
+    private final Map<RqMethod, Trie> tries;
+
+    /**
+     * Compile routes.
+     * @param routes Routes
+     */
+    RtIndex(final List<RtPath> routes) {
+        this.routes = routes;
+        this.slices = new Slice[routes.size()];
+        this.tries = new EnumMap<>(RqMethod.class);
+        for (final RqMethod method : RqMethod.values()) {
+            this.tries.put(method, new Trie());
+        }
+        for (int idx = 0; idx < routes.size(); ++idx) {
+            final RtPath route = routes.get(idx);
+            if (route instanceof RtRulePath) {
+                final Optional<Spec> spec = RtIndex.spec(((RtRulePath) route).rule());
+                if (spec.isPresent()) {
+                    this.slices[idx] = ((RtRulePath) route).slice();
+                    for (final RqMethod method : spec.get().methods) {
+                        this.tries.get(method).add(spec.get(), idx);
+                    }
+                }
+            }
+        }
+        this.linear = IntStream.range(0, routes.size())
+            .filter(idx -> this.slices[idx] == null).toArray();
+    }
+
+    /**
+     * Find first matched route and respond.
+     * @param line Request line
+     * @param headers Request headers
+     * @param body Request body
+     * @return Response if some route matched
+     */
+    Optional<Response> response(final String line,
+        final Iterable<Map.Entry<String, String>> headers, final Publisher<ByteBuffer> body) {
+        final int found = this.lookup(line);
+        Optional<Response> res = Optional.empty();
+        if (found < 0) {
+            for (final RtPath route : this.routes) {
+                res = route.response(line, headers, body);
+                if (res.isPresent()) {
+                    break;
+                }
+            }
+        } else {
+            for (final int idx : this.linear) {
+                if (idx > found) {
+                    break;
+                }
+                res = this.routes.get(idx).response(line, headers, body);
+                if (res.isPresent()) {
+                    break;
+                }
+            }
+            if (!res.isPresent() && found != RtIndex.NONE) {
+                res = Optional.of(this.slices[found].response(line, headers, body));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Find first matched compiled route.
+     * @param line Request line
+     * @return Route index, {@code -1} if request line can't be matched by
+     *  compiled routes and all routes should be matched linearly,
+     *  {@link #NONE} if no compiled route matched
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private int lookup(final String line) {
+        int res;
+        try {
+            final RequestLineFrom rql = new RequestLineFrom(line);
+            final String path = rql.uri().getPath();
+            if (path == null || RtIndex.multiline(path)) {
+                res = -1;
+            } else {
+                res = this.tries.get(rql.method()).lookup(path);
+            }
+        } catch (final IllegalArgumentException | IllegalStateException err) {
+            // invalid request line, routes will report it the same way
+            res = -1;
+        }
+        return res;
+    }
+
+    /**
+     * Check if path contains line terminators which are not matched by {@code .}
+     * pattern.
+     * @param path Path
+     * @return True if contains
+     */
+    private static boolean multiline(final String path) {
+        boolean res = false;
+        for (int pos = 0; pos < path.length(); ++pos) {
+            final char chr = path.charAt(pos);
+            if (chr == '\n' || chr == '\r' || chr == '\u0085' || chr == '\u2028'
+                || chr == '\u2029') {
+                res = true;
+                break;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Compile rule specification.
+     * @param rule Rule
+     * @return Specification if rule can be compiled
+     * @checkstyle CyclomaticComplexityCheck (50 lines)
+     */
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    private static Optional<Spec> spec(final RtRule rule) {
+        final Optional<Spec> res;
+        if (rule == RtRule.FALLBACK) {
+            res = Optional.of(new Spec(EnumSet.allOf(RqMethod.class), Spec.ANY, ""));
+        } else if (rule instanceof ByMethodsRule) {
+            final Set<RqMethod> methods = ((ByMethodsRule) rule).methods();
+            final EnumSet<RqMethod> set = EnumSet.noneOf(RqMethod.class);
+            set.addAll(methods);
+            res = Optional.of(new Spec(set, Spec.ANY, ""));
+        } else if (rule instanceof ByMethodsRule.Standard) {
+            res = RtIndex.spec(((ByMethodsRule.Standard) rule).origin());
+        } else if (rule instanceof RtRule.Wrap) {
+            res = RtIndex.spec(((RtRule.Wrap) rule).origin());
+        } else if (rule instanceof RtRule.ByPath) {
+            res = RtIndex.path(((RtRule.ByPath) rule).pattern());
+        } else if (rule.getClass() == RtRule.All.class || rule.getClass() == RtRule.Multiple.class) {
+            Optional<Spec> acc = RtIndex.spec(RtRule.FALLBACK);
+            for (final RtRule sub : ((RtRule.All) rule).rules()) {
+                final Optional<Spec> next = RtIndex.spec(sub);
+                if (acc.isPresent() && next.isPresent()) {
+                    acc = acc.get().and(next.get());
+                } else {
+                    acc = Optional.empty();
+                }
+            }
+            res = acc;
+        } else {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Compile path pattern: literal, literal prefix or literal suffix.
+     * @param ptn Pattern
+     * @return Specification if pattern can be compiled
+     */
+    private static Optional<Spec> path(final Pattern ptn) {
+        final String src = ptn.pattern();
+        final boolean head = src.startsWith(".*");
+        int start = 0;
+        if (head) {
+            start = 2;
+        }
+        int end = src.length();
+        final boolean tail = end - 2 >= start && src.endsWith(".*")
+            && !RtIndex.escaped(src, end - 2);
+        if (tail) {
+            end -= 2;
+        }
+        final Optional<String> lit;
+        if (ptn.flags() != 0) {
+            lit = Optional.empty();
+        } else {
+            lit = RtIndex.literal(src, start, end);
+        }
+        final Optional<Spec> res;
+        if (!lit.isPresent() || head && tail && !lit.get().isEmpty()) {
+            res = Optional.empty();
+        } else {
+            final int kind;
+            if ((head || tail) && lit.get().isEmpty()) {
+                kind = Spec.ANY;
+            } else if (head) {
+                kind = Spec.SUFFIX;
+            } else if (tail) {
+                kind = Spec.PREFIX;
+            } else {
+                kind = Spec.EXACT;
+            }
+            res = Optional.of(new Spec(EnumSet.allOf(RqMethod.class), kind, lit.get()));
+        }
+        return res;
+    }
+
+    /**
+     * Check if char at position is escaped by odd number of backslashes.
+     * @param src Source string
+     * @param pos Char position
+     * @return True if escaped
+     */
+    private static boolean escaped(final String src, final int pos) {
+        int count = 0;
+        for (int idx = pos - 1; idx >= 0 && src.charAt(idx) == '\\'; --idx) {
+            ++count;
+        }
+        return count % 2 == 1;
+    }
+
+    /**
+     * Unescape literal part of pattern.
+     * @param src Pattern source
+     * @param start Start position
+     * @param end End position
+     * @return Literal if pattern part is a literal
+     */
+    private static Optional<String> literal(final String src, final int start, final int end) {
+        final StringBuilder res = new StringBuilder(end - start);
+        boolean valid = true;
+        for (int pos = start; pos < end && valid; ++pos) {
+            final char chr = src.charAt(pos);
+            if (chr == '\\') {
+                ++pos;
+                valid = pos < end && !Character.isLetterOrDigit(src.charAt(pos));
+                if (valid) {
+                    res.append(src.charAt(pos));
+                }
+            } else if (RtIndex.META.indexOf(chr) >= 0) {
+                valid = false;
+            } else {
+                res.append(chr);
+            }
+        }
+        final Optional<String> lit;
+        if (valid) {
+            lit = Optional.of(res.toString());
+        } else {
+            lit = Optional.empty();
+        }
+        return lit;
+    }
+
+    /**
+     * Compiled route specification.
+     * @since 1.2
+     */
+    private static final class Spec {
+
+        /**
+         * Any path.
+         */
+        static final int ANY = 0;
+
+        /**
+         * Exact path.
+         */
+        static final int EXACT = 1;
+
+        /**
+         * Path prefix.
+         */
+        static final int PREFIX = 2;
+
+        /**
+         * Path suffix.
+         */
+        static final int SUFFIX = 3;
+
+        /**
+         * Methods.
+         */
+        private final EnumSet<RqMethod> methods;
+
+        /**
+         * Path kind.
+         */
+        private final int kind;
+
+        /**
+         * Path literal.
+         */
+        private final String lit;
+
+        /**
+         * New specification.
+         * @param methods Methods
+         * @param kind Path kind
+         * @param lit Path literal
+         */
+        Spec(final EnumSet<RqMethod> methods, final int kind, final String lit) {
+            this.methods = methods;
+            this.kind = kind;
+            this.lit = lit;
+        }
+
+        /**
+         * Specification of both rules.
+         * @param other Other specification
+         * @return Specification if it can be compiled
+         */
+        Optional<Spec> and(final Spec other) {
+            final EnumSet<RqMethod> both = EnumSet.copyOf(this.methods);
+            both.retainAll(other.methods);
+            final Optional<Spec> res;
+            if (this.kind == Spec.ANY) {
+                res = Optional.of(new Spec(both, other.kind, other.lit));
+            } else if (other.kind == Spec.ANY) {
+                res = Optional.of(new Spec(both, this.kind, this.lit));
+            } else {
+                res = Optional.empty();
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Routes trie of one method.
+     * @since 1.2
+     */
+    private static final class Trie {
+
+        /**
+         * First route with any path.
+         */
+        private int any;
+
+        /**
+         * Prefixes and exact paths trie.
+         */
+        private final Node prefixes;
+
+        /**
+         * Reversed suffixes trie.
+         */
+        private final Node suffixes;
+
+        /**
+         * New empty trie.
+         */
+        Trie() {
+            this.any = RtIndex.NONE;
+            this.prefixes = new Node();
+            this.suffixes = new Node();
+        }
+
+        /**
+         * Add route.
+         * @param spec Route specification
+         * @param route Route index
+         */
+        void add(final Spec spec, final int route) {
+            if (spec.kind == Spec.ANY) {
+                this.any = Math.min(this.any, route);
+            } else if (spec.kind == Spec.SUFFIX) {
+                this.suffixes.insert(
+                    new StringBuilder(spec.lit).reverse().toString(), 0, false, route
+                );
+            } else {
+                this.prefixes.insert(spec.lit, 0, spec.kind == Spec.EXACT, route);
+            }
+        }
+
+        /**
+         * First matched route.
+         * @param path Request path
+         * @return Route index or {@link RtIndex#NONE}
+         */
+        int lookup(final String path) {
+            return Math.min(
+                this.any,
+                Math.min(this.prefixes.walk(path, false), this.suffixes.walk(path, true))
+            );
+        }
+    }
+
+    /**
+     * Radix trie node.
+     * @since 1.2
+     */
+    private static final class Node {
+
+        /**
+         * First route with prefix ending at this node.
+         */
+        private int prefix;
+
+        /**
+         * First route with exact path ending at this node.
+         */
+        private int exact;
+
+        /**
+         * First chars of edges labels, sorted.
+         */
+        private char[] firsts;
+
+        /**
+         * Edges labels.
+         */
+        private String[] labels;
+
+        /**
+         * Children nodes.
+         */
+        private Node[] kids;
+
+        /**
+         * New empty node.
+         */
+        Node() {
+            this.prefix = RtIndex.NONE;
+            this.exact = RtIndex.NONE;
+            this.firsts = new char[0];
+            this.labels = new String[0];
+            this.kids = new Node[0];
+        }
+
+        /**
+         * Insert key.
+         * @param key Key
+         * @param from Position in key
+         * @param full Exact key or prefix
+         * @param route Route index
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        void insert(final String key, final int from, final boolean full, final int route) {
+            if (from == key.length()) {
+                if (full) {
+                    this.exact = Math.min(this.exact, route);
+                } else {
+                    this.prefix = Math.min(this.prefix, route);
+                }
+            } else {
+                final int idx = Arrays.binarySearch(this.firsts, key.charAt(from));
+                if (idx < 0) {
+                    final Node leaf = new Node();
+                    this.edge(-idx - 1, key.substring(from), leaf);
+                    leaf.insert(key, key.length(), full, route);
+                } else {
+                    final String label = this.labels[idx];
+                    int common = 0;
+                    while (common < label.length() && from + common < key.length()
+                        && label.charAt(common) == key.charAt(from + common)) {
+                        ++common;
+                    }
+                    if (common < label.length()) {
+                        final Node mid = new Node();
+                        mid.edge(0, label.substring(common), this.kids[idx]);
+                        this.labels[idx] = label.substring(0, common);
+                        this.kids[idx] = mid;
+                    }
+                    this.kids[idx].insert(key, from + common, full, route);
+                }
+            }
+        }
+
+        /**
+         * Walk the path and find first route with matched prefix or exact path.
+         * @param path Path
+         * @param reverse Walk from the end of path
+         * @return Route index or {@link RtIndex#NONE}
+         */
+        int walk(final String path, final boolean reverse) {
+            final int len = path.length();
+            int best = this.prefix;
+            Node node = this;
+            int pos = 0;
+            boolean next = true;
+            while (next) {
+                if (pos == len) {
+                    best = Math.min(best, node.exact);
+                    next = false;
+                } else {
+                    final int idx = Arrays.binarySearch(node.firsts, Node.at(path, pos, reverse));
+                    if (idx < 0 || !Node.matches(path, pos, node.labels[idx], reverse)) {
+                        next = false;
+                    } else {
+                        pos += node.labels[idx].length();
+                        node = node.kids[idx];
+                        best = Math.min(best, node.prefix);
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Insert edge.
+         * @param idx Edge position
+         * @param label Edge label
+         * @param kid Child node
+         */
+        private void edge(final int idx, final String label, final Node kid) {
+            final int size = this.firsts.length;
+            final char[] chars = new char[size + 1];
+            final String[] strs = new String[size + 1];
+            final Node[] nodes = new Node[size + 1];
+            System.arraycopy(this.firsts, 0, chars, 0, idx);
+            System.arraycopy(this.labels, 0, strs, 0, idx);
+            System.arraycopy(this.kids, 0, nodes, 0, idx);
+            chars[idx] = label.charAt(0);
+            strs[idx] = label;
+            nodes[idx] = kid;
+            System.arraycopy(this.firsts, idx, chars, idx + 1, size - idx);
+            System.arraycopy(this.labels, idx, strs, idx + 1, size - idx);
+            System.arraycopy(this.kids, idx, nodes, idx + 1, size - idx);
+            this.firsts = chars;
+            this.labels = strs;
+            this.kids = nodes;
+        }
+
+        /**
+         * Char of the path at walk position.
+         * @param path Path
+         * @param pos Walk position
+         * @param reverse Walk from the end
+         * @return Char
+         */
+        private static char at(final String path, final int pos, final boolean reverse) {
+            final char res;
+            if (reverse) {
+                res = path.charAt(path.length() - 1 - pos);
+            } else {
+                res = path.charAt(pos);
+            }
+            return res;
+        }
+
+        /**
+         * Check if path at walk position matches the label.
+         * @param path Path
+         * @param pos Walk position
+         * @param label Label
+         * @param reverse Walk from the end
+         * @return True if matches
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        private static boolean matches(final String path, final int pos, final String label,
+            final boolean reverse) {
+            boolean res = pos + label.length() <= path.length();
+            for (int idx = 0; idx < label.length() && res; ++idx) {
+                res = Node.at(path, pos + idx, reverse) == label.charAt(idx);
+            }
+            return res;
+        }
+    }
+}
@@ -100,6 +100,14 @@ public interface RtRule {
             }
             return match;
         }
+
+        /**
+         * Rules for routes compilation.
+         * @return Rules
+         */
+        final Iterable<RtRule> rules() {
+            return this.rules;
+        }
     }
 
     /**
@@ -194,6 +202,14 @@ public interface RtRule {
                 new RequestLineFrom(line).uri().getPath()
             ).matches();
         }
+
+        /**
+         * Path pattern for routes compilation.
+         * @return Pattern
+         */
+        Pattern pattern() {
+            return this.ptn;
+        }
     }
 
     /**
@@ -220,6 +236,14 @@ public interface RtRule {
             final Iterable<Map.Entry<String, String>> headers) {
             return this.origin.apply(line, headers);
         }
+
+        /**
+         * Origin rule for routes compilation.
+         * @return Rule
+         */
+        final RtRule origin() {
+            return this.origin;
+        }
     }
 
     /**
@@ -56,4 +56,20 @@ public final class RtRulePath implements RtPath {
         }
         return res;
     }
+
+    /**
+     * Routing rule for routes compilation.
+     * @return Rule
+     */
+    RtRule rule() {
+        return this.rule;
+    }
+
+    /**
+     * Slice under route for routes compilation.
+     * @return Slice
+     */
+    Slice slice() {
+        return this.slice;
+    }
 }
@@ -70,12 +70,61 @@ public final class SliceRoute implements Slice {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .findFirst()
-            .orElse(
-                new RsWithBody(
-                    new RsWithStatus(RsStatus.NOT_FOUND),
-                    "not found", StandardCharsets.UTF_8
-                )
-            );
+            .orElseGet(SliceRoute::notFound);
+    }
+
+    /**
+     * Not found response.
+     * @return Response
+     */
+    private static Response notFound() {
+        return new RsWithBody(
+            new RsWithStatus(RsStatus.NOT_FOUND),
+            "not found", StandardCharsets.UTF_8
+        );
+    }
+
+    /**
+     * Compiled slice route.
+     * <p>
+     * Routes the same way as {@link SliceRoute}: the request is handled by
+     * the first matched route, but routes with method and literal path rules
+     * are compiled into tries and matched by one lookup instead of trying
+     * all routes one by one. Path patterns are compiled if they are literals,
+     * literal prefixes {@code /path/.*} or literal suffixes {@code .*\.json},
+     * other routes are matched as is.
+     * </p>
+     * @since 1.2
+     */
+    public static final class Compiled implements Slice {
+
+        /**
+         * Routes index.
+         */
+        private final RtIndex index;
+
+        /**
+         * New compiled slice route.
+         * @param routes Routes
+         */
+        public Compiled(final RtPath... routes) {
+            this(Arrays.asList(routes));
+        }
+
+        /**
+         * New compiled slice route.
+         * @param routes Routes
+         */
+        public Compiled(final List<RtPath> routes) {
+            this.index = new RtIndex(routes);
+        }
+
+        @Override
+        public Response response(final String line,
+            final Iterable<Map.Entry<String, String>> headers,
+            final Publisher<ByteBuffer> body) {
+            return this.index.response(line, headers, body).orElseGet(SliceRoute::notFound);
+        }
     }
 
     /**
@@ -10,6 +10,7 @@ import com.artipie.http.headers.Header;
 import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rq.RequestLineFrom;
 import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithBody;
 import com.artipie.http.rs.RsWithStatus;
@@ -34,6 +35,11 @@ import org.reactivestreams.Publisher;
  * <p>
  * The full path will be available as the value of {@code X-FullPath} header.
  * </p>
+ * <p>
+ * If the path to trim is a literal, requests with origin-form URI are matched
+ * by segment-aware prefix comparison and the request line is rebuilt by slicing
+ * the original line, other requests are matched by the pattern.
+ * </p>
  *
  * @since 0.8
  */
@@ -44,6 +50,16 @@ public final class TrimPathSlice implements Slice {
      */
     private static final String HDR_FULL_PATH = "X-FullPath";
 
+    /**
+     * Regex meta chars which are not matched by themselves.
+     */
+    private static final String META = "\\[]{}()*+?^$|";
+
+    /**
+     * URI chars allowed in request target for literal matching.
+     */
+    private static final String URI_CHARS = "-._~!$&'()*+,;=:@/?";
+
     /**
      * Delegate slice.
      */
@@ -54,6 +70,11 @@ public final class TrimPathSlice implements Slice {
      */
     private final Pattern ptn;
 
+    /**
+     * Literal path prefix to trim with leading slash, empty if path is not a literal.
+     */
+    private final String prefix;
+
     /**
      * Trim URI path by first hit of path param.
      * @param slice Origin slice
@@ -62,7 +83,8 @@ public final class TrimPathSlice implements Slice {
     public TrimPathSlice(final Slice slice, final String path) {
         this(
             slice,
-            Pattern.compile(String.format("^/(?:%s)(\\/.*)?", TrimPathSlice.normalized(path)))
+            Pattern.compile(String.format("^/(?:%s)(\\/.*)?", TrimPathSlice.normalized(path))),
+            TrimPathSlice.literal(TrimPathSlice.normalized(path))
         );
     }
 
@@ -73,8 +95,19 @@ public final class TrimPathSlice implements Slice {
      * @param ptn Path to trim
      */
     public TrimPathSlice(final Slice slice, final Pattern ptn) {
+        this(slice, ptn, "");
+    }
+
+    /**
+     * Primary constructor.
+     * @param slice Origin slice
+     * @param ptn Path to trim
+     * @param prefix Literal prefix with leading slash or empty string
+     */
+    private TrimPathSlice(final Slice slice, final Pattern ptn, final String prefix) {
         this.slice = slice;
         this.ptn = ptn;
+        this.prefix = prefix;
     }
 
     @Override
@@ -82,6 +115,51 @@ public final class TrimPathSlice implements Slice {
         final String line,
         final Iterable<Map.Entry<String, String>> headers,
         final Publisher<ByteBuffer> body
+    ) {
+        final int start = line.indexOf(' ') + 1;
+        final int end = line.indexOf(' ', start);
+        final Response response;
+        if (this.prefix.isEmpty() || end < 0 || !TrimPathSlice.tokens(line, start, end)
+            || !this.literal(line, start, end)) {
+            response = this.matched(line, headers, body);
+        } else {
+            final int query = TrimPathSlice.pathEnd(line, start, end);
+            final String full = line.substring(start, query);
+            if (new RqHeaders(headers, TrimPathSlice.HDR_FULL_PATH).isEmpty()) {
+                final int from = start + this.prefix.length();
+                final StringBuilder trimmed = new StringBuilder(line.length())
+                    .append(line, 0, start);
+                if (from == query) {
+                    trimmed.append('/');
+                }
+                response = this.slice.response(
+                    trimmed.append(line, from, line.length()).toString(),
+                    Iterables.concat(
+                        headers,
+                        Collections.singletonList(
+                            new Header(TrimPathSlice.HDR_FULL_PATH, full)
+                        )
+                    ),
+                    body
+                );
+            } else {
+                response = this.slice.response(line, headers, body);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Trim request line by pattern.
+     * @param line Request line
+     * @param headers Request headers
+     * @param body Request body
+     * @return Response
+     */
+    private Response matched(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
     ) {
         final RequestLineFrom rline = new RequestLineFrom(line);
         final URI uri = rline.uri();
@@ -120,6 +198,89 @@ public final class TrimPathSlice implements Slice {
         return response;
     }
 
+    /**
+     * Check if request target is an origin-form URI without percent-encoded chars,
+     * and its path starts with literal prefix segments.
+     * <p>
+     * Such path is equal to decoded URI path and it's matched by the pattern
+     * the same way as by the literal, so it's safe to trim it by slicing the line.
+     * Request method is validated as {@link RequestLineFrom} does.
+     * </p>
+     * @param line Request line
+     * @param start Request target start
+     * @param end Request target end
+     * @return True if request target matches the literal prefix
+     */
+    private boolean literal(final String line, final int start, final int end) {
+        final int after = start + this.prefix.length();
+        boolean res = line.startsWith(this.prefix, start) && after <= end
+            && (after == end || line.charAt(after) == '/' || line.charAt(after) == '?');
+        for (int pos = start; pos < end && res; ++pos) {
+            final char chr = line.charAt(pos);
+            res = chr >= 'a' && chr <= 'z' || chr >= 'A' && chr <= 'Z'
+                || chr >= '0' && chr <= '9' || TrimPathSlice.URI_CHARS.indexOf(chr) >= 0;
+        }
+        if (res) {
+            RqMethod.of(line.substring(0, start - 1));
+        }
+        return res;
+    }
+
+    /**
+     * Check if request line has exactly three space-separated tokens: method,
+     * request target and version followed by optional trailing whitespaces,
+     * other lines are validated by {@link RequestLineFrom}.
+     * @param line Request line
+     * @param start Request target start
+     * @param end Request target end
+     * @return True if request line has three tokens
+     */
+    private static boolean tokens(final String line, final int start, final int end) {
+        int last = line.length();
+        while (last > end + 1 && line.charAt(last - 1) <= ' ') {
+            --last;
+        }
+        boolean res = start >= 2 && line.charAt(0) > ' ' && last > end + 1;
+        for (int pos = end + 1; pos < last && res; ++pos) {
+            res = line.charAt(pos) > ' ';
+        }
+        return res;
+    }
+
+    /**
+     * End of the path in request target.
+     * @param line Request line
+     * @param start Request target start
+     * @param end Request target end
+     * @return Query start or request target end
+     */
+    private static int pathEnd(final String line, final int start, final int end) {
+        int res = line.indexOf('?', start);
+        if (res < 0 || res > end) {
+            res = end;
+        }
+        return res;
+    }
+
+    /**
+     * Literal prefix of normalized path.
+     * @param path Normalized path
+     * @return Prefix with leading slash or empty string if path is not a literal
+     */
+    private static String literal(final String path) {
+        boolean lit = !path.isEmpty();
+        for (int pos = 0; pos < path.length() && lit; ++pos) {
+            lit = TrimPathSlice.META.indexOf(path.charAt(pos)) < 0;
+        }
+        final String res;
+        if (lit) {
+            res = String.format("/%s", path);
+        } else {
+            res = "";
+        }
+        return res;
+    }
+
     /**
      * Normalize path: remove whitespaces and slash chars.
      * @param path Path
@@ -6,12 +6,18 @@ package com.artipie.security.perms;
 
 import java.security.Permission;
 import java.security.PermissionCollection;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -21,10 +27,13 @@ import java.util.stream.Stream;
  * case of ORG layout {user_name}/{repo_name}.
  * Supported actions are: read, write, delete. Wildcard * is also supported and means,
  * that any actions is allowed.
- * This permission implies another permission if permissions names are equal and
- * this permission allows all actions from another permission.
+ * This permission implies another permission if permissions names are equal ignoring case and
+ * this permission allows all actions from another permission. Name ending with wildcard
+ * is a prefix pattern: {@code team-a-*} equals to any name starting with {@code team-a-},
+ * bare wildcard name equals to any name.
  * @since 1.2
  */
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
 public final class AdapterBasicPermission extends Permission {
 
     /**
@@ -51,9 +60,9 @@ public final class AdapterBasicPermission extends Permission {
     /**
      * Primary ctor.
      * @param name Perm name
-     * @param mask Mask
+     * @param mask Action mask, see {@link Action#mask()}
      */
-    private AdapterBasicPermission(final String name, final int mask) {
+    public AdapterBasicPermission(final String name, final int mask) {
         super(name);
         this.mask = mask;
     }
@@ -134,6 +143,14 @@ public final class AdapterBasicPermission extends Permission {
         return this.actions;
     }
 
+    /**
+     * Action mask of the permission.
+     * @return Mask, see {@link Action#mask()}
+     */
+    public int mask() {
+        return this.mask;
+    }
+
     @Override
     public PermissionCollection newPermissionCollection() {
         return new AdapterBasicPermissionCollection();
@@ -146,11 +163,14 @@ public final class AdapterBasicPermission extends Permission {
      * @return True when implies
      */
     private boolean impliesIgnoreMask(final AdapterBasicPermission perm) {
+        final String name = this.getName();
         final boolean res;
-        if (this.getName().equals(AdapterBasicPermission.WILDCARD)) {
-            res = true;
+        if (name.endsWith(AdapterBasicPermission.WILDCARD)) {
+            final int len = name.length() - 1;
+            res = perm.getName().length() >= len
+                && perm.getName().regionMatches(true, 0, name, 0, len);
         } else {
-            res = this.getName().equalsIgnoreCase(perm.getName());
+            res = name.equalsIgnoreCase(perm.getName());
         }
         return res;
     }
@@ -187,12 +207,23 @@ public final class AdapterBasicPermission extends Permission {
         private static final long serialVersionUID = 5843017424729092155L;
 
         /**
-         * Key is name, value is permission. All permission objects in
+         * Key is normalized name, value is permission, actions of permissions with the same
+         * name are merged. All permission objects in
          * collection must be of the same type.
          * Not serialized; see serialization section at end of class.
          */
         private final transient ConcurrentHashMap<String, Permission> perms;
 
+        /**
+         * Compiled index of permissions, compiled on demand.
+         */
+        private final transient AtomicReference<Compiled> index;
+
+        /**
+         * Version of permissions, incremented on add.
+         */
+        private final transient AtomicLong version;
+
         /**
          * This is set to {@code true} if this AdapterBasicPermissionCollection
          * contains a AdapterBasicPermission with '*' as its permission name
@@ -207,6 +238,8 @@ public final class AdapterBasicPermission extends Permission {
         AdapterBasicPermissionCollection() {
             this.perms = new ConcurrentHashMap<>(5);
             this.any = false;
+            this.index = new AtomicReference<>();
+            this.version = new AtomicLong();
         }
 
         @Override
@@ -217,11 +250,18 @@ public final class AdapterBasicPermission extends Permission {
                 );
             }
             if (permission instanceof AdapterBasicPermission) {
-                this.perms.put(permission.getName(), permission);
-                if (permission.getName().equals(AdapterBasicPermission.WILDCARD)
-                    && ((AdapterBasicPermission) permission).mask == Action.ALL.mask()) {
+                final Permission added = this.perms.merge(
+                    NameIndex.normalized(permission.getName()), permission,
+                    (prev, perm) -> new AdapterBasicPermission(
+                        perm.getName(),
+                        ((AdapterBasicPermission) prev).mask | ((AdapterBasicPermission) perm).mask
+                    )
+                );
+                if (added.getName().equals(AdapterBasicPermission.WILDCARD)
+                    && ((AdapterBasicPermission) added).mask == Action.ALL.mask()) {
                     this.any = true;
                 }
+                this.version.incrementAndGet();
             } else {
                 throw new IllegalArgumentException(
                     String.format("Invalid permissions type %s", permission.getClass())
@@ -236,17 +276,9 @@ public final class AdapterBasicPermission extends Permission {
                 if (this.any) {
                     res = true;
                 } else {
-                    //@checkstyle NestedIfDepthCheck (10 lines)
-                    Permission existing = this.perms.get(permission.getName());
-                    if (existing != null) {
-                        res = existing.implies(permission);
-                    }
-                    if (!res) {
-                        existing = this.perms.get(AdapterBasicPermission.WILDCARD);
-                        if (existing != null) {
-                            res = existing.implies(permission);
-                        }
-                    }
+                    final int need = ((AdapterBasicPermission) permission).mask;
+                    final int mask = this.compiled().mask(permission.getName());
+                    res = mask != NameIndex.NONE && (mask & need) == need;
                 }
             }
             return res;
@@ -256,5 +288,77 @@ public final class AdapterBasicPermission extends Permission {
         public Enumeration<Permission> elements() {
             return this.perms.elements();
         }
+
+        /**
+         * Check batch of permissions in one pass.
+         * @param batch Repository names and required action masks
+         * @return Bit set, where bit is set if permission with the same index is implied
+         */
+        BitSet implies(final List<? extends Map.Entry<String, Integer>> batch) {
+            final BitSet res = new BitSet(batch.size());
+            if (this.any) {
+                res.set(0, batch.size());
+            } else {
+                final NameIndex names = this.compiled();
+                int idx = 0;
+                for (final Map.Entry<String, Integer> item : batch) {
+                    final int need = item.getValue();
+                    final int mask = names.mask(item.getKey());
+                    if (mask != NameIndex.NONE && (mask & need) == need) {
+                        res.set(idx);
+                    }
+                    idx += 1;
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Get compiled index of permissions, compile it if permissions were added
+         * after last compilation.
+         * @return Compiled index
+         */
+        private NameIndex compiled() {
+            final long ver = this.version.get();
+            Compiled res = this.index.get();
+            if (res == null || res.version != ver) {
+                final Map<String, Integer> masks = new HashMap<>(this.perms.size());
+                for (final Permission perm : this.perms.values()) {
+                    masks.merge(
+                        perm.getName(), ((AdapterBasicPermission) perm).mask, (a, b) -> a | b
+                    );
+                }
+                res = new Compiled(ver, new NameIndex(masks));
+                this.index.set(res);
+            }
+            return res.names;
+        }
+
+        /**
+         * Compiled index of permissions with version.
+         * @since 1.2
+         */
+        private static final class Compiled {
+
+            /**
+             * Version of permissions.
+             */
+            private final long version;
+
+            /**
+             * Index.
+             */
+            private final NameIndex names;
+
+            /**
+             * Ctor.
+             * @param version Version of permissions
+             * @param names Index
+             */
+            Compiled(final long version, final NameIndex names) {
+                this.version = version;
+                this.names = names;
+            }
+        }
     }
 }
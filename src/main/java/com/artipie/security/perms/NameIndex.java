@@ -0,0 +1,226 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.perms;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compiled index of permission names to action masks.
+ * <p>
+ * Names are case-insensitive, they are normalized when the index is compiled.
+ * Name ending with {@code *} is a prefix pattern, it matches any name starting with
+ * the prefix, so {@code team-a-*} matches {@code team-a-maven} and bare {@code *}
+ * matches any name. Patterns and names are kept in a trie, so lookup takes
+ * one pass over the looked up name, and its result is union of masks of
+ * all matched names and patterns.
+ * </p>
+ * @since 1.2
+ */
+final class NameIndex {
+
+    /**
+     * Mask result if nothing matched.
+     */
+    static final int NONE = -1;
+
+    /**
+     * Bit to mark present masks in trie nodes.
+     */
+    private static final int PRESENT = Integer.MIN_VALUE;
+
+    /**
+     * Trie root.
+     */
+    private final Node root;
+
+    /**
+     * Compile index.
+     * @param masks Masks by names and patterns
+     */
+    NameIndex(final Map<String, Integer> masks) {
+        final Builder builder = new Builder();
+        for (final Map.Entry<String, Integer> entry : masks.entrySet()) {
+            builder.add(entry.getKey(), entry.getValue());
+        }
+        this.root = builder.build();
+    }
+
+    /**
+     * Find union of masks of all names and patterns matching the name.
+     * @param name Name
+     * @return Action mask or {@link #NONE} if nothing matched
+     */
+    int mask(final String name) {
+        Node node = this.root;
+        int res = node.prefix;
+        for (int idx = 0; idx < name.length() && node != null; ++idx) {
+            node = node.child(NameIndex.fold(name.charAt(idx)));
+            if (node != null) {
+                res |= node.prefix;
+            }
+        }
+        if (node != null) {
+            res |= node.exact;
+        }
+        if ((res & NameIndex.PRESENT) == 0) {
+            res = NameIndex.NONE;
+        } else {
+            res &= ~NameIndex.PRESENT;
+        }
+        return res;
+    }
+
+    /**
+     * Normalize name.
+     * @param name Name
+     * @return Case-insensitive form of the name
+     */
+    static String normalized(final String name) {
+        final char[] chars = new char[name.length()];
+        for (int idx = 0; idx < chars.length; ++idx) {
+            chars[idx] = NameIndex.fold(name.charAt(idx));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Case-insensitive form of char, the same as used by
+     * {@link String#equalsIgnoreCase(String)}.
+     * @param chr Char
+     * @return Folded char
+     */
+    private static char fold(final char chr) {
+        return Character.toLowerCase(Character.toUpperCase(chr));
+    }
+
+    /**
+     * Compiled trie node.
+     * @since 1.2
+     */
+    private static final class Node {
+
+        /**
+         * Sorted chars of children.
+         */
+        private final char[] keys;
+
+        /**
+         * Children in order of keys.
+         */
+        private final Node[] nodes;
+
+        /**
+         * Mask of the name ending in this node.
+         */
+        private final int exact;
+
+        /**
+         * Mask of the pattern with prefix ending in this node.
+         */
+        private final int prefix;
+
+        /**
+         * Ctor.
+         * @param keys Sorted chars of children
+         * @param nodes Children
+         * @param exact Mask of the name
+         * @param prefix Mask of the pattern
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Node(final char[] keys, final Node[] nodes, final int exact, final int prefix) {
+            this.keys = keys;
+            this.nodes = nodes;
+            this.exact = exact;
+            this.prefix = prefix;
+        }
+
+        /**
+         * Find child.
+         * @param chr Char
+         * @return Child or null
+         */
+        Node child(final char chr) {
+            final int pos = Arrays.binarySearch(this.keys, chr);
+            final Node res;
+            if (pos < 0) {
+                res = null;
+            } else {
+                res = this.nodes[pos];
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Mutable trie node to compile.
+     * @since 1.2
+     */
+    private static final class Builder {
+
+        /**
+         * Children.
+         */
+        private final Map<Character, Builder> children;
+
+        /**
+         * Mask of the name ending in this node.
+         */
+        private int exact;
+
+        /**
+         * Mask of the pattern with prefix ending in this node.
+         */
+        private int prefix;
+
+        /**
+         * Ctor.
+         */
+        Builder() {
+            this.children = new TreeMap<>();
+        }
+
+        /**
+         * Add name or pattern.
+         * @param name Name or pattern
+         * @param mask Action mask
+         */
+        void add(final String name, final int mask) {
+            final boolean pattern = name.endsWith(AdapterBasicPermission.WILDCARD);
+            int len = name.length();
+            if (pattern) {
+                len -= 1;
+            }
+            Builder node = this;
+            for (int idx = 0; idx < len; ++idx) {
+                node = node.children.computeIfAbsent(
+                    NameIndex.fold(name.charAt(idx)), chr -> new Builder()
+                );
+            }
+            if (pattern) {
+                node.prefix |= mask | NameIndex.PRESENT;
+            } else {
+                node.exact |= mask | NameIndex.PRESENT;
+            }
+        }
+
+        /**
+         * Compile node.
+         * @return Compiled node
+         */
+        Node build() {
+            final char[] keys = new char[this.children.size()];
+            final Node[] nodes = new Node[keys.length];
+            int idx = 0;
+            for (final Map.Entry<Character, Builder> entry : this.children.entrySet()) {
+                keys[idx] = entry.getKey();
+                nodes[idx] = entry.getValue().build();
+                idx += 1;
+            }
+            return new Node(keys, nodes, this.exact, this.prefix);
+        }
+    }
+}
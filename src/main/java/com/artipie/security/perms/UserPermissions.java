@@ -4,10 +4,17 @@
  */
 package com.artipie.security.perms;
 
+import java.security.AllPermission;
 import java.security.Permission;
 import java.security.PermissionCollection;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Enumeration;
-import java.util.Objects;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -24,21 +31,13 @@ import java.util.function.Supplier;
  * <p/>
  * Method {@link UserPermissions#implies(Permission)} implementation note:
  * <p/>
- * first, we check if the permission is implied according to the {@link UserPermissions#last}
- * reference calling {@link UserPermissions#checkReference(String, Permission)} method.
- * Synchronization is not required here as
- * <p>
- * 1) we do not change the value of {@link UserPermissions#last} field
- * </p>
- * <p>
- * 2) it does not matter if the {@link UserPermissions#last} value was changed in the synchronized
- *   section by other thread if we get positive result.
- * </p>
+ * on the first call, user individual permissions and permissions of all user roles are
+ * flattened into immutable snapshot: permissions are grouped by type, and permissions of
+ * the same type are added to one collection of this type. Then the permission is checked
+ * by the collection of its type only, without locks and without addressing the suppliers.
  * <p/>
- * second, if we do not get the positive result, we enter synchronized section, get the value
- * from {@link UserPermissions#last} and check it again if the value was changed. Then, if the
- * result is still negative, we perform the whole check by the user's personal permissions and all
- * the groups.
+ * The snapshot is rebuilt on the next check after {@link UserPermissions#invalidate()} call,
+ * it should be called when user or some of his roles were changed.
  *
  * @since 1.2
  */
@@ -49,11 +48,6 @@ public final class UserPermissions extends PermissionCollection {
      */
     private static final long serialVersionUID = -7546496571951236695L;
 
-    /**
-     * Lock object.
-     */
-    private final Object lock;
-
     /**
      * Role permissions.
      */
@@ -65,11 +59,14 @@ public final class UserPermissions extends PermissionCollection {
     private final Supplier<User> user;
 
     /**
-     * The name of the group, which implied the permission in the previous
-     * {@link UserPermissions#implies(Permission)} method call. Empty if
-     * user permissions implied the permission.
+     * Permissions snapshot.
      */
-    private final AtomicReference<String> last;
+    private final AtomicReference<Snapshot> snapshot;
+
+    /**
+     * Snapshot version, incremented on invalidation.
+     */
+    private final AtomicLong version;
 
     /**
      * Ctor.
@@ -82,47 +79,29 @@ public final class UserPermissions extends PermissionCollection {
     ) {
         this.rperms = rperms;
         this.user = user;
-        this.last = new AtomicReference<>();
-        this.lock = new Object();
+        this.snapshot = new AtomicReference<>();
+        this.version = new AtomicLong();
     }
 
     @Override
     public void add(final Permission permission) {
         this.user.get().perms().add(permission);
+        this.invalidate();
     }
 
     @Override
-    @SuppressWarnings("PMD.AvoidDeeplyNestedIfStmts")
     public boolean implies(final Permission permission) {
-        final String first = this.last.get();
-        boolean res = this.checkReference(first, permission);
-        if (!res) {
-            synchronized (this.lock) {
-                final String second = this.last.get();
-                if (!Objects.equals(first, second)) {
-                    res = this.checkReference(second, permission);
-                }
-                // @checkstyle NestedIfDepthCheck (20 lines)
-                if (!res) {
-                    if (second != null) {
-                        res = this.user.get().perms().implies(permission);
-                    }
-                    if (res) {
-                        this.last.set(null);
-                    } else {
-                        for (final String role : this.user.get().roles()) {
-                            if (!role.equals(second)
-                                && this.rperms.apply(role).implies(permission)) {
-                                res = true;
-                                this.last.set(role);
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return res;
+        return this.current().implies(permission);
+    }
+
+    /**
+     * Check batch of {@link AdapterBasicPermission} permissions in one pass over
+     * user and roles permissions.
+     * @param batch Repository names and required action masks, see {@link Action#mask()}
+     * @return Bit set, where bit is set if permission with the same index is implied
+     */
+    public BitSet implies(final List<? extends Map.Entry<String, Integer>> batch) {
+        return this.current().implies(batch);
     }
 
     @Override
@@ -131,18 +110,169 @@ public final class UserPermissions extends PermissionCollection {
     }
 
     /**
-     * Check the permission according to the given reference (group or individual perms).
-     * @param ref The reference for the check
-     * @param permission The permission to check
-     * @return The result, true if according to the last ref permission is implied
+     * Invalidate permissions snapshot, it will be rebuilt from user and roles
+     * permissions on the next check.
      */
-    private boolean checkReference(final String ref, final Permission permission) {
-        final boolean res;
-        if (ref == null) {
-            res = this.user.get().perms().implies(permission);
-        } else {
-            res = this.rperms.apply(ref).implies(permission);
+    public void invalidate() {
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * Current permissions snapshot, it's rebuilt if invalidated.
+     * @return Snapshot
+     */
+    private Snapshot current() {
+        final long ver = this.version.get();
+        Snapshot snap = this.snapshot.get();
+        if (snap == null || snap.version != ver) {
+            snap = new Snapshot(ver, this.user.get(), this.rperms);
+            this.snapshot.set(snap);
+        }
+        return snap;
+    }
+
+    /**
+     * Immutable snapshot of user and his roles permissions.
+     * @since 1.2
+     */
+    private static final class Snapshot {
+
+        /**
+         * Snapshot version.
+         */
+        private final long version;
+
+        /**
+         * Permissions implies any permission.
+         */
+        private final boolean all;
+
+        /**
+         * Permissions by type.
+         */
+        private final Map<Class<?>, PermissionCollection> index;
+
+        /**
+         * Ctor.
+         * @param version Snapshot version
+         * @param user User
+         * @param rperms Role permissions
+         */
+        Snapshot(final long version, final User user,
+            final Function<String, PermissionCollection> rperms) {
+            this.version = version;
+            final List<PermissionCollection> sources = new ArrayList<>(user.roles().size() + 1);
+            sources.add(user.perms());
+            for (final String role : user.roles()) {
+                sources.add(rperms.apply(role));
+            }
+            final Map<Class<?>, PermissionCollection> types = new HashMap<>();
+            boolean any = false;
+            for (final PermissionCollection source : sources) {
+                any = any || source instanceof FreePermissions;
+                for (final Permission perm : Collections.list(source.elements())) {
+                    any = any || perm instanceof AllPermission;
+                    types.computeIfAbsent(perm.getClass(), type -> Snapshot.collection(perm))
+                        .add(perm);
+                }
+            }
+            this.all = any;
+            this.index = types;
+        }
+
+        /**
+         * Check permission.
+         * @param permission Permission to check
+         * @return True if implied
+         */
+        boolean implies(final Permission permission) {
+            final boolean res;
+            if (this.all) {
+                res = true;
+            } else {
+                final PermissionCollection perms = this.index.get(permission.getClass());
+                res = perms != null && perms.implies(permission);
+            }
+            return res;
+        }
+
+        /**
+         * Check batch of basic permissions.
+         * @param batch Repository names and required action masks
+         * @return Bit set of implied permissions
+         */
+        BitSet implies(final List<? extends Map.Entry<String, Integer>> batch) {
+            final BitSet res;
+            final PermissionCollection perms = this.index.get(AdapterBasicPermission.class);
+            if (this.all) {
+                res = new BitSet(batch.size());
+                res.set(0, batch.size());
+            } else if (perms instanceof AdapterBasicPermission.AdapterBasicPermissionCollection) {
+                res = ((AdapterBasicPermission.AdapterBasicPermissionCollection) perms)
+                    .implies(batch);
+            } else {
+                res = new BitSet(batch.size());
+            }
+            return res;
+        }
+
+        /**
+         * New collection for permissions of the same type.
+         * @param perm Permission
+         * @return Empty permissions collection
+         */
+        private static PermissionCollection collection(final Permission perm) {
+            PermissionCollection res = perm.newPermissionCollection();
+            if (res == null) {
+                res = new Listed();
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Collection for permissions, which don't provide their own collection.
+     * @since 1.2
+     */
+    private static final class Listed extends PermissionCollection {
+
+        /**
+         * Required serial.
+         */
+        private static final long serialVersionUID = 4826496571451236071L;
+
+        /**
+         * Permissions.
+         */
+        private final List<Permission> perms;
+
+        /**
+         * Ctor.
+         */
+        Listed() {
+            this.perms = new ArrayList<>(1);
+        }
+
+        @Override
+        public void add(final Permission permission) {
+            this.perms.add(permission);
+        }
+
+        @Override
+        public boolean implies(final Permission permission) {
+            boolean res = false;
+            for (final Permission perm : this.perms) {
+                if (perm.implies(permission)) {
+                    res = true;
+                    break;
+                }
+            }
+            return res;
+        }
+
+        @Override
+        public Enumeration<Permission> elements() {
+            return Collections.enumeration(this.perms);
         }
-        return res;
     }
 }
@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.jcabi.log.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Asynchronous reading of policy yaml files from storage.
+ * @since 1.2
+ */
+final class AstoYaml {
+
+    /**
+     * Yaml files extensions.
+     */
+    private static final Collection<String> EXTENSIONS = Arrays.asList(".yaml", ".yml");
+
+    /**
+     * Storage.
+     */
+    private final Storage asto;
+
+    /**
+     * Ctor.
+     * @param asto Storage
+     */
+    AstoYaml(final Storage asto) {
+        this.asto = asto;
+    }
+
+    /**
+     * Read yaml file from storage considering both yaml and yml extensions. Empty yaml
+     * is returned if file does not exist, the future fails if file can't be read or parsed.
+     * @param filename The name of the file without extension
+     * @return Future yaml
+     */
+    CompletionStage<YamlMapping> read(final String filename) {
+        return this.find(filename).thenApply(
+            yaml -> yaml.orElseGet(() -> Yaml.createYamlMappingBuilder().build())
+        ).whenComplete(
+            (yaml, err) -> {
+                if (err != null) {
+                    Logger.error(
+                        err, String.format("Failed to read or parse file '%s'", filename)
+                    );
+                }
+            }
+        );
+    }
+
+    /**
+     * Find yaml file in storage considering both yaml and yml extensions.
+     * @param filename The name of the file without extension
+     * @return Future yaml, empty if file does not exist
+     */
+    CompletionStage<Optional<YamlMapping>> find(final String filename) {
+        final Key yaml = new Key.From(String.format("%s.yaml", filename));
+        final Key yml = new Key.From(String.format("%s.yml", filename));
+        return this.asto.exists(yaml).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<Key>> res;
+                if (exists) {
+                    res = CompletableFuture.completedFuture(Optional.of(yaml));
+                } else {
+                    res = this.asto.exists(yml).thenApply(
+                        found -> Optional.of(yml).filter(key -> found)
+                    );
+                }
+                return res;
+            }
+        ).thenCompose(
+            key -> key.<CompletionStage<Optional<YamlMapping>>>map(
+                found -> this.read(found).thenApply(Optional::of)
+            ).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))
+        );
+    }
+
+    /**
+     * Read yaml file from storage.
+     * @param key Yaml file key
+     * @return Future yaml
+     */
+    CompletionStage<YamlMapping> read(final Key key) {
+        return this.asto.value(key)
+            .thenCompose(content -> new PublisherAs(content).bytes())
+            .thenApply(AstoYaml::parse);
+    }
+
+    /**
+     * Check if key is yaml file.
+     * @param key Key
+     * @return True if key has yaml or yml extension
+     */
+    static boolean isYaml(final Key key) {
+        return AstoYaml.EXTENSIONS.stream().anyMatch(ext -> key.string().endsWith(ext));
+    }
+
+    /**
+     * User or role name from the key of its yaml file.
+     * @param dir Directory
+     * @param key Key string
+     * @return Name
+     */
+    static String name(final String dir, final String key) {
+        String res = key.substring(dir.length() + 1);
+        for (final String ext : AstoYaml.EXTENSIONS) {
+            if (res.endsWith(ext)) {
+                res = res.substring(0, res.length() - ext.length());
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Parse yaml.
+     * @param bytes Yaml bytes
+     * @return Yaml mapping
+     */
+    static YamlMapping parse(final byte[] bytes) {
+        try {
+            return Yaml.createYamlInput(new ByteArrayInputStream(bytes)).readYamlMapping();
+        } catch (final IOException err) {
+            throw new UncheckedIOException(err);
+        }
+    }
+}
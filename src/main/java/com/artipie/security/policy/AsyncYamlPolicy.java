@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.artipie.asto.Storage;
+import com.artipie.asto.misc.Cleanable;
+import com.artipie.http.auth.AuthUser;
+import com.artipie.security.perms.EmptyPermissions;
+import com.artipie.security.perms.User;
+import com.artipie.security.perms.UserPermissions;
+import java.security.Permission;
+import java.security.PermissionCollection;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Asynchronous yaml policy reads users and roles yaml files from {@link Storage}
+ * without blocking. The storage layout and yaml format are the same as for
+ * {@link CachedYamlPolicy}.
+ * <p/>
+ * Loaded users and roles are cached with refresh after write semantics: when the
+ * refresh interval passed, permissions are reloaded in background, and previously
+ * loaded permissions are used until reload completes. Users and roles, which were not
+ * accessed during eviction interval, are removed from cache. Invalidation through
+ * {@link Cleanable} methods marks cached items to be reloaded on next access.
+ * <p/>
+ * Method {@link #getPermissions(AuthUser)} and {@code allowed} methods never wait for
+ * storage, they answer with permissions loaded so far and start loading if the user is
+ * not loaded yet: not loaded user, or user which failed to load, has no permissions until
+ * it's loaded. Use {@link #check(AuthUser, Permission)} to wait for loading, its result
+ * fails if the user can't be loaded.
+ * @since 1.2
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class AsyncYamlPolicy implements Policy<UserPermissions>, Cleanable<String> {
+
+    /**
+     * Permissions of not loaded user, they are not cached.
+     */
+    private static final UserPermissions EMPTY = new UserPermissions(
+        () -> new User.Simple(Collections.emptySet(), EmptyPermissions.INSTANCE),
+        role -> EmptyPermissions.INSTANCE
+    );
+
+    /**
+     * Users permissions.
+     */
+    private final Refreshing<UserPermissions> users;
+
+    /**
+     * Roles permissions.
+     */
+    private final Refreshing<PermissionCollection> roles;
+
+    /**
+     * Storage to read users and roles yaml files from.
+     */
+    private final AstoYaml files;
+
+    /**
+     * Ctor with 1 minute refresh and 3 minutes eviction intervals.
+     * @param asto Storage to read users and roles yaml files from
+     */
+    public AsyncYamlPolicy(final Storage asto) {
+        // @checkstyle MagicNumberCheck (1 line)
+        this(asto, Duration.ofMinutes(1), Duration.ofMinutes(3));
+    }
+
+    /**
+     * Ctor without eviction: users and roles are kept until they are invalidated,
+     * e.g. by {@link PolicyWatch}.
+     * @param asto Storage to read users and roles yaml files from
+     * @param refresh Interval to reload users and roles after
+     */
+    public AsyncYamlPolicy(final Storage asto, final Duration refresh) {
+        this(asto, refresh, Optional.empty());
+    }
+
+    /**
+     * Ctor.
+     * @param asto Storage to read users and roles yaml files from
+     * @param refresh Interval to reload users and roles after
+     * @param eviction Interval to remove not accessed users and roles after
+     */
+    public AsyncYamlPolicy(final Storage asto, final Duration refresh, final Duration eviction) {
+        this(asto, refresh, Optional.of(eviction));
+    }
+
+    /**
+     * Ctor.
+     * @param asto Storage to read users and roles yaml files from
+     * @param refresh Interval to reload users and roles after
+     * @param eviction Interval to remove not accessed users and roles after, if present
+     */
+    private AsyncYamlPolicy(final Storage asto, final Duration refresh,
+        final Optional<Duration> eviction) {
+        this.files = new AstoYaml(asto);
+        this.users = new Refreshing<>(this::user, refresh, eviction);
+        this.roles = new Refreshing<>(this::role, refresh, eviction);
+    }
+
+    @Override
+    public UserPermissions getPermissions(final AuthUser user) {
+        final CompletableFuture<UserPermissions> perms = this.users.get(user.name());
+        final UserPermissions res;
+        if (perms.isDone() && !perms.isCompletedExceptionally()) {
+            res = perms.getNow(AsyncYamlPolicy.EMPTY);
+        } else {
+            res = AsyncYamlPolicy.EMPTY;
+        }
+        return res;
+    }
+
+    @Override
+    public CompletionStage<Boolean> check(final AuthUser user, final Permission perm) {
+        return this.users.get(user.name()).thenApply(perms -> perms.implies(perm));
+    }
+
+    @Override
+    public void invalidate(final String key) {
+        this.users.expire(key);
+        if (this.roles.contains(key)) {
+            this.roles.expire(key);
+            this.users.expireAll();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        this.roles.expireAll();
+        this.users.expireAll();
+    }
+
+    /**
+     * Load user permissions: user yaml and permissions of all user roles.
+     * Stale roles are reloaded before user permissions are built.
+     * @param name Username
+     * @return Future permissions
+     */
+    private CompletionStage<UserPermissions> user(final String name) {
+        return this.files.read(String.format("users/%s", name)).thenCompose(
+            yaml -> {
+                final User user = new CachedYamlPolicy.AstoUser(yaml);
+                final Map<String, CompletableFuture<PermissionCollection>> perms =
+                    new HashMap<>(user.roles().size());
+                for (final String role : user.roles()) {
+                    perms.put(role, this.roles.fresh(role));
+                }
+                return CompletableFuture.allOf(perms.values().toArray(new CompletableFuture[0]))
+                    .thenApply(
+                        none -> new UserPermissions(
+                            () -> user, role -> perms.get(role).join()
+                        )
+                    );
+            }
+        );
+    }
+
+    /**
+     * Load role permissions.
+     * @param name Role name
+     * @return Future permissions
+     */
+    private CompletionStage<PermissionCollection> role(final String name) {
+        return this.files.read(String.format("roles/%s", name))
+            .thenApply(CachedYamlPolicy::rolePermissions);
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.artipie.ArtipieException;
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.security.perms.AdapterBasicPermission;
+import com.artipie.security.perms.EmptyPermissions;
+import com.artipie.security.perms.FreePermissions;
+import com.artipie.security.perms.User;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.AllPermission;
+import java.security.Permission;
+import java.security.PermissionCollection;
+import java.security.Permissions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Compiled binary snapshot of users, roles and their permissions. It's read without
+ * yaml parsing and permission factories lookup, so policy can be started from it fast,
+ * see {@link SnapshotPolicy#load(BinarySnapshot)}.
+ * <p/>
+ * Snapshot supports {@link AdapterBasicPermission} and permissions, which imply any
+ * permission. The format is big-endian:
+ * <pre>
+ * magic: int, version: short
+ * strings: count: int, (length: int, utf-8 bytes)*
+ * roles: count: int, (name: string index, permissions)*
+ * users: count: int, (name: string index, roles: count: int, (string index)*, permissions)*
+ * permissions: all: byte, count: int, (name: string index, mask: int)*
+ * </pre>
+ * All names are stored once in strings table and referenced by index.
+ * @since 1.2
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class BinarySnapshot {
+
+    /**
+     * Format magic number.
+     */
+    static final int MAGIC = 0x41525053;
+
+    /**
+     * Format version.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * Minimal size of encoded permissions: all flag and count.
+     */
+    private static final int PERMS = Byte.BYTES + Integer.BYTES;
+
+    /**
+     * Users by name.
+     */
+    private final Map<String, User> users;
+
+    /**
+     * Roles permissions by name.
+     */
+    private final Map<String, PermissionCollection> roles;
+
+    /**
+     * Ctor.
+     * @param users Users by name
+     * @param roles Roles permissions by name
+     */
+    public BinarySnapshot(final Map<String, User> users,
+        final Map<String, PermissionCollection> roles) {
+        this.users = users;
+        this.roles = roles;
+    }
+
+    /**
+     * Users by name.
+     * @return Users
+     */
+    public Map<String, User> users() {
+        return Collections.unmodifiableMap(this.users);
+    }
+
+    /**
+     * Roles permissions by name.
+     * @return Roles permissions
+     */
+    public Map<String, PermissionCollection> roles() {
+        return Collections.unmodifiableMap(this.roles);
+    }
+
+    /**
+     * Write snapshot to storage.
+     * @param asto Storage
+     * @param key Snapshot key
+     * @return Completion of the write
+     */
+    public CompletionStage<Void> save(final Storage asto, final Key key) {
+        return asto.save(key, new Content.From(this.bytes()));
+    }
+
+    /**
+     * Encode snapshot.
+     * @return Snapshot bytes
+     * @throws ArtipieException If some permission is not supported by snapshot format
+     */
+    public byte[] bytes() {
+        final Map<String, User> usrs = new TreeMap<>(this.users);
+        final Map<String, PermissionCollection> rls = new TreeMap<>(this.roles);
+        final Strings strings = new Strings();
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final ByteArrayOutputStream res = new ByteArrayOutputStream();
+        try {
+            final DataOutputStream out = new DataOutputStream(body);
+            out.writeInt(rls.size());
+            for (final Map.Entry<String, PermissionCollection> role : rls.entrySet()) {
+                out.writeInt(strings.index(role.getKey()));
+                BinarySnapshot.write(out, strings, role.getValue());
+            }
+            out.writeInt(usrs.size());
+            for (final Map.Entry<String, User> user : usrs.entrySet()) {
+                out.writeInt(strings.index(user.getKey()));
+                final Collection<String> names = user.getValue().roles();
+                out.writeInt(names.size());
+                for (final String role : names) {
+                    out.writeInt(strings.index(role));
+                }
+                BinarySnapshot.write(out, strings, user.getValue().perms());
+            }
+            out.flush();
+            final DataOutputStream head = new DataOutputStream(res);
+            head.writeInt(BinarySnapshot.MAGIC);
+            head.writeShort(BinarySnapshot.VERSION);
+            head.writeInt(strings.all.size());
+            for (final String str : strings.all) {
+                final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+                head.writeInt(bytes.length);
+                head.write(bytes);
+            }
+            head.flush();
+            body.writeTo(res);
+        } catch (final IOException err) {
+            throw new UncheckedIOException(err);
+        }
+        return res.toByteArray();
+    }
+
+    /**
+     * Read snapshot from storage.
+     * @param asto Storage
+     * @param key Snapshot key
+     * @return Future snapshot
+     */
+    public static CompletionStage<BinarySnapshot> load(final Storage asto, final Key key) {
+        return asto.value(key)
+            .thenCompose(content -> new PublisherAs(content).bytes())
+            .thenApply(bytes -> BinarySnapshot.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    /**
+     * Convert users and roles yaml files to snapshot.
+     * @param asto Storage with users and roles yaml files, see {@link CachedYamlPolicy}
+     * @return Future snapshot
+     */
+    public static CompletionStage<BinarySnapshot> fromYaml(final Storage asto) {
+        final SnapshotPolicy policy = new SnapshotPolicy(asto);
+        return policy.reload().thenApply(none -> policy.binary());
+    }
+
+    /**
+     * Decode snapshot. Counts of items are checked against remaining bytes before
+     * allocation, and the snapshot must end with the last user.
+     * @param buf Snapshot bytes
+     * @return Snapshot
+     * @throws ArtipieException If bytes are not snapshot of supported version
+     */
+    public static BinarySnapshot decode(final ByteBuffer buf) {
+        if (buf.remaining() < Integer.BYTES + Short.BYTES || buf.getInt() != BinarySnapshot.MAGIC) {
+            throw new ArtipieException("Not a binary policy snapshot");
+        }
+        final short version = buf.getShort();
+        if (version != BinarySnapshot.VERSION) {
+            throw new ArtipieException(
+                String.format("Unsupported binary policy snapshot version %d", version)
+            );
+        }
+        try {
+            final String[] strings = new String[BinarySnapshot.count(buf, Integer.BYTES)];
+            for (int idx = 0; idx < strings.length; ++idx) {
+                final byte[] bytes = new byte[BinarySnapshot.count(buf, Byte.BYTES)];
+                buf.get(bytes);
+                strings[idx] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            final int rcount = BinarySnapshot.count(buf, Integer.BYTES + BinarySnapshot.PERMS);
+            final Map<String, PermissionCollection> rls = new HashMap<>(rcount);
+            for (int idx = 0; idx < rcount; ++idx) {
+                final String name = strings[buf.getInt()];
+                rls.put(name, BinarySnapshot.read(buf, strings));
+            }
+            final int ucount = BinarySnapshot.count(
+                buf, Integer.BYTES + Integer.BYTES + BinarySnapshot.PERMS
+            );
+            final Map<String, User> usrs = new HashMap<>(ucount);
+            for (int idx = 0; idx < ucount; ++idx) {
+                final String name = strings[buf.getInt()];
+                final Set<String> names = new HashSet<>();
+                for (int role = BinarySnapshot.count(buf, Integer.BYTES); role > 0; --role) {
+                    names.add(strings[buf.getInt()]);
+                }
+                usrs.put(
+                    name,
+                    new User.Simple(
+                        Collections.unmodifiableSet(names), BinarySnapshot.read(buf, strings)
+                    )
+                );
+            }
+            if (buf.hasRemaining()) {
+                throw new ArtipieException(
+                    String.format(
+                        "Broken binary policy snapshot: %d trailing bytes", buf.remaining()
+                    )
+                );
+            }
+            return new BinarySnapshot(usrs, rls);
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException
+            | IllegalArgumentException | NegativeArraySizeException err) {
+            throw new ArtipieException("Broken binary policy snapshot", err);
+        }
+    }
+
+    /**
+     * Write permissions.
+     * @param out Output
+     * @param strings Strings table
+     * @param perms Permissions
+     * @throws IOException On write error
+     */
+    private static void write(final DataOutputStream out, final Strings strings,
+        final PermissionCollection perms) throws IOException {
+        boolean all = perms instanceof FreePermissions;
+        final List<AdapterBasicPermission> basic = new ArrayList<>(0);
+        for (final Permission perm : Collections.list(perms.elements())) {
+            if (perm instanceof AllPermission) {
+                all = true;
+            } else if (perm instanceof AdapterBasicPermission) {
+                basic.add((AdapterBasicPermission) perm);
+            } else {
+                throw new ArtipieException(
+                    String.format(
+                        "Permission %s is not supported by binary policy snapshot",
+                        perm.getClass().getName()
+                    )
+                );
+            }
+        }
+        out.writeByte(all ? 1 : 0);
+        out.writeInt(basic.size());
+        for (final AdapterBasicPermission perm : basic) {
+            out.writeInt(strings.index(perm.getName()));
+            out.writeInt(perm.mask());
+        }
+    }
+
+    /**
+     * Read permissions.
+     * @param buf Input
+     * @param strings Strings table
+     * @return Permissions
+     */
+    private static PermissionCollection read(final ByteBuffer buf, final String[] strings) {
+        final boolean all = buf.get() != 0;
+        final int count = BinarySnapshot.count(buf, Integer.BYTES + Integer.BYTES);
+        final PermissionCollection res;
+        if (all || count > 0) {
+            res = new Permissions();
+            if (all) {
+                res.add(new AllPermission());
+            }
+            for (int idx = 0; idx < count; ++idx) {
+                final String name = strings[buf.getInt()];
+                res.add(new AdapterBasicPermission(name, buf.getInt()));
+            }
+        } else {
+            res = EmptyPermissions.INSTANCE;
+        }
+        return res;
+    }
+
+    /**
+     * Read count of items and check that remaining bytes are enough for them.
+     * @param buf Input
+     * @param size Minimal size of item in bytes
+     * @return Count
+     * @throws ArtipieException If count is negative or items don't fit remaining bytes
+     */
+    private static int count(final ByteBuffer buf, final int size) {
+        final int res = buf.getInt();
+        if (res < 0 || res > buf.remaining() / size) {
+            throw new ArtipieException(
+                String.format(
+                    "Broken binary policy snapshot: %d items don't fit %d bytes",
+                    res, buf.remaining()
+                )
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Strings table.
+     * @since 1.2
+     */
+    private static final class Strings {
+
+        /**
+         * Strings in order of indexes.
+         */
+        private final List<String> all;
+
+        /**
+         * Indexes of strings.
+         */
+        private final Map<String, Integer> indexes;
+
+        /**
+         * Ctor.
+         */
+        Strings() {
+            this.all = new ArrayList<>(0);
+            this.indexes = new HashMap<>();
+        }
+
+        /**
+         * Index of the string, string is added to the table if absent.
+         * @param str String
+         * @return Index
+         */
+        int index(final String str) {
+            return this.indexes.computeIfAbsent(
+                str,
+                key -> {
+                    this.all.add(key);
+                    return this.all.size() - 1;
+                }
+            );
+        }
+    }
+}
@@ -25,14 +25,17 @@ import com.google.common.cache.CacheBuilder;
 import com.jcabi.log.Logger;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.security.Permission;
 import java.security.PermissionCollection;
 import java.security.Permissions;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -83,6 +86,14 @@ import java.util.stream.Collectors;
  *     rpm-repo:
  *       - read
  * }</pre>
+ * Decisions of {@link #allowed(AuthUser, Permission)} are cached per user and permission,
+ * so repeated checks of the same permission don't walk user and roles permissions.
+ * Decisions are kept while permissions of the user are cached. Decisions of the user
+ * are dropped when the user is invalidated, and decisions of users with the role are
+ * dropped when the role is invalidated. Decisions made concurrently with invalidation
+ * are not cached: invalidation increments epoch counter before and after caches are
+ * cleared, and decision is kept only if it was started with even epoch and the epoch
+ * is not changed after the decision was put into the cache.
  * @since 1.2
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
@@ -99,6 +110,11 @@ public final class CachedYamlPolicy implements Policy<UserPermissions>, Cleanabl
     private static final PermissionConfig EMPTY_CONFIG =
         new PermissionConfig.Yaml(Yaml.createYamlMappingBuilder().build());
 
+    /**
+     * Default maximum amount of cached decisions.
+     */
+    private static final long DECISIONS = 10_000L;
+
     /**
      * Cache for usernames and {@link UserPermissions}.
      */
@@ -119,11 +135,53 @@ public final class CachedYamlPolicy implements Policy<UserPermissions>, Cleanabl
      */
     private final BlockingStorage asto;
 
+    /**
+     * Cache for permission check decisions.
+     */
+    private final Cache<Decision, Boolean> decisions;
+
+    /**
+     * Invalidations counter, it's odd while invalidation is in progress.
+     */
+    private final AtomicLong epoch;
+
+    /**
+     * Decisions found in cache.
+     */
+    private final AtomicLong hits;
+
+    /**
+     * Decisions not found in cache.
+     */
+    private final AtomicLong misses;
+
+    /**
+     * Ctor.
+     * @param cache Cache for usernames and {@link UserPermissions}
+     * @param users Cache for username and user individual permissions
+     * @param roles Cache for role name and role permissions
+     * @param asto Storage to read users and roles yaml files from
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    CachedYamlPolicy(
+        final Cache<String, UserPermissions> cache,
+        final Cache<String, User> users,
+        final Cache<String, PermissionCollection> roles,
+        final BlockingStorage asto
+    ) {
+        this(
+            cache, users, roles,
+            CacheBuilder.newBuilder().maximumSize(CachedYamlPolicy.DECISIONS).build(),
+            asto
+        );
+    }
+
     /**
      * Primary ctor.
      * @param cache Cache for usernames and {@link UserPermissions}
      * @param users Cache for username and user individual permissions
      * @param roles Cache for role name and role permissions
+     * @param decisions Cache for permission check decisions
      * @param asto Storage to read users and roles yaml files from
      * @checkstyle ParameterNumberCheck (10 lines)
      */
@@ -131,12 +189,31 @@ public final class CachedYamlPolicy implements Policy<UserPermissions>, Cleanabl
         final Cache<String, UserPermissions> cache,
         final Cache<String, User> users,
         final Cache<String, PermissionCollection> roles,
+        final Cache<Decision, Boolean> decisions,
         final BlockingStorage asto
     ) {
         this.cache = cache;
         this.users = users;
         this.roles = roles;
+        this.decisions = decisions;
         this.asto = asto;
+        this.epoch = new AtomicLong();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Ctor with caches without expiration: users and roles are kept until they are
+     * invalidated, e.g. by {@link PolicyWatch}.
+     * @param asto Storage to read users and roles yaml files from
+     */
+    public CachedYamlPolicy(final BlockingStorage asto) {
+        this(
+            CacheBuilder.newBuilder().build(),
+            CacheBuilder.newBuilder().build(),
+            CacheBuilder.newBuilder().build(),
+            asto
+        );
     }
 
     /**
@@ -149,6 +226,10 @@ public final class CachedYamlPolicy implements Policy<UserPermissions>, Cleanabl
             CacheBuilder.newBuilder().expireAfterAccess(eviction, TimeUnit.MILLISECONDS).build(),
             CacheBuilder.newBuilder().expireAfterAccess(eviction, TimeUnit.MILLISECONDS).build(),
             CacheBuilder.newBuilder().expireAfterAccess(eviction, TimeUnit.MILLISECONDS).build(),
+            CacheBuilder.newBuilder()
+                .maximumSize(CachedYamlPolicy.DECISIONS)
+                .expireAfterAccess(eviction, TimeUnit.MILLISECONDS)
+                .build(),
             asto
         );
     }
@@ -164,20 +245,70 @@ public final class CachedYamlPolicy implements Policy<UserPermissions>, Cleanabl
     }
 
     @Override
-    public void invalidate(final String key) {
-        if (this.cache.asMap().containsKey(key)) {
-            this.cache.invalidate(key);
-            this.users.invalidate(key);
-        } else if (this.roles.asMap().containsKey(key)) {
-            this.roles.invalidate(key);
+    public boolean allowed(final AuthUser user, final Permission perm) {
+        final Decision key = new Decision(user.name(), perm);
+        Boolean res = this.decisions.getIfPresent(key);
+        if (res == null || this.cache.getIfPresent(user.name()) == null) {
+            this.misses.incrementAndGet();
+            final long start = this.epoch.get();
+            res = this.getPermissions(user).implies(perm);
+            if (start % 2 == 0) {
+                this.decisions.put(key, res);
+                if (this.epoch.get() != start) {
+                    this.decisions.invalidate(key);
+                }
+            }
+        } else {
+            this.hits.incrementAndGet();
         }
+        return res;
     }
 
     @Override
-    public void invalidateAll() {
-        this.cache.invalidateAll();
-        this.users.invalidateAll();
-        this.roles.invalidateAll();
+    public synchronized void invalidate(final String key) {
+        this.epoch.incrementAndGet();
+        try {
+            if (this.cache.asMap().containsKey(key)) {
+                this.cache.invalidate(key);
+                this.users.invalidate(key);
+                this.decisions.asMap().keySet().removeIf(item -> item.user.equals(key));
+            } else if (this.roles.asMap().containsKey(key)) {
+                this.roles.invalidate(key);
+                this.cache.asMap().values().forEach(UserPermissions::invalidate);
+                this.decisions.asMap().keySet().removeIf(item -> this.withRole(item.user, key));
+            }
+        } finally {
+            this.epoch.incrementAndGet();
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        this.epoch.incrementAndGet();
+        try {
+            this.cache.invalidateAll();
+            this.users.invalidateAll();
+            this.roles.invalidateAll();
+            this.decisions.invalidateAll();
+        } finally {
+            this.epoch.incrementAndGet();
+        }
+    }
+
+    /**
+     * Ratio of permission checks answered by decisions cache.
+     * @return Hit ratio from 0 to 1, or 0 if nothing was checked yet
+     */
+    public double hitRatio() {
+        final long hit = this.hits.get();
+        final long total = hit + this.misses.get();
+        final double res;
+        if (total == 0) {
+            res = 0;
+        } else {
+            res = (double) hit / total;
+        }
+        return res;
     }
 
     /**
@@ -190,13 +321,7 @@ public final class CachedYamlPolicy implements Policy<UserPermissions>, Cleanabl
         PermissionCollection res;
         final String filename = String.format("roles/%s", role);
         try {
-            final YamlMapping mapping = CachedYamlPolicy.readFile(asto, filename);
-            final String enabled = mapping.string(AstoUser.ENABLED);
-            if (Boolean.FALSE.toString().equalsIgnoreCase(enabled)) {
-                res = EmptyPermissions.INSTANCE;
-            } else {
-                res = CachedYamlPolicy.readPermissionsFromYaml(mapping);
-            }
+            res = CachedYamlPolicy.rolePermissions(CachedYamlPolicy.readFile(asto, filename));
         } catch (final IOException | ValueNotFoundException err) {
             Logger.error(err, String.format("Failed to read/parse file '%s'", filename));
             res = EmptyPermissions.INSTANCE;
@@ -204,6 +329,22 @@ public final class CachedYamlPolicy implements Policy<UserPermissions>, Cleanabl
         return res;
     }
 
+    /**
+     * Get role permissions from role yaml.
+     * @param mapping Role yaml
+     * @return Permissions of the role
+     */
+    static PermissionCollection rolePermissions(final YamlMapping mapping) {
+        final PermissionCollection res;
+        final String enabled = mapping.string(AstoUser.ENABLED);
+        if (Boolean.FALSE.toString().equalsIgnoreCase(enabled)) {
+            res = EmptyPermissions.INSTANCE;
+        } else {
+            res = CachedYamlPolicy.readPermissionsFromYaml(mapping);
+        }
+        return res;
+    }
+
     /**
      * Create instance for {@link UserPermissions} if not found in cache,
      * arguments for the {@link UserPermissions} ctor are the following:
@@ -226,6 +367,18 @@ public final class CachedYamlPolicy implements Policy<UserPermissions>, Cleanabl
         );
     }
 
+    /**
+     * Check if user may have the role: user has the role or it's not cached, so
+     * its roles are unknown.
+     * @param uname User name
+     * @param role Role name
+     * @return True if user may have the role
+     */
+    private boolean withRole(final String uname, final String role) {
+        final User usr = this.users.getIfPresent(uname);
+        return usr == null || usr.roles().contains(role);
+    }
+
     /**
      * Read yaml file from storage considering both yaml and yml extensions. If nighter
      * version exists, exception is thrown.
@@ -279,6 +432,52 @@ public final class CachedYamlPolicy implements Policy<UserPermissions>, Cleanabl
         return res;
     }
 
+    /**
+     * Permission check decision key: user name and required permission.
+     * @since 1.2
+     */
+    static final class Decision {
+
+        /**
+         * User name.
+         */
+        private final String user;
+
+        /**
+         * Required permission.
+         */
+        private final Permission perm;
+
+        /**
+         * Ctor.
+         * @param user User name
+         * @param perm Required permission
+         */
+        Decision(final String user, final Permission perm) {
+            this.user = user;
+            this.perm = perm;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            final boolean res;
+            if (obj == this) {
+                res = true;
+            } else if (obj instanceof Decision) {
+                final Decision that = (Decision) obj;
+                res = this.user.equals(that.user) && this.perm.equals(that.perm);
+            } else {
+                res = false;
+            }
+            return res;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.user, this.perm);
+        }
+    }
+
     /**
      * User from storage.
      * @since 1.2
@@ -315,7 +514,14 @@ public final class CachedYamlPolicy implements Policy<UserPermissions>, Cleanabl
          * @param username The name of the user
          */
         AstoUser(final BlockingStorage asto, final String username) {
-            final YamlMapping yaml = getYamlMapping(asto, username);
+            this(getYamlMapping(asto, username));
+        }
+
+        /**
+         * Ctor.
+         * @param yaml User yaml
+         */
+        AstoUser(final YamlMapping yaml) {
             this.perms = perms(yaml);
             this.roles = roles(yaml);
         }
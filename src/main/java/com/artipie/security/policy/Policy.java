@@ -7,7 +7,14 @@ package com.artipie.security.policy;
 import com.artipie.http.auth.AuthUser;
 import com.artipie.security.perms.AdapterBasicPermission;
 import com.artipie.security.perms.FreePermissions;
+import com.artipie.security.perms.UserPermissions;
+import java.security.Permission;
 import java.security.PermissionCollection;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Security policy.
@@ -34,4 +41,60 @@ public interface Policy<P extends PermissionCollection> {
      */
     P getPermissions(AuthUser user);
 
+    /**
+     * Check if permission is granted to user.
+     * <p>
+     * By default, permission is checked by the collection of user permissions,
+     * implementations may override it to cache decisions.
+     *
+     * @param user User
+     * @param perm Required permission
+     * @return True if granted
+     */
+    default boolean allowed(final AuthUser user, final Permission perm) {
+        return this.getPermissions(user).implies(perm);
+    }
+
+    /**
+     * Check batch of {@link AdapterBasicPermission} permissions for user, e.g. to find
+     * repositories which user can read.
+     *
+     * @param user User
+     * @param batch Repository names and required action masks, see
+     *  {@link com.artipie.security.perms.Action#mask()}
+     * @return Bit set, where bit is set if permission with the same index is granted
+     */
+    default BitSet allowed(final AuthUser user,
+        final List<? extends Map.Entry<String, Integer>> batch) {
+        final P perms = this.getPermissions(user);
+        final BitSet res;
+        if (perms instanceof UserPermissions) {
+            res = ((UserPermissions) perms).implies(batch);
+        } else {
+            res = new BitSet(batch.size());
+            int idx = 0;
+            for (final Map.Entry<String, Integer> item : batch) {
+                if (perms.implies(new AdapterBasicPermission(item.getKey(), item.getValue()))) {
+                    res.set(idx);
+                }
+                idx += 1;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Check asynchronously if permission is granted to user.
+     * <p>
+     * By default, it's checked by {@link #allowed(AuthUser, Permission)},
+     * implementations which load permissions asynchronously should override it.
+     *
+     * @param user User
+     * @param perm Required permission
+     * @return Future result, true if granted
+     */
+    default CompletionStage<Boolean> check(final AuthUser user, final Permission perm) {
+        return CompletableFuture.completedFuture(this.allowed(user, perm));
+    }
+
 }
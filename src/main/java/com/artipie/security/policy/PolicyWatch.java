@@ -0,0 +1,300 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.misc.Cleanable;
+import com.google.common.collect.Iterables;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.jcabi.log.Logger;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Watch of users and roles yaml files in policy storage. It invalidates exactly
+ * changed, added and removed users and roles in the policy through
+ * {@link Cleanable#invalidate(Object)}, so policy caches can keep users and roles
+ * as long as they are not changed.
+ * <p/>
+ * Changes are detected by polling: {@link #check()} lists {@code users} and
+ * {@code roles} keys and compares their fingerprints with fingerprints of previous check.
+ * Fingerprint is md5 from storage metadata. If storage doesn't provide md5, fingerprint
+ * is checksum of content, which is calculated again only if size or update time
+ * from metadata changed since previous check. Keys are checked by batches of
+ * limited size. The first check only remembers fingerprints. Storages with change
+ * notifications can report changed keys to {@link #changed(Key)} instead of polling.
+ * @since 1.2
+ */
+public final class PolicyWatch implements Closeable {
+
+    /**
+     * Shared scheduler for periodic checks.
+     */
+    static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("artipie-policy-%d").build()
+    );
+
+    /**
+     * Watched directories.
+     */
+    private static final Collection<String> DIRS = Arrays.asList("users", "roles");
+
+    /**
+     * Maximum amount of keys checked concurrently.
+     */
+    private static final int BATCH = 16;
+
+    /**
+     * Policy storage.
+     */
+    private final Storage asto;
+
+    /**
+     * Policy to invalidate.
+     */
+    private final Cleanable<String> policy;
+
+    /**
+     * Fingerprints of previous check by key, null before the first check.
+     */
+    private final AtomicReference<Map<String, Print>> prints;
+
+    /**
+     * Check is in progress.
+     */
+    private final AtomicBoolean running;
+
+    /**
+     * Scheduled periodic checks.
+     */
+    private final AtomicReference<Future<?>> task;
+
+    /**
+     * Ctor.
+     * @param asto Policy storage
+     * @param policy Policy to invalidate
+     */
+    public PolicyWatch(final Storage asto, final Cleanable<String> policy) {
+        this.asto = asto;
+        this.policy = policy;
+        this.prints = new AtomicReference<>();
+        this.running = new AtomicBoolean();
+        this.task = new AtomicReference<>();
+    }
+
+    /**
+     * Start periodic checks.
+     * @param interval Interval between checks
+     * @return Itself
+     */
+    public PolicyWatch start(final Duration interval) {
+        final Future<?> scheduled = PolicyWatch.TIMER.scheduleWithFixedDelay(
+            this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS
+        );
+        final Future<?> prev = this.task.getAndSet(scheduled);
+        if (prev != null) {
+            prev.cancel(false);
+        }
+        return this;
+    }
+
+    /**
+     * Check storage for changes and invalidate changed users and roles. The check
+     * is skipped if previous check is still in progress.
+     * @return Completion of the check
+     */
+    public CompletionStage<Void> check() {
+        final CompletionStage<Void> res;
+        if (this.running.compareAndSet(false, true)) {
+            // storage is scanned inside the stage, so synchronous errors of storage
+            // calls complete the stage exceptionally and the flag is always reset
+            res = CompletableFuture.completedFuture(PolicyWatch.DIRS)
+                .thenCompose(this::scan)
+                .thenAccept(this::update)
+                .exceptionally(
+                    err -> {
+                        Logger.error(this, "Failed to check policy changes: %[exception]s", err);
+                        return null;
+                    }
+                ).whenComplete((none, err) -> this.running.set(false));
+        } else {
+            res = CompletableFuture.allOf();
+        }
+        return res;
+    }
+
+    /**
+     * Policy file was changed, added or removed.
+     * @param key Key of users or roles yaml file
+     */
+    public void changed(final Key key) {
+        final String str = key.string();
+        for (final String dir : PolicyWatch.DIRS) {
+            if (str.startsWith(String.format("%s/", dir))) {
+                this.policy.invalidate(AstoYaml.name(dir, str));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        final Future<?> prev = this.task.getAndSet(null);
+        if (prev != null) {
+            prev.cancel(false);
+        }
+    }
+
+    /**
+     * Collect fingerprints of all keys in directories.
+     * @param dirs Directories
+     * @return Future fingerprints by key
+     */
+    private CompletableFuture<Map<String, Print>> scan(final Collection<String> dirs) {
+        final Collection<Key> keys = new ConcurrentLinkedQueue<>();
+        return CompletableFuture.allOf(
+            dirs.stream().map(
+                dir -> this.asto.list(new Key.From(dir)).thenAccept(keys::addAll)
+            ).toArray(CompletableFuture[]::new)
+        ).thenCompose(none -> this.fingerprints(keys));
+    }
+
+    /**
+     * Collect fingerprints of keys by batches, keys of the batch are checked concurrently.
+     * @param keys Keys
+     * @return Future fingerprints by key
+     */
+    private CompletableFuture<Map<String, Print>> fingerprints(final Collection<Key> keys) {
+        final Map<String, Print> prev = Optional.ofNullable(this.prints.get())
+            .orElse(Collections.emptyMap());
+        final Map<String, Print> found = new ConcurrentHashMap<>();
+        CompletableFuture<Void> res = CompletableFuture.allOf();
+        for (final List<Key> batch : Iterables.partition(keys, PolicyWatch.BATCH)) {
+            res = res.thenCompose(
+                none -> CompletableFuture.allOf(
+                    batch.stream().map(
+                        key -> this.fingerprint(key, prev.get(key.string())).thenAccept(
+                            print -> found.put(key.string(), print)
+                        ).toCompletableFuture()
+                    ).toArray(CompletableFuture[]::new)
+                )
+            );
+        }
+        return res.thenApply(none -> found);
+    }
+
+    /**
+     * Remember current fingerprints and invalidate keys changed since previous check.
+     * @param current Current fingerprints
+     */
+    private void update(final Map<String, Print> current) {
+        final Map<String, Print> prev = this.prints.getAndSet(current);
+        if (prev != null) {
+            this.compare(prev, current);
+        }
+    }
+
+    /**
+     * Invalidate keys which fingerprints differ.
+     * @param prev Previous fingerprints
+     * @param current Current fingerprints
+     */
+    private void compare(final Map<String, Print> prev, final Map<String, Print> current) {
+        final Set<String> keys = new HashSet<>(prev.keySet());
+        keys.addAll(current.keySet());
+        for (final String key : keys) {
+            final Print was = prev.get(key);
+            final Print now = current.get(key);
+            if (was == null || now == null || !was.hash.equals(now.hash)) {
+                this.changed(new Key.From(key));
+            }
+        }
+    }
+
+    /**
+     * Fingerprint of the key: md5 from metadata, or checksum of the value if size or
+     * update time from metadata differ from previous fingerprint or are not provided.
+     * @param key Key
+     * @param prev Previous fingerprint of the key, null if key is new
+     * @return Future fingerprint
+     */
+    private CompletionStage<Print> fingerprint(final Key key, final Print prev) {
+        return this.asto.metadata(key).thenCompose(
+            meta -> {
+                final Optional<String> md5 = meta.read(Meta.OP_MD5);
+                final CompletionStage<Print> res;
+                if (md5.isPresent()) {
+                    res = CompletableFuture.completedFuture(new Print("", md5.get()));
+                } else {
+                    final Optional<Long> size = meta.read(Meta.OP_SIZE);
+                    final Optional<String> stamp = meta.read(Meta.OP_UPDATED_AT).flatMap(
+                        updated -> size.map(len -> String.format("%d@%s", len, updated))
+                    );
+                    if (prev != null && stamp.isPresent() && stamp.get().equals(prev.stamp)) {
+                        res = CompletableFuture.completedFuture(prev);
+                    } else {
+                        res = this.asto.value(key)
+                            .thenCompose(content -> new PublisherAs(content).bytes())
+                            .thenApply(
+                                bytes -> new Print(
+                                    stamp.orElse(""),
+                                    Hashing.sha256().hashBytes(bytes).toString()
+                                )
+                            );
+                    }
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Fingerprint of policy file.
+     * @since 1.2
+     */
+    private static final class Print {
+
+        /**
+         * Size and update time from metadata, empty if not provided.
+         */
+        private final String stamp;
+
+        /**
+         * Md5 or checksum of content.
+         */
+        private final String hash;
+
+        /**
+         * Ctor.
+         * @param stamp Size and update time from metadata, empty if not provided
+         * @param hash Md5 or checksum of content
+         */
+        Print(final String stamp, final String hash) {
+            this.stamp = stamp;
+            this.hash = hash;
+        }
+    }
+}
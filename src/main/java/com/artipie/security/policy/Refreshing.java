@@ -0,0 +1,302 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Asynchronous cache with refresh after write semantics: values older than refresh
+ * interval are reloaded in background, while the previous value is still served.
+ * Only one reload per key is performed at a time. Values which were not accessed
+ * during eviction interval are removed, if the interval is specified.
+ * <p/>
+ * Failed load or reload is not retried on each access: the next attempt is made after
+ * retry delay, which starts from 1 second and is doubled after each failure, but it's
+ * never longer than refresh interval. Previous value is served until reload succeeds.
+ * @param <T> Value type
+ * @since 1.2
+ */
+final class Refreshing<T> {
+
+    /**
+     * First retry delay in milliseconds.
+     */
+    private static final long RETRY = 1000L;
+
+    /**
+     * Maximum power of two to multiply retry delay by.
+     */
+    private static final int BACKOFF = 20;
+
+    /**
+     * Cache entries by key.
+     */
+    private final Cache<String, Entry<T>> cache;
+
+    /**
+     * Values loader.
+     */
+    private final Function<String, CompletionStage<T>> loader;
+
+    /**
+     * Refresh interval in milliseconds.
+     */
+    private final long refresh;
+
+    /**
+     * Clock.
+     */
+    private final Clock clock;
+
+    /**
+     * Ctor.
+     * @param loader Values loader
+     * @param refresh Refresh interval
+     * @param eviction Eviction interval, values are not evicted if empty
+     */
+    Refreshing(final Function<String, CompletionStage<T>> loader, final Duration refresh,
+        final Optional<Duration> eviction) {
+        this(loader, refresh, eviction, Clock.systemUTC());
+    }
+
+    /**
+     * Ctor.
+     * @param loader Values loader
+     * @param refresh Refresh interval
+     * @param eviction Eviction interval, values are not evicted if empty
+     * @param clock Clock
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    Refreshing(final Function<String, CompletionStage<T>> loader, final Duration refresh,
+        final Optional<Duration> eviction, final Clock clock) {
+        this.loader = loader;
+        this.refresh = refresh.toMillis();
+        this.clock = clock;
+        if (eviction.isPresent()) {
+            this.cache = CacheBuilder.newBuilder()
+                .expireAfterAccess(eviction.get().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        } else {
+            this.cache = CacheBuilder.newBuilder().build();
+        }
+    }
+
+    /**
+     * Get value, stale value is returned if it's being reloaded.
+     * @param key Key
+     * @return Future value
+     */
+    CompletableFuture<T> get(final String key) {
+        final Entry<T> entry = this.entry(key);
+        if (entry.stale(this.clock.millis())) {
+            this.reload(key, entry);
+        }
+        return entry.value;
+    }
+
+    /**
+     * Get value, wait for reload if the value is stale.
+     * @param key Key
+     * @return Future value
+     */
+    CompletableFuture<T> fresh(final String key) {
+        final Entry<T> entry = this.entry(key);
+        final CompletableFuture<T> res;
+        if (entry.stale(this.clock.millis())) {
+            res = this.reload(key, entry);
+        } else {
+            res = entry.value;
+        }
+        return res;
+    }
+
+    /**
+     * Check if key is present in cache.
+     * @param key Key
+     * @return True if present
+     */
+    boolean contains(final String key) {
+        return this.cache.asMap().containsKey(key);
+    }
+
+    /**
+     * Mark value as stale, so it's reloaded on next access.
+     * @param key Key
+     */
+    void expire(final String key) {
+        final Entry<T> entry = this.cache.getIfPresent(key);
+        if (entry != null) {
+            this.cache.asMap().replace(key, entry, entry.expired());
+        }
+    }
+
+    /**
+     * Mark all values as stale.
+     */
+    void expireAll() {
+        for (final String key : this.cache.asMap().keySet()) {
+            this.expire(key);
+        }
+    }
+
+    /**
+     * Get entry or start loading it.
+     * @param key Key
+     * @return Cache entry
+     */
+    private Entry<T> entry(final String key) {
+        Entry<T> res = this.cache.getIfPresent(key);
+        if (res == null) {
+            final Entry<T> created = new Entry<>(new CompletableFuture<>(), this.deadline(), 0);
+            res = this.cache.asMap().putIfAbsent(key, created);
+            if (res == null) {
+                res = created;
+                this.loader.apply(key).whenComplete(
+                    (val, err) -> {
+                        if (err == null) {
+                            created.value.complete(val);
+                        } else {
+                            this.cache.asMap().replace(key, created, this.failed(created));
+                            created.value.completeExceptionally(err);
+                        }
+                    }
+                );
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Reload stale entry, if it's not reloaded yet.
+     * @param key Key
+     * @param entry Stale entry
+     * @return Future reloaded value, or previous value if reload fails
+     */
+    private CompletableFuture<T> reload(final String key, final Entry<T> entry) {
+        final CompletableFuture<T> next = new CompletableFuture<>();
+        final CompletableFuture<T> res;
+        if (entry.reload.compareAndSet(null, next)) {
+            res = next;
+            this.loader.apply(key).whenComplete(
+                (val, err) -> {
+                    if (err == null) {
+                        this.cache.asMap().replace(
+                            key, entry,
+                            new Entry<>(CompletableFuture.completedFuture(val), this.deadline(), 0)
+                        );
+                        next.complete(val);
+                    } else {
+                        this.cache.asMap().replace(key, entry, this.failed(entry));
+                        entry.value.whenComplete(
+                            (prev, failure) -> {
+                                if (failure == null) {
+                                    next.complete(prev);
+                                } else {
+                                    next.completeExceptionally(err);
+                                }
+                            }
+                        );
+                    }
+                }
+            );
+        } else {
+            final CompletableFuture<T> cur = entry.reload.get();
+            if (cur == null) {
+                res = entry.value;
+            } else {
+                res = cur;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Refresh deadline of entry loaded now.
+     * @return Deadline in milliseconds
+     */
+    private long deadline() {
+        return this.clock.millis() + this.refresh;
+    }
+
+    /**
+     * Copy of entry which failed to load, it keeps the value and is retried after delay.
+     * @param entry Failed entry
+     * @return Entry with retry deadline
+     */
+    private Entry<T> failed(final Entry<T> entry) {
+        final long delay = Math.min(
+            this.refresh,
+            Refreshing.RETRY << Math.min(entry.failures, Refreshing.BACKOFF)
+        );
+        return new Entry<>(entry.value, this.clock.millis() + delay, entry.failures + 1);
+    }
+
+    /**
+     * Cache entry.
+     * @param <T> Value type
+     * @since 1.2
+     */
+    private static final class Entry<T> {
+
+        /**
+         * Future value.
+         */
+        private final CompletableFuture<T> value;
+
+        /**
+         * Refresh deadline in milliseconds.
+         */
+        private final long deadline;
+
+        /**
+         * Amount of failed loads in a row.
+         */
+        private final int failures;
+
+        /**
+         * Reload in progress.
+         */
+        private final AtomicReference<CompletableFuture<T>> reload;
+
+        /**
+         * Ctor.
+         * @param value Future value
+         * @param deadline Refresh deadline in milliseconds
+         * @param failures Amount of failed loads in a row
+         */
+        Entry(final CompletableFuture<T> value, final long deadline, final int failures) {
+            this.value = value;
+            this.deadline = deadline;
+            this.failures = failures;
+            this.reload = new AtomicReference<>();
+        }
+
+        /**
+         * Check if value is loaded and should be reloaded.
+         * @param now Current time in milliseconds
+         * @return True if stale
+         */
+        boolean stale(final long now) {
+            return this.value.isDone() && now >= this.deadline;
+        }
+
+        /**
+         * Copy of this entry which is stale already.
+         * @return Expired entry
+         */
+        Entry<T> expired() {
+            return new Entry<>(this.value, Long.MIN_VALUE, this.failures);
+        }
+    }
+}
@@ -0,0 +1,419 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.misc.Cleanable;
+import com.artipie.http.auth.AuthUser;
+import com.artipie.security.perms.EmptyPermissions;
+import com.artipie.security.perms.User;
+import com.artipie.security.perms.UserPermissions;
+import com.jcabi.log.Logger;
+import java.security.PermissionCollection;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Preloaded yaml policy. All users and roles yaml files are read from {@link Storage}
+ * in parallel by {@link #reload()} and kept in immutable in-memory snapshot, the storage
+ * layout and yaml format are the same as for {@link CachedYamlPolicy}.
+ * <p/>
+ * Permissions checks use current snapshot only and never address the storage, not
+ * loaded user has no permissions. Reload builds new snapshot and replaces current one
+ * atomically, so checks see either old or new snapshot but never partially loaded one.
+ * Invalidation through {@link Cleanable} methods reloads changed user or role and
+ * replaces the snapshot with the same way. Snapshot can also be loaded from and exported
+ * to {@link BinarySnapshot} to start without yaml parsing.
+ * <p/>
+ * Each reload takes a version when it starts, and snapshot remembers versions of its users
+ * and roles, so concurrent reloads can complete in any order: result of reload is merged
+ * into current snapshot, and users and roles loaded by later started reloads are kept.
+ * Users and roles files, which can't be read or parsed by full reload, are logged and
+ * their previous state is kept in the snapshot.
+ * @since 1.2
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class SnapshotPolicy implements Policy<UserPermissions>, Cleanable<String> {
+
+    /**
+     * Permissions of not loaded user.
+     */
+    private static final UserPermissions EMPTY = new UserPermissions(
+        () -> new User.Simple(Collections.emptySet(), EmptyPermissions.INSTANCE),
+        role -> EmptyPermissions.INSTANCE
+    );
+
+    /**
+     * Users directory.
+     */
+    private static final String USERS = "users";
+
+    /**
+     * Roles directory.
+     */
+    private static final String ROLES = "roles";
+
+    /**
+     * Storage to read users and roles yaml files from.
+     */
+    private final Storage asto;
+
+    /**
+     * Yaml files reader.
+     */
+    private final AstoYaml files;
+
+    /**
+     * Current snapshot.
+     */
+    private final AtomicReference<Snapshot> snapshot;
+
+    /**
+     * Last version taken by reload.
+     */
+    private final AtomicLong version;
+
+    /**
+     * Ctor.
+     * @param asto Storage to read users and roles yaml files from
+     */
+    public SnapshotPolicy(final Storage asto) {
+        this.asto = asto;
+        this.files = new AstoYaml(asto);
+        this.snapshot = new AtomicReference<>(
+            new Snapshot(
+                Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), 0L
+            )
+        );
+        this.version = new AtomicLong();
+    }
+
+    @Override
+    public UserPermissions getPermissions(final AuthUser user) {
+        return this.snapshot.get().perms.getOrDefault(user.name(), SnapshotPolicy.EMPTY);
+    }
+
+    @Override
+    public void invalidate(final String key) {
+        this.reload(key).exceptionally(
+            err -> {
+                Logger.error(this, "Failed to reload '%s': %[exception]s", key, err);
+                return null;
+            }
+        );
+    }
+
+    @Override
+    public void invalidateAll() {
+        this.reload().exceptionally(
+            err -> {
+                Logger.error(this, "Failed to reload policy: %[exception]s", err);
+                return null;
+            }
+        );
+    }
+
+    /**
+     * Load all users and roles and replace current snapshot.
+     * @return Completion of the reload
+     */
+    public CompletionStage<Void> reload() {
+        final long ver = this.version.incrementAndGet();
+        final CompletableFuture<Map<String, Optional<User>>> users = this.all(
+            SnapshotPolicy.USERS, CachedYamlPolicy.AstoUser::new
+        );
+        final CompletableFuture<Map<String, Optional<PermissionCollection>>> roles = this.all(
+            SnapshotPolicy.ROLES, CachedYamlPolicy::rolePermissions
+        );
+        return users.thenCombine(
+            roles,
+            (usrs, rls) -> this.snapshot.updateAndGet(snap -> snap.merged(usrs, rls, ver))
+        ).thenAccept(snap -> { });
+    }
+
+    /**
+     * Replace current snapshot with users and roles from binary snapshot.
+     * @param binary Binary snapshot
+     */
+    public void load(final BinarySnapshot binary) {
+        final long ver = this.version.incrementAndGet();
+        this.snapshot.updateAndGet(
+            snap -> snap.merged(
+                SnapshotPolicy.present(binary.users()), SnapshotPolicy.present(binary.roles()),
+                ver
+            )
+        );
+    }
+
+    /**
+     * Users and roles of current snapshot as binary snapshot.
+     * @return Binary snapshot
+     */
+    public BinarySnapshot binary() {
+        final Snapshot snap = this.snapshot.get();
+        return new BinarySnapshot(snap.users, snap.roles);
+    }
+
+    /**
+     * Load user and role with the name and replace them in current snapshot,
+     * user or role is removed from the snapshot if its file does not exist.
+     * @param name User or role name
+     * @return Completion of the reload
+     */
+    public CompletionStage<Void> reload(final String name) {
+        final long ver = this.version.incrementAndGet();
+        final CompletableFuture<Optional<User>> user = this.files
+            .find(String.format("%s/%s", SnapshotPolicy.USERS, name))
+            .thenApplyAsync(yaml -> yaml.<User>map(CachedYamlPolicy.AstoUser::new))
+            .toCompletableFuture();
+        final CompletableFuture<Optional<PermissionCollection>> role = this.files
+            .find(String.format("%s/%s", SnapshotPolicy.ROLES, name))
+            .thenApplyAsync(yaml -> yaml.map(CachedYamlPolicy::rolePermissions))
+            .toCompletableFuture();
+        return user.thenCombine(
+            role,
+            (usr, perms) -> this.snapshot.updateAndGet(snap -> snap.with(name, usr, perms, ver))
+        ).thenAccept(snap -> { });
+    }
+
+    /**
+     * Read and convert all yaml files of the directory in parallel. Errors of reading
+     * and converting are logged per file.
+     * @param dir Directory
+     * @param convert Yaml converter
+     * @param <T> Type of converted items
+     * @return Future items by name, item is empty if its file can't be read or converted
+     */
+    private <T> CompletableFuture<Map<String, Optional<T>>> all(
+        final String dir, final Function<YamlMapping, T> convert
+    ) {
+        return this.asto.list(new Key.From(dir)).thenCompose(
+            keys -> {
+                final List<CompletableFuture<Map.Entry<String, Optional<T>>>> items = keys
+                    .stream()
+                    .filter(AstoYaml::isYaml)
+                    .map(
+                        key -> this.files.read(key)
+                            .thenApplyAsync(yaml -> Optional.of(convert.apply(yaml)))
+                            .exceptionally(
+                                err -> {
+                                    Logger.error(
+                                        this, "Failed to load '%s': %[exception]s",
+                                        key.string(), err
+                                    );
+                                    return Optional.empty();
+                                }
+                            ).<Map.Entry<String, Optional<T>>>thenApply(
+                                item -> new AbstractMap.SimpleImmutableEntry<>(
+                                    AstoYaml.name(dir, key.string()), item
+                                )
+                            ).toCompletableFuture()
+                    ).collect(Collectors.toList());
+                return CompletableFuture.allOf(items.toArray(new CompletableFuture[0]))
+                    .thenApply(
+                        none -> items.stream().map(CompletableFuture::join).collect(
+                            Collectors.toMap(
+                                Map.Entry::getKey, Map.Entry::getValue, (first, second) -> first
+                            )
+                        )
+                    );
+            }
+        );
+    }
+
+    /**
+     * Items of the map as present optional items.
+     * @param map Map
+     * @param <T> Items type
+     * @return Map with optional items
+     */
+    private static <T> Map<String, Optional<T>> present(final Map<String, T> map) {
+        final Map<String, Optional<T>> res = new HashMap<>(map.size());
+        for (final Map.Entry<String, T> item : map.entrySet()) {
+            res.put(item.getKey(), Optional.of(item.getValue()));
+        }
+        return res;
+    }
+
+    /**
+     * Immutable snapshot of users and roles.
+     * @since 1.2
+     */
+    private static final class Snapshot {
+
+        /**
+         * Users by name.
+         */
+        private final Map<String, User> users;
+
+        /**
+         * Roles permissions by name.
+         */
+        private final Map<String, PermissionCollection> roles;
+
+        /**
+         * Users permissions by name.
+         */
+        private final Map<String, UserPermissions> perms;
+
+        /**
+         * Versions of users and roles names loaded after the base version.
+         */
+        private final Map<String, Long> versions;
+
+        /**
+         * Version of the last merged full reload, which is the version of other names.
+         */
+        private final long base;
+
+        /**
+         * Ctor.
+         * @param users Users by name
+         * @param roles Roles permissions by name
+         * @param versions Versions of users and roles names loaded after the base version
+         * @param base Version of the last merged full reload
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Snapshot(final Map<String, User> users, final Map<String, PermissionCollection> roles,
+            final Map<String, Long> versions, final long base) {
+            this.users = Collections.unmodifiableMap(users);
+            this.roles = Collections.unmodifiableMap(roles);
+            this.versions = Collections.unmodifiableMap(versions);
+            this.base = base;
+            final Map<String, UserPermissions> all = new HashMap<>(users.size());
+            for (final Map.Entry<String, User> entry : users.entrySet()) {
+                final User user = entry.getValue();
+                all.put(
+                    entry.getKey(),
+                    new UserPermissions(
+                        () -> user,
+                        role -> this.roles.getOrDefault(role, EmptyPermissions.INSTANCE)
+                    )
+                );
+            }
+            this.perms = Collections.unmodifiableMap(all);
+        }
+
+        /**
+         * Copy of the snapshot with replaced user and role, the snapshot itself is
+         * returned if the name was loaded by later started reload.
+         * @param name User or role name
+         * @param user User, empty to remove the user
+         * @param role Role permissions, empty to remove the role
+         * @param version Version of the reload
+         * @return New snapshot
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Snapshot with(final String name, final Optional<User> user,
+            final Optional<PermissionCollection> role, final long version) {
+            final Snapshot res;
+            if (this.version(name) > version) {
+                res = this;
+            } else {
+                final Map<String, Long> vers = new HashMap<>(this.versions);
+                vers.put(name, version);
+                res = new Snapshot(
+                    Snapshot.replaced(this.users, name, user),
+                    Snapshot.replaced(this.roles, name, role),
+                    vers, this.base
+                );
+            }
+            return res;
+        }
+
+        /**
+         * Merge result of full reload into the snapshot. Users and roles loaded by
+         * later started reloads are kept, other users and roles are replaced with loaded
+         * ones and removed if they are absent in loaded ones.
+         * @param users Loaded users, empty user is kept as is
+         * @param roles Loaded roles, empty role is kept as is
+         * @param version Version of the reload
+         * @return New snapshot
+         */
+        Snapshot merged(final Map<String, Optional<User>> users,
+            final Map<String, Optional<PermissionCollection>> roles, final long version) {
+            final Map<String, Long> vers = new HashMap<>(0);
+            for (final Map.Entry<String, Long> item : this.versions.entrySet()) {
+                if (item.getValue() > version) {
+                    vers.put(item.getKey(), item.getValue());
+                }
+            }
+            return new Snapshot(
+                this.items(this.users, users, version),
+                this.items(this.roles, roles, version),
+                vers, Math.max(this.base, version)
+            );
+        }
+
+        /**
+         * Version of the user or role name.
+         * @param name Name
+         * @return Version
+         */
+        private long version(final String name) {
+            return this.versions.getOrDefault(name, this.base);
+        }
+
+        /**
+         * Merge loaded items into current ones.
+         * @param current Current items
+         * @param loaded Loaded items, empty item is kept as is
+         * @param version Version of the reload
+         * @param <T> Items type
+         * @return Merged items
+         */
+        private <T> Map<String, T> items(final Map<String, T> current,
+            final Map<String, Optional<T>> loaded, final long version) {
+            final Map<String, T> res = new HashMap<>(loaded.size());
+            for (final Map.Entry<String, T> item : current.entrySet()) {
+                if (this.version(item.getKey()) > version) {
+                    res.put(item.getKey(), item.getValue());
+                }
+            }
+            for (final Map.Entry<String, Optional<T>> item : loaded.entrySet()) {
+                final String name = item.getKey();
+                if (this.version(name) <= version) {
+                    if (item.getValue().isPresent()) {
+                        res.put(name, item.getValue().get());
+                    } else if (current.containsKey(name)) {
+                        res.put(name, current.get(name));
+                    }
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Copy of the map with replaced or removed item.
+         * @param map Map
+         * @param name Item name
+         * @param item Item, empty to remove
+         * @param <T> Items type
+         * @return New map
+         */
+        private static <T> Map<String, T> replaced(final Map<String, T> map,
+            final String name, final Optional<T> item) {
+            final Map<String, T> res = new HashMap<>(map);
+            if (item.isPresent()) {
+                res.put(name, item.get());
+            } else {
+                res.remove(name);
+            }
+            return res;
+        }
+    }
+}
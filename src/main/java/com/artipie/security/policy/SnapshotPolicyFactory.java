@@ -0,0 +1,179 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.factory.Config;
+import com.jcabi.log.Logger;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Policy factory to create {@link SnapshotPolicy}. All users and roles are loaded
+ * from storage when the policy is created, configuration format is the following:
+ *
+ * policy:
+ *   type: artipie-snapshot
+ *   snapshot: policy.bin # not required, enables binary snapshot
+ *   watch_millis: 5000 # not required, enables storage changes watch
+ *   storage:
+ *     type: fs
+ *     path: /some/path
+ *
+ * The storage structure is the same as for {@link YamlPolicyFactory}. If `snapshot`
+ * is set and the storage has {@link BinarySnapshot} with this key, the policy is started
+ * from the binary snapshot, then yaml files are loaded in background and the binary
+ * snapshot is rewritten, failed background load is retried. If the storage has no binary snapshot, yaml files are loaded
+ * and binary snapshot is written for the next start. If `watch_millis` is set, changed
+ * users and roles are reloaded into the snapshot by {@link PolicyWatch}, and the policy
+ * is returned as {@link WatchedPolicy}, closing it stops the watch.
+ *
+ * @since 1.2
+ */
+@ArtipiePolicyFactory("artipie-snapshot")
+public final class SnapshotPolicyFactory implements PolicyFactory {
+
+    /**
+     * First delay to retry failed background reload from yaml.
+     */
+    private static final Duration RETRY = Duration.ofSeconds(1);
+
+    /**
+     * Maximum delay to retry failed background reload from yaml.
+     */
+    private static final Duration MAX_RETRY = Duration.ofMinutes(10);
+
+    @Override
+    public Policy<?> getPolicy(final Config config) {
+        final Storage asto = YamlPolicyFactory.storage(config);
+        final SnapshotPolicy policy = new SnapshotPolicy(asto);
+        final String snapshot = config.string("snapshot");
+        if (snapshot == null) {
+            policy.reload().toCompletableFuture().join();
+        } else {
+            final Key key = new Key.From(snapshot);
+            final Optional<BinarySnapshot> binary = SnapshotPolicyFactory.binary(asto, key);
+            if (binary.isPresent()) {
+                policy.load(binary.get());
+                SnapshotPolicyFactory.refresh(policy, asto, key, SnapshotPolicyFactory.RETRY);
+            } else {
+                SnapshotPolicyFactory.yaml(policy, asto, key).toCompletableFuture().join();
+            }
+        }
+        return YamlPolicyFactory.watched(config, asto, policy);
+    }
+
+    /**
+     * Reload policy from yaml in background and rewrite binary snapshot. Failed reload
+     * is retried with doubling delay, so policy started from binary snapshot doesn't
+     * stay stale if yaml files can't be read at start.
+     * @param policy Policy
+     * @param asto Storage
+     * @param key Snapshot key
+     * @param delay Delay to retry failed reload after
+     */
+    private static void refresh(final SnapshotPolicy policy, final Storage asto,
+        final Key key, final Duration delay) {
+        SnapshotPolicyFactory.yaml(policy, asto, key).exceptionally(
+            err -> {
+                Logger.error(
+                    SnapshotPolicyFactory.class,
+                    "Failed to reload policy from yaml, retry in %d ms: %[exception]s",
+                    delay.toMillis(), err
+                );
+                PolicyWatch.TIMER.schedule(
+                    () -> SnapshotPolicyFactory.refresh(
+                        policy, asto, key, SnapshotPolicyFactory.next(delay)
+                    ),
+                    delay.toMillis(), TimeUnit.MILLISECONDS
+                );
+                return null;
+            }
+        );
+    }
+
+    /**
+     * Next retry delay: doubled delay, but not more than maximum one.
+     * @param delay Current delay
+     * @return Next delay
+     */
+    private static Duration next(final Duration delay) {
+        final Duration res;
+        if (delay.compareTo(SnapshotPolicyFactory.MAX_RETRY.dividedBy(2)) > 0) {
+            res = SnapshotPolicyFactory.MAX_RETRY;
+        } else {
+            res = delay.multipliedBy(2);
+        }
+        return res;
+    }
+
+    /**
+     * Reload policy from yaml and write binary snapshot.
+     * @param policy Policy
+     * @param asto Storage
+     * @param key Snapshot key
+     * @return Completion of the reload, snapshot write errors are logged
+     */
+    private static CompletionStage<Void> yaml(final SnapshotPolicy policy,
+        final Storage asto, final Key key) {
+        return CompletableFuture.completedFuture(policy)
+            .thenCompose(SnapshotPolicy::reload)
+            .thenCompose(none -> SnapshotPolicyFactory.save(policy, asto, key));
+    }
+
+    /**
+     * Write current snapshot of the policy to storage, write errors are logged.
+     * @param policy Policy
+     * @param asto Storage
+     * @param key Snapshot key
+     * @return Completion of the write
+     */
+    private static CompletionStage<Void> save(final SnapshotPolicy policy,
+        final Storage asto, final Key key) {
+        return CompletableFuture.completedFuture(key)
+            .thenCompose(target -> policy.binary().save(asto, target))
+            .exceptionally(
+                err -> {
+                    Logger.error(
+                        SnapshotPolicyFactory.class,
+                        "Failed to write binary policy snapshot: %[exception]s", err
+                    );
+                    return null;
+                }
+            );
+    }
+
+    /**
+     * Read binary snapshot from storage.
+     * @param asto Storage
+     * @param key Snapshot key
+     * @return Binary snapshot, empty if it does not exist or can't be read
+     */
+    private static Optional<BinarySnapshot> binary(final Storage asto, final Key key) {
+        return asto.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<BinarySnapshot>> res;
+                if (exists) {
+                    res = BinarySnapshot.load(asto, key).thenApply(Optional::of);
+                } else {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return res;
+            }
+        ).exceptionally(
+            err -> {
+                Logger.error(
+                    SnapshotPolicyFactory.class,
+                    "Failed to read binary policy snapshot: %[exception]s", err
+                );
+                return Optional.empty();
+            }
+        ).toCompletableFuture().join();
+    }
+}
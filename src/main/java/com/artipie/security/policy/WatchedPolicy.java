@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.artipie.asto.misc.Cleanable;
+import com.artipie.http.auth.AuthUser;
+import java.io.Closeable;
+import java.security.Permission;
+import java.security.PermissionCollection;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Policy with {@link PolicyWatch} of its storage. The watch invalidates the policy
+ * while the policy is in use, and it's stopped when the policy is closed.
+ * @param <P> Implementation of {@link PermissionCollection}
+ * @since 1.2
+ */
+public final class WatchedPolicy<P extends PermissionCollection>
+    implements Policy<P>, Cleanable<String>, Closeable {
+
+    /**
+     * Origin policy.
+     */
+    private final Policy<P> origin;
+
+    /**
+     * Origin policy invalidation.
+     */
+    private final Cleanable<String> cleanable;
+
+    /**
+     * Watch of policy storage.
+     */
+    private final PolicyWatch watch;
+
+    /**
+     * Ctor.
+     * @param origin Origin policy
+     * @param watch Started watch which invalidates origin policy
+     * @param <T> Origin policy type
+     */
+    public <T extends Policy<P> & Cleanable<String>> WatchedPolicy(final T origin,
+        final PolicyWatch watch) {
+        this.origin = origin;
+        this.cleanable = origin;
+        this.watch = watch;
+    }
+
+    @Override
+    public P getPermissions(final AuthUser user) {
+        return this.origin.getPermissions(user);
+    }
+
+    @Override
+    public boolean allowed(final AuthUser user, final Permission perm) {
+        return this.origin.allowed(user, perm);
+    }
+
+    @Override
+    public BitSet allowed(final AuthUser user,
+        final List<? extends Map.Entry<String, Integer>> batch) {
+        return this.origin.allowed(user, batch);
+    }
+
+    @Override
+    public CompletionStage<Boolean> check(final AuthUser user, final Permission perm) {
+        return this.origin.check(user, perm);
+    }
+
+    @Override
+    public void invalidate(final String key) {
+        this.cleanable.invalidate(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        this.cleanable.invalidateAll();
+    }
+
+    @Override
+    public void close() {
+        this.watch.close();
+    }
+}
@@ -5,11 +5,15 @@
 package com.artipie.security.policy;
 
 import com.amihaiemil.eoyaml.Yaml;
+import com.artipie.asto.Storage;
 import com.artipie.asto.blocking.BlockingStorage;
 import com.artipie.asto.factory.Config;
 import com.artipie.asto.factory.StoragesLoader;
+import com.artipie.asto.misc.Cleanable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.security.PermissionCollection;
+import java.time.Duration;
 
 /**
  * Policy factory to create {@link CachedYamlPolicy}. Yaml policy is read from storage,
@@ -19,6 +23,8 @@ import java.io.UncheckedIOException;
  * policy:
  *   type: artipie
  *   eviction_millis: 60000 # not required, default 3 min
+ *   refresh_millis: 30000 # not required, enables asynchronous policy
+ *   watch_millis: 5000 # not required, enables storage changes watch
  *   storage:
  *     type: fs
  *     path: /some/path
@@ -35,6 +41,13 @@ import java.io.UncheckedIOException;
  * │   ├── jane.yaml
  * │   ├── ...
  *
+ * If `refresh_millis` is set, {@link AsyncYamlPolicy} is created: it reads the storage
+ * without blocking and reloads users and roles in background after refresh interval.
+ * If `watch_millis` is set, storage is checked for changed users and roles with this
+ * interval by {@link PolicyWatch}, and changed users and roles are invalidated in the policy.
+ * The policy is returned as {@link WatchedPolicy} then, closing it stops the watch.
+ * Users and roles of watched policy are not evicted, `eviction_millis` is ignored.
+ *
  * @since 1.2
  */
 @ArtipiePolicyFactory("artipie")
@@ -43,7 +56,6 @@ public final class YamlPolicyFactory implements PolicyFactory {
     @Override
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public Policy<?> getPolicy(final Config config) {
-        final Config sub = config.config("storage");
         long eviction;
         try {
             eviction = Long.parseLong(config.string("eviction_millis"));
@@ -52,17 +64,69 @@ public final class YamlPolicyFactory implements PolicyFactory {
             // @checkstyle MagicNumberCheck (2 lines)
             eviction = 180_000L;
         }
+        final Storage asto = YamlPolicyFactory.storage(config);
+        final String refresh = config.string("refresh_millis");
+        final boolean watch = config.string("watch_millis") != null;
+        final Policy<?> res;
+        if (refresh == null) {
+            final CachedYamlPolicy cached;
+            if (watch) {
+                cached = new CachedYamlPolicy(new BlockingStorage(asto));
+            } else {
+                cached = new CachedYamlPolicy(new BlockingStorage(asto), eviction);
+            }
+            res = YamlPolicyFactory.watched(config, asto, cached);
+        } else {
+            final Duration interval = Duration.ofMillis(Long.parseLong(refresh));
+            final AsyncYamlPolicy async;
+            if (watch) {
+                async = new AsyncYamlPolicy(asto, interval);
+            } else {
+                async = new AsyncYamlPolicy(asto, interval, Duration.ofMillis(eviction));
+            }
+            res = YamlPolicyFactory.watched(config, asto, async);
+        }
+        return res;
+    }
+
+    /**
+     * Policy watched by {@link PolicyWatch} if `watch_millis` is set in the configuration,
+     * the watch is stopped by {@link WatchedPolicy#close()}.
+     * @param config Policy configuration
+     * @param asto Policy storage
+     * @param policy Policy
+     * @param <P> Implementation of {@link PermissionCollection}
+     * @param <T> Policy type
+     * @return Watched policy or the policy itself
+     */
+    static <P extends PermissionCollection, T extends Policy<P> & Cleanable<String>> Policy<P>
+        watched(final Config config, final Storage asto, final T policy) {
+        final String watch = config.string("watch_millis");
+        final Policy<P> res;
+        if (watch == null) {
+            res = policy;
+        } else {
+            res = new WatchedPolicy<>(
+                policy,
+                new PolicyWatch(asto, policy).start(Duration.ofMillis(Long.parseLong(watch)))
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Policy storage from the configuration.
+     * @param config Policy configuration with storage section
+     * @return Storage
+     */
+    static Storage storage(final Config config) {
+        final Config sub = config.config("storage");
         try {
-            return new CachedYamlPolicy(
-                new BlockingStorage(
-                    new StoragesLoader().newObject(
-                        sub.string("type"),
-                        new Config.YamlStorageConfig(
-                            Yaml.createYamlInput(sub.toString()).readYamlMapping()
-                        )
-                    )
-                ),
-                eviction
+            return new StoragesLoader().newObject(
+                sub.string("type"),
+                new Config.YamlStorageConfig(
+                    Yaml.createYamlInput(sub.toString()).readYamlMapping()
+                )
             );
         } catch (final IOException err) {
             throw new UncheckedIOException(err);
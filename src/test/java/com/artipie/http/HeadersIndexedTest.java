@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http;
+
+import com.artipie.http.headers.Header;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Headers.Indexed}.
+ *
+ * @since 1.2
+ */
+class HeadersIndexedTest {
+
+    @Test
+    void findsValuesIgnoringCase() {
+        MatcherAssert.assertThat(
+            new Headers.Indexed(
+                new Headers.From(
+                    new Header("Accept", "text/html"),
+                    new Header("Content-Type", "text/plain"),
+                    new Header("ACCEPT", "application/json")
+                )
+            ).find("accept"),
+            Matchers.contains("text/html", "application/json")
+        );
+    }
+
+    @Test
+    void findsNothingForMissingName() {
+        MatcherAssert.assertThat(
+            new Headers.Indexed(new Headers.From("Host", "artipie.com")).find("Accept"),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void findsAllOfManyHeaders() {
+        final List<Header> headers = new ArrayList<>(100);
+        for (int idx = 0; idx < 100; ++idx) {
+            headers.add(new Header(String.format("X-Header-%d", idx % 10), String.valueOf(idx)));
+        }
+        final Headers target = new Headers.Indexed(new Headers.From(new ArrayList<>(headers)));
+        MatcherAssert.assertThat(
+            target.find("x-header-7"),
+            Matchers.contains("7", "17", "27", "37", "47", "57", "67", "77", "87", "97")
+        );
+        MatcherAssert.assertThat(target, Matchers.contains(headers.toArray()));
+    }
+
+    @Test
+    void findsInConcatenatedHeaders() {
+        MatcherAssert.assertThat(
+            new Headers.From(
+                new Headers.From(new Header("X-Origin", "1")), "x-origin", "2"
+            ).find("X-ORIGIN"),
+            Matchers.contains("1", "2")
+        );
+    }
+
+    @Test
+    void reusesIndexOfWrappedHeaders() {
+        final AtomicInteger scans = new AtomicInteger();
+        final List<Map.Entry<String, String>> list = new ArrayList<>(2);
+        list.add(new Header("Accept", "text/html"));
+        list.add(new Header("Host", "artipie.com"));
+        final Headers origin = new Headers.From(
+            () -> {
+                scans.incrementAndGet();
+                return list.iterator();
+            }
+        );
+        MatcherAssert.assertThat(origin.find("host"), Matchers.contains("artipie.com"));
+        final Headers wrapped = new Headers.From(
+            new Headers.From(origin, "Accept", "application/json"), "X-Trace", "1"
+        );
+        MatcherAssert.assertThat(
+            wrapped.find("accept"), Matchers.contains("text/html", "application/json")
+        );
+        MatcherAssert.assertThat(wrapped.find("x-trace"), Matchers.contains("1"));
+        MatcherAssert.assertThat(
+            "origin headers should be indexed once", scans.get(), Matchers.equalTo(1)
+        );
+    }
+}
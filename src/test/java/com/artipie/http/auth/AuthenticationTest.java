@@ -4,7 +4,11 @@
  */
 package com.artipie.http.auth;
 
+import com.google.common.base.Ticker;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
@@ -17,6 +21,7 @@ import org.junit.jupiter.params.provider.ValueSource;
  * Tests for {@link Authentication}.
  *
  * @since 0.15
+ * @checkstyle MagicNumberCheck (500 lines)
  */
 final class AuthenticationTest {
 
@@ -104,6 +109,65 @@ final class AuthenticationTest {
         );
     }
 
+    @Test
+    void cachedVerifiesCredentialsOnce() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Authentication.Cached auth = new Authentication.Cached(
+            (name, pass) -> {
+                calls.incrementAndGet();
+                return new Authentication.Single("Jane", "secret").user(name, pass);
+            }
+        );
+        for (int cnt = 0; cnt < 3; ++cnt) {
+            MatcherAssert.assertThat(
+                "Valid credentials were not authenticated",
+                auth.user("Jane", "secret"),
+                new IsEqual<>(Optional.of(new AuthUser("Jane")))
+            );
+            MatcherAssert.assertThat(
+                "Invalid credentials were authenticated",
+                auth.user("Jane", "wrong"),
+                new IsEqual<>(Optional.empty())
+            );
+        }
+        MatcherAssert.assertThat(
+            "Origin was called more than once per credentials",
+            calls.get(),
+            new IsEqual<>(2)
+        );
+        MatcherAssert.assertThat(
+            "Wrong cache hits and misses",
+            new long[] {auth.hits(), auth.misses()},
+            new IsEqual<>(new long[] {4L, 2L})
+        );
+    }
+
+    @Test
+    void cachedRejectionExpires() {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicLong nanos = new AtomicLong();
+        final Authentication auth = new Authentication.Cached(
+            (name, pass) -> {
+                calls.incrementAndGet();
+                return Optional.empty();
+            },
+            10, Duration.ofMinutes(1), Duration.ofSeconds(30),
+            new Ticker() {
+                @Override
+                public long read() {
+                    return nanos.get();
+                }
+            }
+        );
+        auth.user("John", "none");
+        nanos.addAndGet(Duration.ofSeconds(29).toNanos());
+        auth.user("John", "none");
+        MatcherAssert.assertThat("Rejection was not cached", calls.get(), new IsEqual<>(1));
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        auth.user("John", "none");
+        MatcherAssert.assertThat("Rejection did not expire", calls.get(), new IsEqual<>(2));
+    }
+
     /**
      * Authentication for testing Authentication.Wrap.
      *
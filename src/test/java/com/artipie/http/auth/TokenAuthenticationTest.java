@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.auth;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TokenAuthentication.Cached}.
+ *
+ * @since 1.2
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class TokenAuthenticationTest {
+
+    @Test
+    void sharesInFlightVerification() {
+        final AtomicInteger calls = new AtomicInteger();
+        final CompletableFuture<Optional<AuthUser>> pending = new CompletableFuture<>();
+        final TokenAuthentication auth = new TokenAuthentication.Cached(
+            token -> {
+                calls.incrementAndGet();
+                return pending;
+            }
+        );
+        final CompletionStage<Optional<AuthUser>> first = auth.user("abc");
+        final CompletionStage<Optional<AuthUser>> second = auth.user("abc");
+        pending.complete(Optional.of(new AuthUser("alice")));
+        MatcherAssert.assertThat(
+            "Origin was called for each request",
+            calls.get(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Requests didn't get the same user",
+            first.toCompletableFuture().join().equals(second.toCompletableFuture().join()),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void verifiesAgainAfterRevocation() {
+        final AtomicInteger calls = new AtomicInteger();
+        final TokenAuthentication.Cached auth = new TokenAuthentication.Cached(
+            TokenAuthenticationTest.counting(calls)
+        );
+        auth.user("xyz").toCompletableFuture().join();
+        auth.user("xyz").toCompletableFuture().join();
+        auth.revoke("xyz");
+        auth.user("xyz").toCompletableFuture().join();
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void doesntReuseExpiredToken() {
+        final AtomicInteger calls = new AtomicInteger();
+        final TokenAuthentication auth = new TokenAuthentication.Cached(
+            TokenAuthenticationTest.counting(calls), 10, Duration.ofMinutes(1),
+            token -> Optional.of(Instant.EPOCH)
+        );
+        auth.user("old").toCompletableFuture().join();
+        auth.user("old").toCompletableFuture().join();
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void doesntCacheFailedVerification() {
+        final AtomicInteger calls = new AtomicInteger();
+        final TokenAuthentication auth = new TokenAuthentication.Cached(
+            token -> {
+                final CompletableFuture<Optional<AuthUser>> res = new CompletableFuture<>();
+                if (calls.incrementAndGet() == 1) {
+                    res.completeExceptionally(new IllegalStateException("unavailable"));
+                } else {
+                    res.complete(Optional.of(new AuthUser("bob")));
+                }
+                return res;
+            }
+        );
+        auth.user("tkn").exceptionally(err -> Optional.empty()).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            auth.user("tkn").toCompletableFuture().join(),
+            new IsEqual<>(Optional.of(new AuthUser("bob")))
+        );
+    }
+
+    private static TokenAuthentication counting(final AtomicInteger calls) {
+        return token -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.of(new AuthUser(token)));
+        };
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.group;
+
+import com.artipie.asto.Content;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.headers.Authorization;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.rs.StandardRs;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link CachedGroupSlice}.
+ * @since 1.2
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+final class CachedGroupSliceTest {
+
+    @Test
+    void requestsOwnerOnly() {
+        final AtomicInteger first = new AtomicInteger();
+        final AtomicInteger second = new AtomicInteger();
+        final Slice group = new CachedGroupSlice(
+            new GroupCache(),
+            CachedGroupSliceTest.member(new AtomicReference<>(RsStatus.NOT_FOUND), first),
+            CachedGroupSliceTest.member(new AtomicReference<>(RsStatus.OK), second)
+        );
+        for (int cnt = 0; cnt < 2; ++cnt) {
+            MatcherAssert.assertThat(
+                group,
+                new SliceHasResponse(
+                    new RsHasBody("200", StandardCharsets.UTF_8),
+                    new RequestLine(RqMethod.GET, "/owned")
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            "Requested not owner member",
+            first.get(),
+            Matchers.is(1)
+        );
+        MatcherAssert.assertThat(
+            "Didn't request owner member",
+            second.get(),
+            Matchers.is(2)
+        );
+    }
+
+    @Test
+    void repliesWithCachedNotFound() {
+        final AtomicInteger count = new AtomicInteger();
+        final Slice group = new CachedGroupSlice(
+            new GroupCache(),
+            CachedGroupSliceTest.member(new AtomicReference<>(RsStatus.NOT_FOUND), count),
+            CachedGroupSliceTest.member(new AtomicReference<>(RsStatus.NOT_FOUND), count)
+        );
+        for (int cnt = 0; cnt < 2; ++cnt) {
+            MatcherAssert.assertThat(
+                group,
+                new SliceHasResponse(
+                    new RsHasStatus(RsStatus.NOT_FOUND),
+                    new RequestLine(RqMethod.GET, "/missing")
+                )
+            );
+        }
+        MatcherAssert.assertThat(count.get(), Matchers.is(2));
+    }
+
+    @Test
+    void evictsPathOnWrite() {
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicReference<RsStatus> status = new AtomicReference<>(RsStatus.NOT_FOUND);
+        final Slice group = new CachedGroupSlice(
+            new GroupCache(),
+            CachedGroupSliceTest.member(status, count)
+        );
+        MatcherAssert.assertThat(
+            "Path was found before upload",
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, "/uploaded")
+            )
+        );
+        status.set(RsStatus.CREATED);
+        MatcherAssert.assertThat(
+            "Upload failed",
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.CREATED),
+                new RequestLine(RqMethod.PUT, "/uploaded")
+            )
+        );
+        status.set(RsStatus.OK);
+        MatcherAssert.assertThat(
+            "Path was not found after upload",
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.OK),
+                new RequestLine(RqMethod.GET, "/uploaded")
+            )
+        );
+    }
+
+    @Test
+    void doesNotCacheLookupStartedBeforeWrite() {
+        final AtomicReference<RsStatus> status = new AtomicReference<>(RsStatus.NOT_FOUND);
+        final CompletableFuture<Void> gate = new CompletableFuture<>();
+        final Slice group = new CachedGroupSlice(
+            new GroupCache(),
+            (line, headers, body) -> {
+                final Response res;
+                if (new RequestLineFrom(line).method() == RqMethod.PUT) {
+                    status.set(RsStatus.OK);
+                    res = new RsWithStatus(RsStatus.CREATED);
+                } else {
+                    final RsStatus current = status.get();
+                    res = con -> gate.thenCompose(
+                        none -> new RsWithStatus(current).send(con)
+                    );
+                }
+                return res;
+            }
+        );
+        final CompletableFuture<Void> lookup = group.response(
+            new RequestLine(RqMethod.GET, "/uploaded").toString(), Headers.EMPTY, Content.EMPTY
+        ).send((rss, rsh, rsb) -> CompletableFuture.allOf()).toCompletableFuture();
+        MatcherAssert.assertThat(
+            "Upload failed",
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.CREATED),
+                new RequestLine(RqMethod.PUT, "/uploaded")
+            )
+        );
+        gate.complete(null);
+        lookup.join();
+        MatcherAssert.assertThat(
+            "Lookup started before upload was cached",
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.OK),
+                new RequestLine(RqMethod.GET, "/uploaded")
+            )
+        );
+    }
+
+    @Test
+    void evictsPathWhenWriteCompletes() {
+        final AtomicReference<RsStatus> status = new AtomicReference<>(RsStatus.NOT_FOUND);
+        final CompletableFuture<Void> gate = new CompletableFuture<>();
+        final Slice group = new CachedGroupSlice(
+            new GroupCache(),
+            (line, headers, body) -> {
+                final Response res;
+                if (new RequestLineFrom(line).method() == RqMethod.PUT) {
+                    res = con -> gate.thenCompose(
+                        none -> {
+                            status.set(RsStatus.OK);
+                            return new RsWithStatus(RsStatus.CREATED).send(con);
+                        }
+                    );
+                } else {
+                    res = new RsWithStatus(status.get());
+                }
+                return res;
+            }
+        );
+        final CompletableFuture<Void> upload = group.response(
+            new RequestLine(RqMethod.PUT, "/uploaded").toString(), Headers.EMPTY, Content.EMPTY
+        ).send((rss, rsh, rsb) -> CompletableFuture.allOf()).toCompletableFuture();
+        MatcherAssert.assertThat(
+            "Path was found during upload",
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, "/uploaded")
+            )
+        );
+        gate.complete(null);
+        upload.join();
+        MatcherAssert.assertThat(
+            "Path was not found after upload",
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.OK),
+                new RequestLine(RqMethod.GET, "/uploaded")
+            )
+        );
+    }
+
+    @Test
+    void looksUpAgainIfOwnerLostPath() {
+        final AtomicReference<RsStatus> first = new AtomicReference<>(RsStatus.NOT_FOUND);
+        final AtomicReference<RsStatus> second = new AtomicReference<>(RsStatus.OK);
+        final Slice group = new CachedGroupSlice(
+            new GroupCache(),
+            CachedGroupSliceTest.member(first, new AtomicInteger()),
+            CachedGroupSliceTest.member(second, new AtomicInteger())
+        );
+        MatcherAssert.assertThat(
+            "Path was not found in second member",
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.OK),
+                new RequestLine(RqMethod.GET, "/moved")
+            )
+        );
+        first.set(RsStatus.NO_CONTENT);
+        second.set(RsStatus.NOT_FOUND);
+        MatcherAssert.assertThat(
+            "Path was not found in first member",
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NO_CONTENT),
+                new RequestLine(RqMethod.GET, "/moved")
+            )
+        );
+    }
+
+    @Test
+    void doesNotCacheUnauthorizedAsNotFound() {
+        final AtomicInteger count = new AtomicInteger();
+        final Slice group = new CachedGroupSlice(
+            new GroupCache(),
+            CachedGroupSliceTest.member(new AtomicReference<>(RsStatus.UNAUTHORIZED), count),
+            CachedGroupSliceTest.member(new AtomicReference<>(RsStatus.NOT_FOUND), count)
+        );
+        for (int cnt = 0; cnt < 2; ++cnt) {
+            MatcherAssert.assertThat(
+                group,
+                new SliceHasResponse(
+                    new RsHasStatus(RsStatus.NOT_FOUND),
+                    new RequestLine(RqMethod.GET, "/private")
+                )
+            );
+        }
+        MatcherAssert.assertThat(count.get(), Matchers.is(4));
+    }
+
+    @Test
+    void cachesNotFoundPerQueryAndCaller() {
+        final AtomicInteger count = new AtomicInteger();
+        final Slice group = new CachedGroupSlice(
+            new GroupCache(),
+            CachedGroupSliceTest.member(new AtomicReference<>(RsStatus.NOT_FOUND), count)
+        );
+        MatcherAssert.assertThat(
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, "/search?q=one")
+            )
+        );
+        MatcherAssert.assertThat(
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, "/search?q=two")
+            )
+        );
+        MatcherAssert.assertThat(
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, "/search?q=one"),
+                new Headers.From(new Authorization.Bearer("token")),
+                Content.EMPTY
+            )
+        );
+        MatcherAssert.assertThat(
+            group,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, "/search?q=one")
+            )
+        );
+        MatcherAssert.assertThat(count.get(), Matchers.is(3));
+    }
+
+    @Test
+    void findsOwnerOfResponsesWithSharedHeaders() {
+        final AtomicInteger first = new AtomicInteger();
+        final AtomicInteger second = new AtomicInteger();
+        final Slice group = new CachedGroupSlice(
+            new GroupCache(),
+            (line, headers, body) -> {
+                first.incrementAndGet();
+                return StandardRs.NOT_FOUND;
+            },
+            (line, headers, body) -> {
+                second.incrementAndGet();
+                return StandardRs.OK;
+            }
+        );
+        for (int cnt = 0; cnt < 2; ++cnt) {
+            MatcherAssert.assertThat(
+                group,
+                new SliceHasResponse(
+                    new RsHasStatus(RsStatus.OK),
+                    new RequestLine(RqMethod.GET, "/shared")
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            "Requested not owner member",
+            first.get(),
+            Matchers.is(1)
+        );
+        MatcherAssert.assertThat(
+            "Didn't request owner member",
+            second.get(),
+            Matchers.is(2)
+        );
+    }
+
+    private static Slice member(final AtomicReference<RsStatus> status,
+        final AtomicInteger count) {
+        return (line, headers, body) -> connection -> {
+            count.incrementAndGet();
+            return new RsWithBody(
+                new RsWithStatus(status.get()), status.get().code(), StandardCharsets.UTF_8
+            ).send(connection);
+        };
+    }
+}
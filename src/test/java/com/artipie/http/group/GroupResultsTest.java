@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.group;
+
+import com.artipie.http.Connection;
+import com.artipie.http.Headers;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link GroupResults}.
+ * @since 1.2
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class GroupResultsTest {
+
+    /**
+     * Executor to complete results.
+     */
+    private ExecutorService exec;
+
+    @BeforeEach
+    void setUp() {
+        this.exec = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.exec.shutdown();
+    }
+
+    @Test
+    void repliesSuccessAfterPreviousFailed() {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final GroupResults results = new GroupResults(3, future);
+        final Queue<RsStatus> replied = new ConcurrentLinkedQueue<>();
+        final Connection con = (status, headers, body) -> {
+            replied.add(status);
+            return CompletableFuture.allOf();
+        };
+        results.complete(1, GroupResultsTest.result(RsStatus.OK, new AtomicInteger()), con);
+        MatcherAssert.assertThat(
+            "Replied before higher priority result",
+            replied,
+            Matchers.empty()
+        );
+        results.complete(
+            0, GroupResultsTest.result(RsStatus.NOT_FOUND, new AtomicInteger()), con
+        );
+        MatcherAssert.assertThat(
+            "Didn't reply after higher priority result failed",
+            replied,
+            Matchers.contains(RsStatus.OK)
+        );
+        MatcherAssert.assertThat(
+            "Didn't complete without lower priority results",
+            future.isDone(),
+            Matchers.is(true)
+        );
+    }
+
+    @RepeatedTest(50)
+    void repliesOnceOnConcurrentCompletions() throws Exception {
+        final int size = 16;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final GroupResults results = new GroupResults(size, future);
+        final Queue<RsStatus> replied = new ConcurrentLinkedQueue<>();
+        final AtomicInteger cancelled = new AtomicInteger();
+        final Connection con = (status, headers, body) -> {
+            replied.add(status);
+            return CompletableFuture.allOf();
+        };
+        final List<Integer> order = new ArrayList<>(size);
+        for (int pos = 0; pos < size; ++pos) {
+            order.add(pos);
+        }
+        Collections.shuffle(order);
+        final CountDownLatch latch = new CountDownLatch(size);
+        for (final int pos : order) {
+            final RsStatus status;
+            if (pos % 5 == 4) {
+                status = RsStatus.OK;
+            } else {
+                status = RsStatus.NOT_FOUND;
+            }
+            this.exec.execute(
+                () -> {
+                    results.complete(pos, GroupResultsTest.result(status, cancelled), con);
+                    latch.countDown();
+                }
+            );
+        }
+        latch.await(1, TimeUnit.MINUTES);
+        future.get(1, TimeUnit.MINUTES);
+        MatcherAssert.assertThat(
+            "Didn't reply exactly once",
+            replied,
+            Matchers.contains(RsStatus.OK)
+        );
+        MatcherAssert.assertThat(
+            "Didn't cancel other results",
+            cancelled.get(),
+            Matchers.is(size - 1)
+        );
+    }
+
+    private static GroupResult result(final RsStatus status, final AtomicInteger cancelled) {
+        return new GroupResult(
+            status, Headers.EMPTY,
+            Flowable.<ByteBuffer>empty().doOnSubscribe(sub -> cancelled.incrementAndGet())
+        );
+    }
+}
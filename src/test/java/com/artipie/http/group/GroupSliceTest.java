@@ -15,12 +15,21 @@ import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithBody;
 import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.rs.StandardRs;
 import com.artipie.http.slice.SliceSimple;
 import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -92,6 +101,176 @@ final class GroupSliceTest {
         );
     }
 
+    @Test
+    @Timeout(1)
+    void requestsMembersSequentially() {
+        final AtomicBoolean requested = new AtomicBoolean();
+        MatcherAssert.assertThat(
+            "Didn't reply with the first successful member response",
+            new GroupSlice(
+                GroupStrategy.SEQUENTIAL,
+                slice(RsStatus.NOT_FOUND, "not-found", Duration.ZERO),
+                slice(RsStatus.OK, "ok", Duration.ZERO),
+                (line, headers, body) -> {
+                    requested.set(true);
+                    return StandardRs.OK;
+                }
+            ),
+            new SliceHasResponse(
+                new RsHasBody("ok", StandardCharsets.UTF_8),
+                new RequestLine(RqMethod.GET, "/seq")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Requested member after the successful one",
+            requested.get(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    @Timeout(1)
+    void hedgesSlowMember() {
+        // @checkstyle MagicNumberCheck (10 lines)
+        MatcherAssert.assertThat(
+            new GroupSlice(
+                new GroupStrategy.Hedged(Duration.ofMillis(50)),
+                slice(RsStatus.OK, "slow", Duration.ofDays(1)),
+                slice(RsStatus.OK, "fast", Duration.ofMillis(10))
+            ),
+            new SliceHasResponse(
+                new RsHasBody("fast", StandardCharsets.UTF_8),
+                new RequestLine(RqMethod.GET, "/hedged")
+            )
+        );
+    }
+
+    @Test
+    @Timeout(1)
+    void doesNotRequestMemberBeforeHedgingDelay() {
+        final AtomicBoolean requested = new AtomicBoolean();
+        MatcherAssert.assertThat(
+            "Didn't reply with the first member response",
+            new GroupSlice(
+                new GroupStrategy.Hedged(Duration.ofDays(1)),
+                slice(RsStatus.OK, "first", Duration.ZERO),
+                (line, headers, body) -> {
+                    requested.set(true);
+                    return StandardRs.OK;
+                }
+            ),
+            new SliceHasResponse(
+                new RsHasBody("first", StandardCharsets.UTF_8),
+                new RequestLine(RqMethod.GET, "/hedged-first")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Requested member before hedging delay",
+            requested.get(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    @Timeout(1)
+    void requestsHedgedMemberByExecutor() {
+        final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            task -> new Thread(task, "test-timer")
+        );
+        final ExecutorService exec = Executors.newSingleThreadExecutor(
+            task -> new Thread(task, "test-exec")
+        );
+        final AtomicReference<String> thread = new AtomicReference<>();
+        MatcherAssert.assertThat(
+            "Didn't reply with hedged member response",
+            new GroupSlice(
+                new GroupStrategy.Hedged(Duration.ofMillis(1), timer, exec),
+                slice(RsStatus.OK, "slow", Duration.ofDays(1)),
+                (line, headers, body) -> {
+                    thread.set(Thread.currentThread().getName());
+                    return new RsWithBody(
+                        StandardRs.OK, "hedged", StandardCharsets.UTF_8
+                    );
+                }
+            ),
+            new SliceHasResponse(
+                new RsHasBody("hedged", StandardCharsets.UTF_8),
+                new RequestLine(RqMethod.GET, "/hedged-exec")
+            )
+        );
+        timer.shutdownNow();
+        exec.shutdownNow();
+        MatcherAssert.assertThat(
+            "Hedged member was not requested by executor",
+            thread.get(),
+            Matchers.is("test-exec")
+        );
+    }
+
+    @Test
+    @Timeout(1)
+    void skipsMemberByTimeout() {
+        // @checkstyle MagicNumberCheck (10 lines)
+        MatcherAssert.assertThat(
+            new GroupSlice(
+                new GroupStrategy.Priority(Duration.ofMillis(100)),
+                slice(RsStatus.OK, "slow", Duration.ofDays(1)),
+                slice(RsStatus.NOT_FOUND, "not-found", Duration.ofMillis(10)),
+                slice(RsStatus.OK, "fast", Duration.ofMillis(50))
+            ),
+            new SliceHasResponse(
+                new RsHasBody("fast", StandardCharsets.UTF_8),
+                new RequestLine(RqMethod.GET, "/priority")
+            )
+        );
+    }
+
+    @Test
+    @Timeout(1)
+    void returnsNotFoundIfAllRacingMembersFail() {
+        MatcherAssert.assertThat(
+            new GroupSlice(
+                new GroupStrategy.Hedged(Duration.ofMillis(1)),
+                slice(RsStatus.NOT_FOUND, "one", Duration.ZERO),
+                slice(RsStatus.NOT_FOUND, "two", Duration.ZERO),
+                slice(RsStatus.NOT_FOUND, "three", Duration.ZERO)
+            ),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, "/none")
+            )
+        );
+    }
+
+    @Test
+    @Timeout(1)
+    void reportsMembersLatency() {
+        final Map<Integer, RsStatus> reported = new ConcurrentHashMap<>();
+        MatcherAssert.assertThat(
+            "Didn't reply with the first successful member response",
+            new GroupSlice(
+                GroupStrategy.PARALLEL,
+                (member, status, latency) -> reported.put(member, status),
+                Arrays.asList(
+                    slice(RsStatus.NOT_FOUND, "not-found", Duration.ZERO),
+                    slice(RsStatus.OK, "ok", Duration.ZERO)
+                )
+            ),
+            new SliceHasResponse(
+                new RsHasBody("ok", StandardCharsets.UTF_8),
+                new RequestLine(RqMethod.GET, "/latency")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Didn't report members latency",
+            reported,
+            Matchers.allOf(
+                Matchers.hasEntry(0, RsStatus.NOT_FOUND),
+                Matchers.hasEntry(1, RsStatus.OK)
+            )
+        );
+    }
+
     private static Slice slice(final RsStatus status, final String body, final Duration delay) {
         return new SliceWithDelay(
             new SliceSimple(
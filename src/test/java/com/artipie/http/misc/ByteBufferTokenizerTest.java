@@ -8,6 +8,7 @@ import java.io.Closeable;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.function.Function;
@@ -56,6 +57,48 @@ final class ByteBufferTokenizerTest {
         }
     }
 
+    @ParameterizedTest
+    @CsvSource({
+        "/,---test123,on/e---test123two---test123t/hree---test123four,one/two/three/four",
+        "/,|,|one|two|,/one/two/",
+        "/,|,|||,///",
+        "/,--boundary--,one-/-/b/o/u/n/d/a/r/y/-/-two--b/oun/dar/y--three,one/two/three",
+        "/,---,o/n/e/---/t/w/o--/-three---four-/-/-,one/two/three/four/"
+    })
+    void splitByTokensWithoutCopy(final String split, final String delim, final String source,
+        final String expect) {
+        final Deque<ByteBuffer> result = new LinkedList<>();
+        try (AccReceiver rec = new AccReceiver(result);
+            ByteBufferTokenizer target = new ByteBufferTokenizer(
+                rec, delim.getBytes(), ByteBufferTokenizer.Mode.ZERO_COPY
+            )) {
+            Arrays.asList(source.split(split)).stream()
+                .map(String::getBytes)
+                .map(ByteBuffer::wrap)
+                .forEach(target::push);
+        }
+        MatcherAssert.assertThat(
+            result.stream().map(ByteBufferTokenizerTest::bufToStr).collect(Collectors.toList()),
+            Matchers.contains(expect.split(split, -1))
+        );
+    }
+
+    @Test
+    void sendsSlicesOfChunksWithoutCopy() {
+        final byte[] chunk = "first|second|th".getBytes(StandardCharsets.US_ASCII);
+        final Deque<ByteBuffer> result = new LinkedList<>();
+        final ByteBufferTokenizer tokenizer = new ByteBufferTokenizer(
+            (next, end) -> result.add(next), "|".getBytes(), ByteBufferTokenizer.Mode.ZERO_COPY
+        );
+        tokenizer.push(ByteBuffer.wrap(chunk));
+        chunk[0] = 'F';
+        MatcherAssert.assertThat(
+            "Token is not a read-only view of the chunk",
+            result.getFirst().isReadOnly() && bufToStr(result.getFirst()).equals("First"),
+            Matchers.is(true)
+        );
+    }
+
     @Test
     void deliverEmptyPart() {
         final Deque<ByteBuffer> result = new LinkedList<>();
@@ -71,6 +114,33 @@ final class ByteBufferTokenizerTest {
         );
     }
 
+    @Test
+    void splitsByLongDelimiterInSmallChunks() {
+        final String delim = String.format(
+            "\r\n--%s", String.join("", Collections.nCopies(34, "Ab"))
+        );
+        final String source = String.join(
+            delim, "first", "", String.join("", Collections.nCopies(100, "-Ab\r\n")), "last"
+        );
+        final byte[] bytes = source.getBytes(StandardCharsets.US_ASCII);
+        for (int chunk = 1; chunk < delim.length() * 2; ++chunk) {
+            final Deque<ByteBuffer> result = new LinkedList<>();
+            try (AccReceiver rec = new AccReceiver(result);
+                ByteBufferTokenizer target = new ByteBufferTokenizer(rec, delim.getBytes())) {
+                for (int pos = 0; pos < bytes.length; pos += chunk) {
+                    target.push(
+                        ByteBuffer.wrap(bytes, pos, Math.min(chunk, bytes.length - pos)).slice()
+                    );
+                }
+            }
+            MatcherAssert.assertThat(
+                result.stream().map(ByteBufferTokenizerTest::bufToStr)
+                    .collect(Collectors.toList()),
+                Matchers.contains(source.split(delim, -1))
+            );
+        }
+    }
+
     private static String bufToStr(final ByteBuffer buf) {
         final byte[] bts = new byte[buf.remaining()];
         buf.get(bts);
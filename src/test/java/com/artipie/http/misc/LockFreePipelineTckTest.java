@@ -0,0 +1,45 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.misc;
+
+import io.reactivex.Flowable;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+
+/**
+ * Reactive streams TCK test for {@link LockFreePipeline} connected to upstream.
+ *
+ * @since 1.2
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+@SuppressWarnings(
+    {
+        "PMD.TestClassWithoutTestCases", "PMD.JUnit4TestShouldUseBeforeAnnotation"
+    }
+)
+public final class LockFreePipelineTckTest extends PublisherVerification<Long> {
+
+    /**
+     * Test with default environment.
+     */
+    public LockFreePipelineTckTest() {
+        super(new TestEnvironment());
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(final long size) {
+        final LockFreePipeline<Long> pipeline = new LockFreePipeline<>();
+        Flowable.rangeLong(0, size).subscribe(pipeline);
+        return pipeline::connect;
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        final LockFreePipeline<Long> pipeline = new LockFreePipeline<>();
+        Flowable.<Long>error(new IllegalStateException("Upstream failed")).subscribe(pipeline);
+        return pipeline::connect;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.misc;
+
+import java.nio.ByteBuffer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link SizeClassBufferPool}.
+ * @since 1.2
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class SizeClassBufferPoolTest {
+
+    @Test
+    void roundsCapacityToSizeClass() {
+        MatcherAssert.assertThat(
+            new SizeClassBufferPool().acquire(300).capacity(),
+            Matchers.equalTo(512)
+        );
+    }
+
+    @Test
+    void reusesReleasedBuffer() {
+        final SizeClassBufferPool pool = new SizeClassBufferPool();
+        final ByteBuffer first = pool.acquire(1000);
+        first.put((byte) 1);
+        pool.release(first);
+        final ByteBuffer second = pool.acquire(1024);
+        MatcherAssert.assertThat(
+            "Released buffer was not reused", second, Matchers.sameInstance(first)
+        );
+        MatcherAssert.assertThat(
+            "Reused buffer was not cleared", second.position(), Matchers.equalTo(0)
+        );
+        MatcherAssert.assertThat(
+            pool.toString(),
+            Matchers.equalTo(
+                "SizeClassBufferPool(hits=1, misses=1, outstanding=1, leaks=0)"
+            )
+        );
+    }
+
+    @Test
+    void doesNotPoolHugeBuffers() {
+        final SizeClassBufferPool pool = new SizeClassBufferPool();
+        final ByteBuffer first = pool.acquire(2 << 20);
+        pool.release(first);
+        MatcherAssert.assertThat(
+            pool.acquire(2 << 20), Matchers.not(Matchers.sameInstance(first))
+        );
+    }
+
+    @Test
+    void rejectsForeignBuffer() {
+        final SizeClassBufferPool pool = new SizeClassBufferPool();
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> pool.release(ByteBuffer.allocate(1000))
+        );
+        MatcherAssert.assertThat(pool.outstanding(), Matchers.equalTo(0L));
+    }
+
+    @Test
+    void rejectsForeignBufferOfSizeClass() {
+        final SizeClassBufferPool pool = new SizeClassBufferPool();
+        pool.acquire(1024);
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> pool.release(ByteBuffer.allocate(1024))
+        );
+        MatcherAssert.assertThat(pool.outstanding(), Matchers.equalTo(1L));
+    }
+
+    @Test
+    void rejectsDoubleReleaseWithLeakDetection() {
+        final SizeClassBufferPool pool = new SizeClassBufferPool(ByteBuffer::allocate, true);
+        final ByteBuffer buf = pool.acquire(1024);
+        pool.release(buf);
+        Assertions.assertThrows(IllegalStateException.class, () -> pool.release(buf));
+        MatcherAssert.assertThat(pool.outstanding(), Matchers.equalTo(0L));
+    }
+
+    @Test
+    void rejectsDoubleReleaseWithoutLeakDetection() {
+        final SizeClassBufferPool pool = new SizeClassBufferPool();
+        final ByteBuffer buf = pool.acquire(1024);
+        pool.release(buf);
+        Assertions.assertThrows(IllegalStateException.class, () -> pool.release(buf));
+        MatcherAssert.assertThat(
+            pool.acquire(1024), Matchers.not(Matchers.sameInstance(pool.acquire(1024)))
+        );
+    }
+
+    @Test
+    void accumulatorReleasesBuffersToPool() {
+        final SizeClassBufferPool pool = new SizeClassBufferPool();
+        try (BufAccumulator acc = new BufAccumulator(16, pool)) {
+            acc.write(ByteBuffer.wrap(new byte[1000]));
+            acc.write(ByteBuffer.wrap(new byte[3000]));
+        }
+        MatcherAssert.assertThat(pool.outstanding(), Matchers.equalTo(0L));
+    }
+}
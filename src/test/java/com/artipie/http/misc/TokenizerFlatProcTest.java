@@ -8,6 +8,7 @@ import com.artipie.asto.Remaining;
 import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -41,4 +42,44 @@ final class TokenizerFlatProcTest {
             )
         );
     }
+
+    @Test
+    void requestsUpstreamOnDemand() {
+        final AtomicLong requested = new AtomicLong();
+        final Flowable<ByteBuffer> src = Flowable.fromArray("one\ntw", "o\nthr", "ee\n", "four")
+            .map(str -> ByteBuffer.wrap(str.getBytes()))
+            .doOnRequest(requested::addAndGet);
+        final TokenizerFlatProc target = new TokenizerFlatProc("\n");
+        src.subscribe(target);
+        final List<String> split = Flowable.fromPublisher(target)
+            .map(buf -> new String(new Remaining(buf).bytes()))
+            .test(1L).values();
+        MatcherAssert.assertThat("should emit requested tokens", split, Matchers.contains("one"));
+        MatcherAssert.assertThat(
+            "should request only one chunk from upstream", requested.get(), Matchers.is(1L)
+        );
+    }
+
+    @Test
+    void releasesBuffersOnError() {
+        final SizeClassBufferPool pool = new SizeClassBufferPool();
+        final TokenizerFlatProc target = new TokenizerFlatProc("\n", 128, pool);
+        Flowable.concat(
+            Flowable.just(ByteBuffer.wrap("one\ntw".getBytes())),
+            Flowable.<ByteBuffer>error(new IllegalStateException("body failed"))
+        ).subscribe(target);
+        Flowable.fromPublisher(target).test().assertError(IllegalStateException.class);
+        MatcherAssert.assertThat(pool.outstanding(), Matchers.is(0L));
+    }
+
+    @Test
+    void releasesBuffersOnCancel() {
+        final SizeClassBufferPool pool = new SizeClassBufferPool();
+        final TokenizerFlatProc target = new TokenizerFlatProc("\n", 128, pool);
+        Flowable.fromArray("one\ntw", "o\nthr", "ee\n")
+            .map(str -> ByteBuffer.wrap(str.getBytes()))
+            .subscribe(target);
+        Flowable.fromPublisher(target).test(1L).cancel();
+        MatcherAssert.assertThat(pool.outstanding(), Matchers.is(0L));
+    }
 }
@@ -6,6 +6,8 @@
 package com.artipie.http.rq;
 
 import java.net.URI;
+import java.util.Random;
+import java.util.function.Supplier;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
@@ -104,4 +106,69 @@ public final class RequestLineFromTest {
             new IsEqual<>(String.format(RequestLineFromTest.EX_MSG, line))
         );
     }
+
+    @Test
+    void reusesParsedLine() {
+        final String line = "GET /maven/com/artipie/lib/1.0/lib-1.0.jar HTTP/1.1";
+        MatcherAssert.assertThat(
+            new RequestLineFrom(line).uri(),
+            Matchers.sameInstance(new RequestLineFrom(line).uri())
+        );
+    }
+
+    @Test
+    void acceptsSameLinesAsSplitByWhitespace() {
+        final Random rnd = new Random(42L);
+        final char[] chars = {' ', '\t', '\n', '\u000B', '\f', '\r', '\u0001', 'G', 'a', '/', '1'};
+        for (int cnt = 0; cnt < 10_000; ++cnt) {
+            final StringBuilder str = new StringBuilder();
+            final int len = rnd.nextInt(12);
+            for (int pos = 0; pos < len; ++pos) {
+                str.append(chars[rnd.nextInt(chars.length)]);
+            }
+            final String line = str.toString();
+            // parts of request line as they were split before single pass parser
+            final String[] parts = line.trim().split("\\s");
+            if (parts.length == 3) {
+                final RequestLineFrom parsed = new RequestLineFrom(line);
+                MatcherAssert.assertThat(line, parsed.version(), Matchers.equalTo(parts[2]));
+                MatcherAssert.assertThat(
+                    line,
+                    RequestLineFromTest.outcome(parsed::uri),
+                    Matchers.equalTo(RequestLineFromTest.outcome(() -> URI.create(parts[1])))
+                );
+            } else {
+                Assertions.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> new RequestLineFrom(line).version(),
+                    line
+                );
+            }
+        }
+    }
+
+    @Test
+    void parsesAllMethods() {
+        for (final RqMethod method : RqMethod.ALL) {
+            MatcherAssert.assertThat(
+                new RequestLineFrom(String.format("%s / HTTP/1.1", method.value())).method(),
+                Matchers.equalTo(method)
+            );
+        }
+    }
+
+    /**
+     * Outcome of uri parsing.
+     * @param uri Uri supplier
+     * @return Uri string or error message
+     */
+    private static String outcome(final Supplier<URI> uri) {
+        String res;
+        try {
+            res = uri.get().toString();
+        } catch (final IllegalArgumentException err) {
+            res = err.getMessage();
+        }
+        return res;
+    }
 }
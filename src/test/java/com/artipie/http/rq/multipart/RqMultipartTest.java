@@ -4,18 +4,33 @@
  */
 package com.artipie.http.rq.multipart;
 
+import com.artipie.ArtipieException;
 import com.artipie.asto.Content;
 import com.artipie.asto.ext.PublisherAs;
 import com.artipie.asto.test.TestResource;
 import com.artipie.http.headers.ContentDisposition;
 import com.artipie.http.headers.ContentType;
+import com.artipie.http.misc.ByteBufferTokenizer;
+import com.artipie.http.misc.SizeClassBufferPool;
 import com.artipie.http.rq.RqHeaders;
+import com.google.common.util.concurrent.MoreExecutors;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
 import io.reactivex.Flowable;
 import io.reactivex.Single;
+import io.reactivex.subscribers.TestSubscriber;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -273,4 +288,248 @@ final class RqMultipartTest {
         // @checkstyle MagicNumberCheck (1 line)
         MatcherAssert.assertThat(size, Matchers.equalTo(4163));
     }
+
+    @Test
+    @Timeout(60)
+    void readsLargeBodyWithBoundedBuffer() throws Exception {
+        final int chunk = 64 * 1024;
+        final long chunks = 4096;
+        final long hwm = 1024 * 1024;
+        final ByteBuffer data = ByteBuffer.allocate(chunk);
+        final AtomicLong produced = new AtomicLong();
+        final AtomicLong requested = new AtomicLong();
+        final AtomicLong emitted = new AtomicLong();
+        final Flowable<ByteBuffer> body = Flowable.concat(
+            Flowable.fromCallable(
+                () -> ByteBuffer.wrap("--bnd\r\nName: big\r\n\r\n".getBytes(StandardCharsets.US_ASCII))
+            ),
+            Flowable.rangeLong(0, chunks).map(idx -> data.asReadOnlyBuffer())
+                .doOnNext(buf -> produced.addAndGet(buf.remaining())),
+            Flowable.fromCallable(
+                () -> ByteBuffer.wrap("\r\n--bnd--".getBytes(StandardCharsets.US_ASCII))
+            )
+        ).doOnRequest(requested::addAndGet).doOnNext(buf -> emitted.incrementAndGet());
+        final BlockingQueue<RqMultipart.Part> parts = new LinkedBlockingQueue<>();
+        // direct executor parses synchronously, so reading is paused when subscribe returns
+        Flowable.fromPublisher(
+            new RqMultipart(
+                new ContentType("multipart/mixed; boundary=\"bnd\""), body,
+                RqMultipart.Settings.DEFAULT.withHighWaterMark(hwm)
+                    .withExecutor(MoreExecutors.directExecutor())
+            ).parts()
+        ).subscribe(parts::add);
+        final TestSubscriber<ByteBuffer> sub = Flowable.fromPublisher(parts.take()).test(0L);
+        MatcherAssert.assertThat(
+            "request body reading should be paused at high-water mark",
+            produced.get(),
+            Matchers.lessThanOrEqualTo(hwm + 2L * chunk)
+        );
+        MatcherAssert.assertThat(
+            "request body should have no outstanding demand while paused",
+            requested.get(),
+            Matchers.equalTo(emitted.get())
+        );
+        sub.request(Long.MAX_VALUE);
+        sub.awaitTerminalEvent();
+        MatcherAssert.assertThat(
+            "part body should be read completely",
+            sub.values().stream().mapToLong(ByteBuffer::remaining).sum(),
+            Matchers.equalTo(chunk * chunks)
+        );
+    }
+
+    @Test
+    @Timeout(60)
+    void appliesHighWaterMarkPerPart() throws Exception {
+        final int chunk = 64 * 1024;
+        final long hwm = 1024 * 1024;
+        final ByteBuffer data = ByteBuffer.allocate(chunk);
+        final AtomicLong produced = new AtomicLong();
+        final Flowable<ByteBuffer> body = Flowable.concat(
+            Flowable.fromCallable(
+                () -> ByteBuffer.wrap("--bnd\r\nName: one\r\n\r\n".getBytes(StandardCharsets.US_ASCII))
+            ),
+            Flowable.range(0, 8).map(idx -> data.asReadOnlyBuffer()),
+            Flowable.fromCallable(
+                () -> ByteBuffer.wrap(
+                    "\r\n--bnd\r\nName: two\r\n\r\n".getBytes(StandardCharsets.US_ASCII)
+                )
+            ),
+            Flowable.range(0, 64).map(idx -> data.asReadOnlyBuffer()),
+            Flowable.fromCallable(
+                () -> ByteBuffer.wrap("\r\n--bnd--".getBytes(StandardCharsets.US_ASCII))
+            )
+        ).doOnNext(buf -> produced.addAndGet(buf.remaining()));
+        final BlockingQueue<RqMultipart.Part> parts = new LinkedBlockingQueue<>();
+        Flowable.fromPublisher(
+            new RqMultipart(
+                new ContentType("multipart/mixed; boundary=\"bnd\""), body,
+                RqMultipart.Settings.DEFAULT.withHighWaterMark(hwm)
+                    .withExecutor(MoreExecutors.directExecutor())
+            ).parts()
+        ).subscribe(parts::add);
+        parts.take();
+        final TestSubscriber<ByteBuffer> sub = Flowable.fromPublisher(parts.take()).test(0L);
+        MatcherAssert.assertThat(
+            "not consumed bytes of first part should not pause second part",
+            produced.get(),
+            Matchers.greaterThanOrEqualTo(8L * chunk + hwm)
+        );
+        sub.request(Long.MAX_VALUE);
+        sub.awaitTerminalEvent();
+        MatcherAssert.assertThat(
+            "second part body should be read completely",
+            sub.values().stream().mapToLong(ByteBuffer::remaining).sum(),
+            Matchers.equalTo(64L * chunk)
+        );
+    }
+
+    @Test
+    void releasesPooledBuffersOnError() {
+        final SizeClassBufferPool pool = new SizeClassBufferPool();
+        Flowable.fromPublisher(
+            new RqMultipart(
+                new ContentType("multipart/mixed; boundary=\"bnd\""),
+                Flowable.concat(
+                    Flowable.fromCallable(
+                        () -> ByteBuffer.wrap("--bnd\r\nName: par".getBytes(StandardCharsets.US_ASCII))
+                    ),
+                    Flowable.<ByteBuffer>error(new IllegalStateException("body failed"))
+                ),
+                RqMultipart.Settings.DEFAULT.withPool(pool)
+                    .withExecutor(MoreExecutors.directExecutor())
+            ).parts()
+        ).test().assertError(ArtipieException.class);
+        MatcherAssert.assertThat(pool.outstanding(), Matchers.is(0L));
+    }
+
+    @Test
+    void releasesPooledBuffersOnCancel() {
+        final SizeClassBufferPool pool = new SizeClassBufferPool();
+        Flowable.fromPublisher(
+            new RqMultipart(
+                new ContentType("multipart/mixed; boundary=\"bnd\""),
+                Flowable.concat(
+                    Flowable.fromCallable(
+                        () -> ByteBuffer.wrap("--bnd\r\nName: par".getBytes(StandardCharsets.US_ASCII))
+                    ),
+                    Flowable.<ByteBuffer>never()
+                ),
+                RqMultipart.Settings.DEFAULT.withPool(pool)
+                    .withExecutor(MoreExecutors.directExecutor())
+            ).parts()
+        ).test().cancel();
+        MatcherAssert.assertThat(pool.outstanding(), Matchers.is(0L));
+    }
+
+    @Test
+    @Timeout(30)
+    void deliversPartsInOrderOnSharedPool() throws Exception {
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final RqMultipart.Settings settings = RqMultipart.Settings.DEFAULT
+                .withExecutor(pool);
+            final List<CompletableFuture<List<String>>> requests = new ArrayList<>(16);
+            for (int req = 0; req < 16; ++req) {
+                requests.add(RqMultipartTest.bodies(settings, 20));
+            }
+            for (final CompletableFuture<List<String>> req : requests) {
+                MatcherAssert.assertThat(
+                    req.get(),
+                    Matchers.equalTo(RqMultipartTest.expected(20))
+                );
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void doesNotCreateThreadPerRequest() throws Exception {
+        final AtomicInteger created = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(
+            2,
+            task -> {
+                created.incrementAndGet();
+                final Thread thread = new Thread(task, "multipart-test");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        try {
+            final RqMultipart.Settings settings = RqMultipart.Settings.DEFAULT
+                .withExecutor(pool);
+            final List<CompletableFuture<List<String>>> requests = new ArrayList<>(32);
+            for (int req = 0; req < 32; ++req) {
+                requests.add(RqMultipartTest.bodies(settings, 3));
+            }
+            for (final CompletableFuture<List<String>> req : requests) {
+                req.get();
+            }
+            MatcherAssert.assertThat(created.get(), Matchers.lessThanOrEqualTo(2));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void parsesSameBodiesInZeroCopyMode() throws Exception {
+        MatcherAssert.assertThat(
+            RqMultipartTest.bodies(
+                RqMultipart.Settings.DEFAULT.withMode(ByteBufferTokenizer.Mode.ZERO_COPY), 20
+            ).get(),
+            Matchers.equalTo(RqMultipartTest.bodies(RqMultipart.Settings.DEFAULT, 20).get())
+        );
+    }
+
+    /**
+     * Parse multipart request with numbered parts, request body is published
+     * in small chunks.
+     * @param settings Parser settings
+     * @param count Parts count
+     * @return Future bodies of parts in order of receiving
+     */
+    private static CompletableFuture<List<String>> bodies(
+        final RqMultipart.Settings settings, final int count
+    ) {
+        final StringBuilder payload = new StringBuilder();
+        for (final String body : RqMultipartTest.expected(count)) {
+            payload.append("--bnd\r\nName: part\r\n\r\n").append(body).append("\r\n");
+        }
+        payload.append("--bnd--");
+        final byte[] bytes = payload.toString().getBytes(StandardCharsets.US_ASCII);
+        final int chunk = 7;
+        final CompletableFuture<List<String>> res = new CompletableFuture<>();
+        Flowable.fromPublisher(
+            new RqMultipart(
+                new ContentType("multipart/mixed; boundary=\"bnd\""),
+                Flowable.range(0, (bytes.length + chunk - 1) / chunk).map(
+                    idx -> ByteBuffer.wrap(
+                        Arrays.copyOfRange(
+                            bytes, idx * chunk, Math.min(bytes.length, (idx + 1) * chunk)
+                        )
+                    )
+                ),
+                settings
+            ).parts()
+        ).concatMapSingle(
+            part -> SingleInterop.fromFuture(new PublisherAs(part).asciiString())
+        ).toList().subscribe(res::complete, res::completeExceptionally);
+        return res;
+    }
+
+    /**
+     * Expected bodies of numbered parts.
+     * @param count Parts count
+     * @return Bodies
+     */
+    private static List<String> expected(final int count) {
+        final List<String> res = new ArrayList<>(count);
+        for (int idx = 0; idx < count; ++idx) {
+            res.add(String.format("%d-%s", idx, String.join("", Collections.nCopies(idx, "data"))));
+        }
+        return res;
+    }
 }
@@ -5,6 +5,7 @@
 package com.artipie.http.rq.multipart;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -21,4 +22,26 @@ final class StateTest {
         state.patch(ByteBuffer.allocate(0), false);
         MatcherAssert.assertThat("should be not in init state", state.isInit(), Matchers.is(false));
     }
+
+    @Test
+    void walksThroughPartsToEpilogue() {
+        final State state = new State();
+        state.patch(StateTest.chunk("preamble"), true);
+        MatcherAssert.assertThat("preamble is ignored", state.shouldIgnore(), Matchers.is(true));
+        state.patch(StateTest.chunk("\r\nfirst"), false);
+        MatcherAssert.assertThat("first part started", state.started(), Matchers.is(true));
+        MatcherAssert.assertThat("first part not ignored", state.shouldIgnore(), Matchers.is(false));
+        state.patch(StateTest.chunk(" body"), true);
+        MatcherAssert.assertThat("first part continues", state.started(), Matchers.is(false));
+        MatcherAssert.assertThat("first part ended", state.ended(), Matchers.is(true));
+        state.patch(StateTest.chunk("\r\nsecond"), true);
+        MatcherAssert.assertThat("second part started", state.started(), Matchers.is(true));
+        MatcherAssert.assertThat("second part ended", state.ended(), Matchers.is(true));
+        state.patch(StateTest.chunk("--\r\nepilogue"), true);
+        MatcherAssert.assertThat("epilogue is ignored", state.shouldIgnore(), Matchers.is(true));
+    }
+
+    private static ByteBuffer chunk(final String str) {
+        return ByteBuffer.wrap(str.getBytes(StandardCharsets.US_ASCII));
+    }
 }
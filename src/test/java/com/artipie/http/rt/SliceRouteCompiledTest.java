@@ -0,0 +1,140 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.http.rt;
+
+import com.artipie.asto.Content;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.slice.SliceSimple;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.AllOf;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test case for {@link SliceRoute.Compiled}.
+ * @since 1.2
+ * @checkstyle JavadocMethodCheck (500 lines)
+ */
+final class SliceRouteCompiledTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "GET,/api/v1/users,users",
+        "GET,/api/v1/users/1,fallback",
+        "PUT,/files/a.json,upload",
+        "GET,/files/a.json,json",
+        "GET,/files/abc,regex",
+        "GET,/files/ABC,download",
+        "GET,/api/v1/users?page=2,users",
+        "POST,/any,fallback"
+    })
+    void routesToFirstMatchedSlice(final String method, final String path,
+        final String expected) {
+        final RequestLine line = new RequestLine(RqMethod.valueOf(method), path);
+        final List<RtPath> routes = SliceRouteCompiledTest.routes();
+        MatcherAssert.assertThat(
+            "Compiled route differs from linear route",
+            new SliceRoute.Compiled(routes),
+            new SliceHasResponse(new RsHasBody(expected, StandardCharsets.UTF_8), line)
+        );
+        MatcherAssert.assertThat(
+            "Linear route doesn't match expected slice",
+            new SliceRoute(routes),
+            new SliceHasResponse(new RsHasBody(expected, StandardCharsets.UTF_8), line)
+        );
+    }
+
+    @Test
+    void matchesNotCompiledRouteBeforeCompiled() {
+        MatcherAssert.assertThat(
+            new SliceRoute.Compiled(SliceRouteCompiledTest.routes()),
+            new SliceHasResponse(
+                new RsHasBody("header", StandardCharsets.UTF_8),
+                new RequestLine(RqMethod.GET, "/files/abc"),
+                new Headers.From("X-Test", "yes"),
+                Content.EMPTY
+            )
+        );
+    }
+
+    @Test
+    void returnsNotFoundIfNothingMatched() {
+        MatcherAssert.assertThat(
+            new SliceRoute.Compiled(
+                new RtRulePath(
+                    new RtRule.All(
+                        new ByMethodsRule(RqMethod.GET),
+                        new RtRule.ByPath("/one")
+                    ),
+                    SliceRouteCompiledTest.slice("one")
+                )
+            ),
+            new SliceHasResponse(
+                new AllOf<>(
+                    Arrays.asList(
+                        new RsHasStatus(RsStatus.NOT_FOUND),
+                        new RsHasBody("not found", StandardCharsets.UTF_8)
+                    )
+                ),
+                new RequestLine(RqMethod.POST, "/one")
+            )
+        );
+    }
+
+    private static List<RtPath> routes() {
+        return Arrays.asList(
+            new RtRulePath(
+                new RtRule.All(
+                    new ByMethodsRule(RqMethod.GET),
+                    new RtRule.ByPath("/api/v1/users")
+                ),
+                SliceRouteCompiledTest.slice("users")
+            ),
+            new RtRulePath(
+                new RtRule.ByHeader("X-Test"),
+                SliceRouteCompiledTest.slice("header")
+            ),
+            new RtRulePath(
+                new RtRule.All(
+                    new ByMethodsRule(RqMethod.PUT),
+                    new RtRule.ByPath("/files/.*")
+                ),
+                SliceRouteCompiledTest.slice("upload")
+            ),
+            new RtRulePath(
+                new RtRule.ByPath(".*\\.json"),
+                SliceRouteCompiledTest.slice("json")
+            ),
+            new RtRulePath(
+                new RtRule.ByPath("/files/[a-z]+"),
+                SliceRouteCompiledTest.slice("regex")
+            ),
+            new RtRulePath(
+                new RtRule.All(
+                    new RtRule.ByMethod(RqMethod.GET),
+                    new RtRule.ByPath("/files/.*")
+                ),
+                SliceRouteCompiledTest.slice("download")
+            ),
+            new RtRulePath(RtRule.FALLBACK, SliceRouteCompiledTest.slice("fallback"))
+        );
+    }
+
+    private static Slice slice(final String name) {
+        return new SliceSimple(new RsWithBody(name, StandardCharsets.UTF_8));
+    }
+}
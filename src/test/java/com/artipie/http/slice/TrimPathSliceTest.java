@@ -19,6 +19,7 @@ import java.util.regex.Pattern;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -128,6 +129,60 @@ final class TrimPathSliceTest {
         );
     }
 
+    @Test
+    void keepsQueryOfTrimmedUri() throws Exception {
+        verify(
+            new TrimPathSlice(
+                new AssertSlice(
+                    new RqLineHasUri(new IsEqual<>(URI.create("/two?page=1&size=10"))),
+                    new RqHasHeader.Single("X-FullPath", "/one/two"),
+                    Matchers.anything()
+                ),
+                "one"
+            ),
+            requestLine("/one/two?page=1&size=10")
+        );
+    }
+
+    @Test
+    void trimsPrefixWithQueryOnly() throws Exception {
+        verify(
+            new TrimPathSlice(
+                new AssertSlice(new RqLineHasUri(new IsEqual<>(URI.create("/?q=a")))),
+                "one"
+            ),
+            requestLine("/one?q=a")
+        );
+    }
+
+    @Test
+    void doesntTrimPartOfSegment() throws Exception {
+        new TrimPathSlice((line, headers, body) -> StandardRs.EMPTY, "one").response(
+            requestLine("/onetwo/three").toString(),
+            Collections.emptyList(),
+            Flowable.empty()
+        ).send(
+            (status, headers, body) -> {
+                MatcherAssert.assertThat(
+                    "Not failed",
+                    status,
+                    IsEqual.equalTo(RsStatus.INTERNAL_ERROR)
+                );
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().get();
+    }
+
+    @Test
+    void rejectsLineWithoutVersion() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new TrimPathSlice((line, headers, body) -> StandardRs.EMPTY, "one").response(
+                "GET /one/two ", Collections.emptyList(), Flowable.empty()
+            )
+        );
+    }
+
     private static RequestLine requestLine(final String path) {
         return new RequestLine("GET", path, "HTTP/1.1");
     }
@@ -34,6 +34,52 @@ class AdapterBasicPermissionCollectionTest {
         );
     }
 
+    @Test
+    void mergesActionsOfPermissionsWithSameName() {
+        final AdapterBasicPermission.AdapterBasicPermissionCollection collection =
+            new AdapterBasicPermission.AdapterBasicPermissionCollection();
+        collection.add(new AdapterBasicPermission("repo", Action.Standard.READ));
+        collection.add(new AdapterBasicPermission("repo", Action.Standard.WRITE));
+        MatcherAssert.assertThat(
+            collection.implies(new AdapterBasicPermission("repo", "read,write")),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void impliesByPrefixPatternsAndNameIgnoringCase() {
+        final AdapterBasicPermission.AdapterBasicPermissionCollection collection =
+            new AdapterBasicPermission.AdapterBasicPermissionCollection();
+        collection.add(new AdapterBasicPermission("team-a-*", Action.Standard.READ));
+        collection.add(new AdapterBasicPermission("team-a-maven", Action.Standard.WRITE));
+        collection.add(new AdapterBasicPermission("Docker", Action.Standard.DELETE));
+        MatcherAssert.assertThat(
+            "Actions of pattern and name are united",
+            collection.implies(new AdapterBasicPermission("TEAM-A-MAVEN", "read,write")),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Pattern implies matched name",
+            collection.implies(new AdapterBasicPermission("team-a-npm", Action.Standard.READ)),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Pattern does not imply not granted action",
+            collection.implies(new AdapterBasicPermission("team-a-npm", Action.Standard.WRITE)),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Name is matched ignoring case",
+            collection.implies(new AdapterBasicPermission("docker", Action.Standard.DELETE)),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Not matched name is not implied",
+            collection.implies(new AdapterBasicPermission("team-b-npm", Action.Standard.READ)),
+            new IsEqual<>(false)
+        );
+    }
+
     @Test
     void throwsErrorIfWrongTypeAdded() {
         Assertions.assertThrows(
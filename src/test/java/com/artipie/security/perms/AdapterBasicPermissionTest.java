@@ -16,6 +16,28 @@ import org.junit.jupiter.params.provider.ValueSource;
 @SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
 class AdapterBasicPermissionTest {
 
+    @ParameterizedTest
+    @ValueSource(strings = {"team-a-maven", "TEAM-A-npm", "team-a-"})
+    void prefixPatternImpliesMatchedNames(final String name) {
+        MatcherAssert.assertThat(
+            new AdapterBasicPermission("team-a-*", Action.Standard.READ).implies(
+                new AdapterBasicPermission(name, Action.Standard.READ)
+            ),
+            new IsEqual<>(true)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"team-b-maven", "team-", "team-a*"})
+    void prefixPatternDoesNotImplyOtherNames(final String name) {
+        MatcherAssert.assertThat(
+            new AdapterBasicPermission("team-a-*", Action.Standard.READ).implies(
+                new AdapterBasicPermission(name, Action.Standard.READ)
+            ),
+            new IsEqual<>(false)
+        );
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"read", "write", "delete", "*", "read,write,delete"})
     void permWithAllActionImpliesAnyAction(final String actions) {
@@ -0,0 +1,43 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.perms;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test for {@link NameIndex}.
+ * @since 1.2
+ */
+class NameIndexTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "maven,4",
+        "MAVEN,4",
+        "team-a-npm,10",
+        "team-a-maven,11",
+        "team-b,8",
+        "team,8",
+        "python,8",
+        "te,-1"
+    })
+    void findsUnionOfMatchedMasks(final String name, final int mask) {
+        final Map<String, Integer> masks = new HashMap<>();
+        masks.put("Maven", 4);
+        masks.put("team-a-*", 2);
+        masks.put("team-a-maven", 1);
+        masks.put("team*", 8);
+        masks.put("python", 8);
+        MatcherAssert.assertThat(
+            new NameIndex(masks).mask(name),
+            new IsEqual<>(mask)
+        );
+    }
+}
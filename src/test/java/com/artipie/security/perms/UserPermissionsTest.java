@@ -0,0 +1,142 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.perms;
+
+import java.security.AllPermission;
+import java.security.PermissionCollection;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link UserPermissions}.
+ * @since 1.2
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class UserPermissionsTest {
+
+    @Test
+    void mergesUserAndRolesPermissions() {
+        final Map<String, PermissionCollection> roles = new HashMap<>();
+        roles.put("dev", UserPermissionsTest.perms("maven", Action.Standard.WRITE));
+        roles.put("ops", UserPermissionsTest.perms("docker", Action.Standard.DELETE));
+        final UserPermissions perms = new UserPermissions(
+            () -> new User.Simple(
+                Arrays.asList("dev", "ops"),
+                UserPermissionsTest.perms("maven", Action.Standard.READ)
+            ),
+            roles::get
+        );
+        MatcherAssert.assertThat(
+            "Read and write actions are merged",
+            perms.implies(
+                new AdapterBasicPermission("maven", Arrays.asList("read", "write"))
+            ),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Role permission is implied",
+            perms.implies(new AdapterBasicPermission("docker", Action.Standard.DELETE)),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Not granted permission is not implied",
+            perms.implies(new AdapterBasicPermission("docker", Action.Standard.READ)),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void readsPermissionsOnceUntilInvalidated() {
+        final AtomicInteger reads = new AtomicInteger();
+        final Map<String, PermissionCollection> roles = new HashMap<>();
+        roles.put("dev", UserPermissionsTest.perms("maven", Action.Standard.READ));
+        final UserPermissions perms = new UserPermissions(
+            () -> {
+                reads.incrementAndGet();
+                return new User.Simple(Collections.singleton("dev"), EmptyPermissions.INSTANCE);
+            },
+            roles::get
+        );
+        perms.implies(new AdapterBasicPermission("maven", Action.Standard.READ));
+        perms.implies(new AdapterBasicPermission("npm", Action.Standard.READ));
+        MatcherAssert.assertThat(
+            "User was read once",
+            reads.get(),
+            new IsEqual<>(1)
+        );
+        roles.put("dev", UserPermissionsTest.perms("npm", Action.Standard.READ));
+        perms.invalidate();
+        MatcherAssert.assertThat(
+            "Changed role permission is implied after invalidation",
+            perms.implies(new AdapterBasicPermission("npm", Action.Standard.READ)),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Removed role permission is not implied after invalidation",
+            perms.implies(new AdapterBasicPermission("maven", Action.Standard.READ)),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void impliesAnyWithAllPermission() {
+        final AllPermission all = new AllPermission();
+        final PermissionCollection admin = all.newPermissionCollection();
+        admin.add(all);
+        final UserPermissions perms = new UserPermissions(
+            () -> new User.Simple(Collections.singleton("admin"), EmptyPermissions.INSTANCE),
+            role -> admin
+        );
+        MatcherAssert.assertThat(
+            perms.implies(new AdapterBasicPermission("any", Action.ALL)),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void checksBatchOfPermissions() {
+        final Map<String, PermissionCollection> roles = new HashMap<>();
+        roles.put("dev", UserPermissionsTest.perms("team-a-*", Action.Standard.READ));
+        final UserPermissions perms = new UserPermissions(
+            () -> new User.Simple(
+                Collections.singleton("dev"),
+                UserPermissionsTest.perms("maven", Action.Standard.WRITE)
+            ),
+            roles::get
+        );
+        final int read = Action.Standard.READ.mask();
+        final int write = Action.Standard.WRITE.mask();
+        final BitSet expected = new BitSet();
+        expected.set(0);
+        expected.set(2);
+        MatcherAssert.assertThat(
+            perms.implies(
+                Arrays.asList(
+                    new AbstractMap.SimpleEntry<>("team-a-npm", read),
+                    new AbstractMap.SimpleEntry<>("team-a-npm", write),
+                    new AbstractMap.SimpleEntry<>("maven", write),
+                    new AbstractMap.SimpleEntry<>("maven", read | write),
+                    new AbstractMap.SimpleEntry<>("team-b-npm", read)
+                )
+            ),
+            new IsEqual<>(expected)
+        );
+    }
+
+    private static PermissionCollection perms(final String name, final Action action) {
+        final PermissionCollection res =
+            new AdapterBasicPermission.AdapterBasicPermissionCollection();
+        res.add(new AdapterBasicPermission(name, action));
+        return res;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.auth.AuthUser;
+import com.artipie.security.perms.Action;
+import java.security.Permission;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link AsyncYamlPolicy}.
+ * @since 1.2
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class AsyncYamlPolicyTest {
+
+    /**
+     * Alice.
+     */
+    private static final AuthUser ALICE = new AuthUser("alice", "test");
+
+    /**
+     * Storage.
+     */
+    private Storage asto;
+
+    @BeforeEach
+    void init() {
+        this.asto = new InMemoryStorage();
+    }
+
+    @Test
+    void checksUserAndRolePermissions() {
+        PolicyFixture.save(
+            this.asto, "users/alice.yml", PolicyFixture.user("java-dev", "rpm-repo")
+        );
+        PolicyFixture.save(this.asto, "roles/java-dev.yaml", PolicyFixture.role("maven-repo"));
+        final AsyncYamlPolicy policy = new AsyncYamlPolicy(this.asto);
+        MatcherAssert.assertThat(
+            "Alice can read from maven repo",
+            policy.check(AsyncYamlPolicyTest.ALICE, PolicyFixture.read("maven-repo"))
+                .toCompletableFuture().join(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Alice can read from rpm repo",
+            policy.getPermissions(AsyncYamlPolicyTest.ALICE)
+                .implies(PolicyFixture.read("rpm-repo")),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Alice cannot read from npm repo",
+            policy.check(AsyncYamlPolicyTest.ALICE, PolicyFixture.read("npm-repo"))
+                .toCompletableFuture().join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void answersWithLoadedPermissions() {
+        PolicyFixture.save(
+            this.asto, "users/alice.yml", PolicyFixture.user("java-dev", "rpm-repo")
+        );
+        PolicyFixture.save(this.asto, "roles/java-dev.yaml", PolicyFixture.role("maven-repo"));
+        final AsyncYamlPolicy policy = new AsyncYamlPolicy(this.asto);
+        policy.check(AsyncYamlPolicyTest.ALICE, PolicyFixture.read("rpm-repo"))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Alice can read from rpm repo after loading",
+            policy.allowed(AsyncYamlPolicyTest.ALICE, PolicyFixture.read("rpm-repo")),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Alice can read from maven repo after loading",
+            policy.allowed(
+                AsyncYamlPolicyTest.ALICE,
+                Arrays.asList(
+                    new AbstractMap.SimpleEntry<>("maven-repo", Action.Standard.READ.mask()),
+                    new AbstractMap.SimpleEntry<>("npm-repo", Action.Standard.READ.mask())
+                )
+            ),
+            new IsEqual<>(BitSet.valueOf(new long[]{1}))
+        );
+    }
+
+    @Test
+    void deniesUnknownUser() {
+        MatcherAssert.assertThat(
+            new AsyncYamlPolicy(this.asto)
+                .check(new AuthUser("bob", "test"), PolicyFixture.read("maven-repo"))
+                .toCompletableFuture().join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void servesStalePermissionsWhileReloading() throws InterruptedException {
+        PolicyFixture.save(
+            this.asto, "users/alice.yml", PolicyFixture.user("java-dev", "rpm-repo")
+        );
+        final AsyncYamlPolicy policy = new AsyncYamlPolicy(
+            this.asto, Duration.ofHours(1), Duration.ofHours(1)
+        );
+        policy.check(AsyncYamlPolicyTest.ALICE, PolicyFixture.read("rpm-repo"))
+            .toCompletableFuture().join();
+        PolicyFixture.save(
+            this.asto, "users/alice.yml", PolicyFixture.user("java-dev", "npm-repo")
+        );
+        policy.invalidate("alice");
+        MatcherAssert.assertThat(
+            "Stale permissions are used while reloading",
+            policy.check(AsyncYamlPolicyTest.ALICE, PolicyFixture.read("rpm-repo"))
+                .toCompletableFuture().join(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Reloaded permissions are used after reload",
+            this.eventually(policy, PolicyFixture.read("npm-repo")),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void reloadsInvalidatedRole() throws InterruptedException {
+        PolicyFixture.save(
+            this.asto, "users/alice.yml", PolicyFixture.user("java-dev", "rpm-repo")
+        );
+        PolicyFixture.save(this.asto, "roles/java-dev.yaml", PolicyFixture.role("maven-repo"));
+        final AsyncYamlPolicy policy = new AsyncYamlPolicy(this.asto);
+        policy.check(AsyncYamlPolicyTest.ALICE, PolicyFixture.read("maven-repo"))
+            .toCompletableFuture().join();
+        PolicyFixture.save(this.asto, "roles/java-dev.yaml", PolicyFixture.role("go-repo"));
+        policy.invalidate("java-dev");
+        MatcherAssert.assertThat(
+            this.eventually(policy, PolicyFixture.read("go-repo")),
+            new IsEqual<>(true)
+        );
+    }
+
+    /**
+     * Check permission until it's granted or timeout of 5 seconds.
+     * @param policy Policy
+     * @param perm Permission
+     * @return Last check result
+     * @throws InterruptedException If interrupted
+     */
+    private boolean eventually(final AsyncYamlPolicy policy, final Permission perm)
+        throws InterruptedException {
+        final long start = System.nanoTime();
+        boolean res = policy.check(AsyncYamlPolicyTest.ALICE, perm).toCompletableFuture().join();
+        while (!res && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5)) {
+            TimeUnit.MILLISECONDS.sleep(10);
+            res = policy.check(AsyncYamlPolicyTest.ALICE, perm).toCompletableFuture().join();
+        }
+        return res;
+    }
+}
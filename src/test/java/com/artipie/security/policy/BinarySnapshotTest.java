@@ -0,0 +1,193 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.artipie.ArtipieException;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.auth.AuthUser;
+import com.artipie.security.perms.Action;
+import com.artipie.security.perms.AdapterBasicPermission;
+import com.artipie.security.perms.EmptyPermissions;
+import com.artipie.security.perms.User;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.AllPermission;
+import java.security.PermissionCollection;
+import java.security.Permissions;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link BinarySnapshot}.
+ * @since 1.2
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class BinarySnapshotTest {
+
+    /**
+     * Storage.
+     */
+    private Storage asto;
+
+    @BeforeEach
+    void init() {
+        this.asto = new InMemoryStorage();
+    }
+
+    @Test
+    void convertsYamlAndLoadsPolicy() {
+        PolicyFixture.save(this.asto, 
+            "users/alice.yml",
+            String.join(
+                "\n",
+                "roles:",
+                "  - java-dev",
+                "permissions:",
+                "  adapter_basic_permissions:",
+                "    rpm-repo:",
+                "      - read",
+                "      - write"
+            )
+        );
+        PolicyFixture.save(this.asto, 
+            "roles/java-dev.yaml",
+            String.join(
+                "\n",
+                "permissions:",
+                "  adapter_basic_permissions:",
+                "    maven-*:",
+                "      - read"
+            )
+        );
+        final Key key = new Key.From("policy.bin");
+        BinarySnapshot.fromYaml(this.asto).thenCompose(bin -> bin.save(this.asto, key))
+            .toCompletableFuture().join();
+        final SnapshotPolicy policy = new SnapshotPolicy(new InMemoryStorage());
+        policy.load(BinarySnapshot.load(this.asto, key).toCompletableFuture().join());
+        final AuthUser alice = new AuthUser("alice", "test");
+        MatcherAssert.assertThat(
+            "Alice can write to rpm repo",
+            policy.getPermissions(alice).implies(
+                new AdapterBasicPermission("rpm-repo", Action.Standard.WRITE)
+            ),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Alice can read from maven repo by role",
+            policy.getPermissions(alice).implies(
+                new AdapterBasicPermission("maven-central", Action.Standard.READ)
+            ),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Alice cannot write to maven repo",
+            policy.getPermissions(alice).implies(
+                new AdapterBasicPermission("maven-central", Action.Standard.WRITE)
+            ),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void encodesSameBytesAfterDecode() {
+        final byte[] bytes = BinarySnapshotTest.admin().bytes();
+        MatcherAssert.assertThat(
+            BinarySnapshot.decode(ByteBuffer.wrap(bytes)).bytes(),
+            new IsEqual<>(bytes)
+        );
+    }
+
+    @Test
+    void keepsAllPermission() {
+        final SnapshotPolicy policy = new SnapshotPolicy(this.asto);
+        policy.load(
+            BinarySnapshot.decode(ByteBuffer.wrap(BinarySnapshotTest.admin().bytes()))
+        );
+        MatcherAssert.assertThat(
+            policy.getPermissions(new AuthUser("root", "test")).implies(
+                new AdapterBasicPermission("any-repo", Action.Standard.DELETE)
+            ),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void failsOnBrokenSnapshot() {
+        final byte[] bytes = BinarySnapshotTest.admin().bytes();
+        Assertions.assertThrows(
+            ArtipieException.class,
+            () -> BinarySnapshot.decode(
+                ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1))
+            )
+        );
+    }
+
+    @Test
+    void failsOnCountExceedingBytes() {
+        final ByteBuffer buf = ByteBuffer.allocate(Integer.BYTES * 2 + Short.BYTES)
+            .putInt(BinarySnapshot.MAGIC)
+            .putShort(BinarySnapshot.VERSION)
+            .putInt(Integer.MAX_VALUE);
+        buf.flip();
+        Assertions.assertThrows(ArtipieException.class, () -> BinarySnapshot.decode(buf));
+    }
+
+    @Test
+    void failsOnTrailingBytes() {
+        final byte[] bytes = BinarySnapshotTest.admin().bytes();
+        Assertions.assertThrows(
+            ArtipieException.class,
+            () -> BinarySnapshot.decode(
+                ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length + 1))
+            )
+        );
+    }
+
+    @Test
+    void failsOnUnknownFormat() {
+        Assertions.assertThrows(
+            ArtipieException.class,
+            () -> BinarySnapshot.decode(
+                ByteBuffer.wrap("users: []".getBytes(StandardCharsets.UTF_8))
+            )
+        );
+    }
+
+    @Test
+    void failsOnUnsupportedPermission() {
+        final PermissionCollection perms = new Permissions();
+        perms.add(new RuntimePermission("exit"));
+        Assertions.assertThrows(
+            ArtipieException.class,
+            () -> new BinarySnapshot(
+                Collections.singletonMap(
+                    "john", new User.Simple(Collections.emptySet(), perms)
+                ),
+                Collections.emptyMap()
+            ).bytes()
+        );
+    }
+
+    private static BinarySnapshot admin() {
+        final PermissionCollection all = new AllPermission().newPermissionCollection();
+        all.add(new AllPermission());
+        final Map<String, PermissionCollection> roles = Collections.singletonMap("admin", all);
+        return new BinarySnapshot(
+            Collections.singletonMap(
+                "root",
+                new User.Simple(Collections.singleton("admin"), EmptyPermissions.INSTANCE)
+            ),
+            roles
+        );
+    }
+}
@@ -14,8 +14,14 @@ import com.artipie.security.perms.User;
 import com.artipie.security.perms.UserPermissions;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.ForwardingCache;
 import java.nio.charset.StandardCharsets;
 import java.security.PermissionCollection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.BeforeEach;
@@ -283,6 +289,204 @@ class CachedYamlPolicyTest {
         );
     }
 
+    @Test
+    void cachesDecisions() {
+        this.asto.save(new Key.From("users/alice.yml"), this.aliceConfig());
+        this.asto.save(new Key.From("roles/java-dev.yaml"), this.javaDev());
+        final CachedYamlPolicy policy = new CachedYamlPolicy(
+            this.cache, this.user, this.roles, this.asto
+        );
+        final AuthUser alice = new AuthUser("alice", "test");
+        final AdapterBasicPermission perm =
+            new AdapterBasicPermission("maven-repo", Action.Standard.WRITE);
+        policy.allowed(alice, perm);
+        this.asto.save(new Key.From("roles/java-dev.yaml"), this.tester());
+        MatcherAssert.assertThat(
+            "Alice can write to maven repo according to cached decision",
+            policy.allowed(alice, new AdapterBasicPermission("maven-repo", Action.Standard.WRITE)),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Hit ratio is 0.5",
+            policy.hitRatio(),
+            new IsEqual<>(0.5)
+        );
+        policy.invalidate("java-dev");
+        MatcherAssert.assertThat(
+            "Alice cannot write to maven repo after role invalidation",
+            policy.allowed(alice, perm),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void invalidatesUserDecisions() {
+        this.asto.save(new Key.From("users/alice.yml"), this.aliceConfig());
+        final CachedYamlPolicy policy = new CachedYamlPolicy(
+            this.cache, this.user, this.roles, this.asto
+        );
+        final AuthUser alice = new AuthUser("alice", "test");
+        final AdapterBasicPermission perm =
+            new AdapterBasicPermission("rpm-repo", Action.Standard.READ);
+        MatcherAssert.assertThat(
+            "Alice can read from rpm repo",
+            policy.allowed(alice, perm),
+            new IsEqual<>(true)
+        );
+        this.asto.save(new Key.From("users/alice.yml"), this.johnConfig());
+        policy.invalidate("alice");
+        MatcherAssert.assertThat(
+            "Alice cannot read from rpm repo after user invalidation",
+            policy.allowed(alice, perm),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Decisions cache was not hit",
+            policy.hitRatio(),
+            new IsEqual<>(0.0)
+        );
+    }
+
+    @Test
+    void keepsDecisionsOfUsersWithoutRole() {
+        this.asto.save(new Key.From("users/alice.yml"), this.aliceConfig());
+        this.asto.save(new Key.From("users/admin.yml"), this.adminConfig());
+        this.asto.save(new Key.From("roles/java-dev.yaml"), this.javaDev());
+        final CachedYamlPolicy policy = new CachedYamlPolicy(
+            this.cache, this.user, this.roles, this.asto
+        );
+        final AuthUser alice = new AuthUser("alice", "test");
+        final AuthUser admin = new AuthUser("admin", "test");
+        final AdapterBasicPermission perm =
+            new AdapterBasicPermission("maven-repo", Action.Standard.WRITE);
+        policy.allowed(alice, perm);
+        policy.allowed(admin, perm);
+        this.asto.save(new Key.From("roles/java-dev.yaml"), this.tester());
+        policy.invalidate("java-dev");
+        policy.allowed(admin, perm);
+        MatcherAssert.assertThat(
+            "Admin decision was dropped on role invalidation",
+            policy.hitRatio(),
+            new IsEqual<>(1.0 / 3)
+        );
+        MatcherAssert.assertThat(
+            "Alice decision was not dropped on role invalidation",
+            policy.allowed(alice, perm),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void doesNotCacheDecisionMadeDuringInvalidation() {
+        this.asto.save(new Key.From("users/alice.yml"), this.aliceConfig());
+        this.asto.save(new Key.From("roles/java-dev.yaml"), this.javaDev());
+        final AtomicReference<CachedYamlPolicy> ref = new AtomicReference<>();
+        final CachedYamlPolicy policy = new CachedYamlPolicy(
+            this.cache,
+            new ForwardingCache.SimpleForwardingCache<String, User>(this.user) {
+                @Override
+                public User get(final String key, final Callable<? extends User> loader)
+                    throws ExecutionException {
+                    ref.get().invalidate("java-dev");
+                    return super.get(key, loader);
+                }
+            },
+            this.roles,
+            this.asto
+        );
+        ref.set(policy);
+        final AuthUser alice = new AuthUser("alice", "test");
+        final AdapterBasicPermission perm =
+            new AdapterBasicPermission("maven-repo", Action.Standard.WRITE);
+        policy.allowed(alice, perm);
+        policy.allowed(alice, perm);
+        MatcherAssert.assertThat(
+            "Decision made during invalidation was cached",
+            policy.hitRatio(),
+            new IsEqual<>(0.0)
+        );
+    }
+
+    @Test
+    void doesNotCacheDecisionStartedDuringInvalidation() throws Exception {
+        this.asto.save(new Key.From("users/alice.yml"), this.aliceConfig());
+        this.asto.save(new Key.From("roles/java-dev.yaml"), this.javaDev());
+        final CountDownLatch computed = new CountDownLatch(1);
+        final CountDownLatch invalidated = new CountDownLatch(1);
+        final AtomicReference<CompletableFuture<Boolean>> decision = new AtomicReference<>();
+        final AtomicReference<CachedYamlPolicy> ref = new AtomicReference<>();
+        final AuthUser alice = new AuthUser("alice", "test");
+        final AdapterBasicPermission perm =
+            new AdapterBasicPermission("maven-repo", Action.Standard.WRITE);
+        final CachedYamlPolicy policy = new CachedYamlPolicy(
+            this.cache, this.user,
+            new ForwardingCache.SimpleForwardingCache<String, PermissionCollection>(this.roles) {
+                @Override
+                public void invalidate(final Object key) {
+                    decision.set(
+                        CompletableFuture.supplyAsync(
+                            () -> {
+                                try {
+                                    return ref.get().allowed(alice, perm);
+                                } finally {
+                                    computed.countDown();
+                                }
+                            }
+                        )
+                    );
+                    CachedYamlPolicyTest.await(computed);
+                    super.invalidate(key);
+                }
+            },
+            new ForwardingCache.SimpleForwardingCache<CachedYamlPolicy.Decision, Boolean>(
+                CacheBuilder.newBuilder().build()
+            ) {
+                @Override
+                public void put(final CachedYamlPolicy.Decision key, final Boolean value) {
+                    computed.countDown();
+                    CachedYamlPolicyTest.await(invalidated);
+                    super.put(key, value);
+                }
+            },
+            this.asto
+        );
+        ref.set(policy);
+        policy.getPermissions(alice).implies(perm);
+        this.asto.save(new Key.From("roles/java-dev.yaml"), this.tester());
+        policy.invalidate("java-dev");
+        invalidated.countDown();
+        MatcherAssert.assertThat(
+            "Decision started before invalidation used previous role permissions",
+            decision.get().get(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Decision started during invalidation was cached",
+            policy.allowed(alice, perm),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void dropsDecisionsOfEvictedUser() {
+        this.asto.save(new Key.From("users/alice.yml"), this.aliceConfig());
+        final CachedYamlPolicy policy = new CachedYamlPolicy(
+            this.cache, this.user, this.roles, this.asto
+        );
+        final AuthUser alice = new AuthUser("alice", "test");
+        final AdapterBasicPermission perm =
+            new AdapterBasicPermission("rpm-repo", Action.Standard.READ);
+        policy.allowed(alice, perm);
+        this.cache.invalidateAll();
+        this.user.invalidateAll();
+        this.asto.save(new Key.From("users/alice.yml"), this.johnConfig());
+        MatcherAssert.assertThat(
+            "Decision outlived evicted user permissions",
+            policy.allowed(alice, perm),
+            new IsEqual<>(false)
+        );
+    }
+
     @Test
     void anyRepoTest() {
         this.asto.save(new Key.From("users/bob.yml"), this.configForAnyRepo("\"*\""));
@@ -362,6 +566,15 @@ class CachedYamlPolicyTest {
         );
     }
 
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException err) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(err);
+        }
+    }
+
     private byte[] aliceConfig() {
         return String.join(
             "\n",
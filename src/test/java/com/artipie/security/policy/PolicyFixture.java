@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.security.perms.Action;
+import com.artipie.security.perms.AdapterBasicPermission;
+import java.nio.charset.StandardCharsets;
+import java.security.Permission;
+
+/**
+ * Users and roles yaml files of policy tests.
+ * @since 1.2
+ */
+final class PolicyFixture {
+
+    /**
+     * Ctor.
+     */
+    private PolicyFixture() {
+        // utility class
+    }
+
+    /**
+     * Save yaml file to policy storage.
+     * @param asto Policy storage
+     * @param key Key of the file
+     * @param yaml Yaml content
+     */
+    static void save(final Storage asto, final String key, final String yaml) {
+        new BlockingStorage(asto).save(
+            new Key.From(key), yaml.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Yaml of user with a role and permission to read from a repository.
+     * @param role Role of the user
+     * @param repo Repository name
+     * @return User yaml
+     */
+    static String user(final String role, final String repo) {
+        return String.join(
+            "\n",
+            "type: plain",
+            "pass: qwerty",
+            "roles:",
+            String.format("  - %s", role),
+            PolicyFixture.role(repo)
+        );
+    }
+
+    /**
+     * Yaml of role with permission to read from a repository.
+     * @param repo Repository name
+     * @return Role yaml
+     */
+    static String role(final String repo) {
+        return String.join(
+            "\n",
+            "permissions:",
+            "  adapter_basic_permissions:",
+            String.format("    %s:", repo),
+            "      - read"
+        );
+    }
+
+    /**
+     * Permission to read from a repository.
+     * @param repo Repository name
+     * @return Permission
+     */
+    static Permission read(final String repo) {
+        return new AdapterBasicPermission(repo, Action.Standard.READ);
+    }
+}
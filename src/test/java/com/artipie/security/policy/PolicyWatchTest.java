@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.asto.misc.Cleanable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link PolicyWatch}.
+ * @since 1.2
+ */
+final class PolicyWatchTest {
+
+    /**
+     * Storage.
+     */
+    private Storage asto;
+
+    /**
+     * Invalidated names.
+     */
+    private Set<String> invalidated;
+
+    /**
+     * Policy recording invalidated names.
+     */
+    private Cleanable<String> policy;
+
+    @BeforeEach
+    void init() {
+        this.asto = new InMemoryStorage();
+        this.invalidated = Collections.synchronizedSet(new HashSet<>());
+        this.policy = new Cleanable<String>() {
+            @Override
+            public void invalidate(final String key) {
+                PolicyWatchTest.this.invalidated.add(key);
+            }
+
+            @Override
+            public void invalidateAll() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Test
+    void invalidatesChangedUsersAndRoles() {
+        PolicyFixture.save(this.asto, "users/alice.yaml", "type: plain");
+        PolicyFixture.save(this.asto, "users/john.yml", "type: plain");
+        PolicyFixture.save(this.asto, "roles/dev.yml", "permissions: {}");
+        final PolicyWatch watch = new PolicyWatch(this.asto, this.policy);
+        watch.check().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "First check doesn't invalidate anything",
+            this.invalidated,
+            new IsEqual<>(Collections.emptySet())
+        );
+        PolicyFixture.save(this.asto, "users/alice.yaml", "type: sha256");
+        PolicyFixture.save(this.asto, "users/bob.yaml", "type: plain");
+        new BlockingStorage(this.asto).delete(new Key.From("roles/dev.yml"));
+        watch.check().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Changed, added and removed users and roles are invalidated",
+            this.invalidated,
+            new IsEqual<>(new HashSet<>(Arrays.asList("alice", "bob", "dev")))
+        );
+    }
+
+    @Test
+    void invalidatesReportedChange() {
+        new PolicyWatch(this.asto, this.policy).changed(new Key.From("roles/java-dev.yaml"));
+        MatcherAssert.assertThat(
+            this.invalidated,
+            new IsEqual<>(Collections.singleton("java-dev"))
+        );
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link Refreshing}.
+ * @since 1.2
+ */
+final class RefreshingTest {
+
+    @Test
+    void backsOffWhenReloadFails() {
+        final AtomicInteger loads = new AtomicInteger();
+        final AtomicBoolean broken = new AtomicBoolean();
+        final FakeClock clock = new FakeClock();
+        final Refreshing<String> cache = new Refreshing<>(
+            key -> {
+                loads.incrementAndGet();
+                final CompletableFuture<String> res = new CompletableFuture<>();
+                if (broken.get()) {
+                    res.completeExceptionally(new IOException("Storage is not available"));
+                } else {
+                    res.complete(key);
+                }
+                return res;
+            },
+            Duration.ofHours(1), Optional.of(Duration.ofHours(1)), clock
+        );
+        cache.get("alice").join();
+        broken.set(true);
+        cache.expire("alice");
+        for (int idx = 0; idx < 3; idx += 1) {
+            MatcherAssert.assertThat(
+                "Previous value is served while storage fails",
+                cache.get("alice").join(),
+                new IsEqual<>("alice")
+            );
+        }
+        MatcherAssert.assertThat(
+            "Failed reload is not retried on each access",
+            loads.get(),
+            new IsEqual<>(2)
+        );
+        clock.advance(Duration.ofSeconds(1));
+        cache.get("alice");
+        cache.get("alice");
+        MatcherAssert.assertThat(
+            "Reload is retried once after delay",
+            loads.get(),
+            new IsEqual<>(3)
+        );
+        clock.advance(Duration.ofSeconds(1));
+        cache.get("alice");
+        MatcherAssert.assertThat(
+            "Retry delay is doubled after next failure",
+            loads.get(),
+            new IsEqual<>(3)
+        );
+        broken.set(false);
+        clock.advance(Duration.ofSeconds(1));
+        cache.get("alice");
+        clock.advance(Duration.ofSeconds(10));
+        cache.get("alice");
+        MatcherAssert.assertThat(
+            "Reloaded value is not reloaded before refresh interval",
+            loads.get(),
+            new IsEqual<>(4)
+        );
+    }
+
+    @Test
+    void backsOffWhenFirstLoadFails() {
+        final AtomicInteger loads = new AtomicInteger();
+        final FakeClock clock = new FakeClock();
+        final Refreshing<String> cache = new Refreshing<>(
+            key -> {
+                loads.incrementAndGet();
+                final CompletableFuture<String> res = new CompletableFuture<>();
+                res.completeExceptionally(new IOException("Storage is not available"));
+                return res;
+            },
+            Duration.ofHours(1), Optional.of(Duration.ofHours(1)), clock
+        );
+        cache.get("bob");
+        cache.get("bob");
+        MatcherAssert.assertThat(
+            "Failed load is not retried on each access",
+            loads.get(),
+            new IsEqual<>(1)
+        );
+        clock.advance(Duration.ofSeconds(1));
+        MatcherAssert.assertThat(
+            "Failure is reported after retry",
+            cache.fresh("bob").isCompletedExceptionally(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Load is retried after delay",
+            loads.get(),
+            new IsEqual<>(2)
+        );
+    }
+
+    /**
+     * Clock which is moved manually.
+     * @since 1.2
+     */
+    private static final class FakeClock extends Clock {
+
+        /**
+         * Current time in milliseconds.
+         */
+        private final AtomicLong now = new AtomicLong();
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.now.get());
+        }
+
+        /**
+         * Move clock forward.
+         * @param duration Duration to move by
+         */
+        void advance(final Duration duration) {
+            this.now.addAndGet(duration.toMillis());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.amihaiemil.eoyaml.Yaml;
+import com.artipie.http.auth.AuthUser;
+import com.artipie.security.perms.Action;
+import com.artipie.security.perms.AdapterBasicPermission;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link SnapshotPolicyFactory}.
+ * @since 1.2
+ */
+class SnapshotPolicyFactoryTest {
+
+    @Test
+    void createsLoadedSnapshotPolicy(@TempDir final Path dir) throws IOException {
+        Files.createDirectories(dir.resolve("users"));
+        Files.write(
+            dir.resolve("users").resolve("alice.yaml"),
+            String.join(
+                "\n",
+                "permissions:",
+                "  adapter_basic_permissions:",
+                "    maven-repo:",
+                "      - read"
+            ).getBytes(StandardCharsets.UTF_8)
+        );
+        final Policy<?> policy = new PoliciesLoader().newObject(
+            "artipie-snapshot",
+            new YamlPolicyConfig(
+                Yaml.createYamlMappingBuilder().add("type", "artipie-snapshot")
+                    .add(
+                        "storage",
+                        Yaml.createYamlMappingBuilder().add("type", "fs")
+                            .add("path", dir.toString()).build()
+                    ).build()
+            )
+        );
+        MatcherAssert.assertThat(
+            "Snapshot policy is created",
+            policy,
+            new IsInstanceOf(SnapshotPolicy.class)
+        );
+        MatcherAssert.assertThat(
+            "Alice is loaded on creation",
+            policy.getPermissions(new AuthUser("alice", "test")).implies(
+                new AdapterBasicPermission("maven-repo", Action.Standard.READ)
+            ),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void writesBinarySnapshot(@TempDir final Path dir) {
+        new SnapshotPolicyFactory().getPolicy(
+            new YamlPolicyConfig(
+                Yaml.createYamlMappingBuilder().add("type", "artipie-snapshot")
+                    .add("snapshot", "policy.bin")
+                    .add(
+                        "storage",
+                        Yaml.createYamlMappingBuilder().add("type", "fs")
+                            .add("path", dir.toString()).build()
+                    ).build()
+            )
+        );
+        MatcherAssert.assertThat(
+            Files.exists(dir.resolve("policy.bin")),
+            new IsEqual<>(true)
+        );
+    }
+}
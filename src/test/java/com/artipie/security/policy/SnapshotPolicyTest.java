@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/http/blob/master/LICENSE.txt
+ */
+package com.artipie.security.policy;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.auth.AuthUser;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link SnapshotPolicy}.
+ * @since 1.2
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class SnapshotPolicyTest {
+
+    /**
+     * Alice.
+     */
+    private static final AuthUser ALICE = new AuthUser("alice", "test");
+
+    /**
+     * Storage.
+     */
+    private Storage asto;
+
+    @BeforeEach
+    void init() {
+        this.asto = new InMemoryStorage();
+    }
+
+    @Test
+    void loadsAllUsersAndRoles() {
+        PolicyFixture.save(
+            this.asto, "users/alice.yml", PolicyFixture.user("java-dev", "rpm-repo")
+        );
+        PolicyFixture.save(this.asto, "users/bob.yaml", PolicyFixture.user("admin", "npm-repo"));
+        PolicyFixture.save(this.asto, "roles/java-dev.yaml", PolicyFixture.role("maven-repo"));
+        final SnapshotPolicy policy = new SnapshotPolicy(this.asto);
+        MatcherAssert.assertThat(
+            "Alice has no permissions before load",
+            policy.getPermissions(SnapshotPolicyTest.ALICE)
+                .implies(PolicyFixture.read("rpm-repo")),
+            new IsEqual<>(false)
+        );
+        policy.reload().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Alice can read from rpm repo",
+            policy.getPermissions(SnapshotPolicyTest.ALICE)
+                .implies(PolicyFixture.read("rpm-repo")),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Alice can read from maven repo",
+            policy.getPermissions(SnapshotPolicyTest.ALICE)
+                .implies(PolicyFixture.read("maven-repo")),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Bob can read from npm repo",
+            policy.getPermissions(new AuthUser("bob", "test"))
+                .implies(PolicyFixture.read("npm-repo")),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Bob cannot read from maven repo",
+            policy.getPermissions(new AuthUser("bob", "test"))
+                .implies(PolicyFixture.read("maven-repo")),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void doesNotReadStorageOnCheck() {
+        PolicyFixture.save(
+            this.asto, "users/alice.yml", PolicyFixture.user("java-dev", "rpm-repo")
+        );
+        final SnapshotPolicy policy = new SnapshotPolicy(this.asto);
+        policy.reload().toCompletableFuture().join();
+        this.asto.delete(new Key.From("users/alice.yml")).join();
+        MatcherAssert.assertThat(
+            policy.getPermissions(SnapshotPolicyTest.ALICE)
+                .implies(PolicyFixture.read("rpm-repo")),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void reloadsChangedRole() {
+        PolicyFixture.save(
+            this.asto, "users/alice.yml", PolicyFixture.user("java-dev", "rpm-repo")
+        );
+        PolicyFixture.save(this.asto, "roles/java-dev.yaml", PolicyFixture.role("maven-repo"));
+        final SnapshotPolicy policy = new SnapshotPolicy(this.asto);
+        policy.reload().toCompletableFuture().join();
+        PolicyFixture.save(this.asto, "roles/java-dev.yaml", PolicyFixture.role("go-repo"));
+        policy.reload("java-dev").toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Alice can read from go repo",
+            policy.getPermissions(SnapshotPolicyTest.ALICE)
+                .implies(PolicyFixture.read("go-repo")),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Alice cannot read from maven repo",
+            policy.getPermissions(SnapshotPolicyTest.ALICE)
+                .implies(PolicyFixture.read("maven-repo")),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void removesDeletedUser() {
+        PolicyFixture.save(
+            this.asto, "users/alice.yml", PolicyFixture.user("java-dev", "rpm-repo")
+        );
+        final SnapshotPolicy policy = new SnapshotPolicy(this.asto);
+        policy.reload().toCompletableFuture().join();
+        this.asto.delete(new Key.From("users/alice.yml")).join();
+        policy.reload("alice").toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            policy.getPermissions(SnapshotPolicyTest.ALICE)
+                .implies(PolicyFixture.read("rpm-repo")),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void keepsPreviousUserIfFileIsBroken() {
+        PolicyFixture.save(
+            this.asto, "users/alice.yml", PolicyFixture.user("java-dev", "rpm-repo")
+        );
+        PolicyFixture.save(this.asto, "users/bob.yaml", PolicyFixture.user("admin", "npm-repo"));
+        final SnapshotPolicy policy = new SnapshotPolicy(this.asto);
+        policy.reload().toCompletableFuture().join();
+        PolicyFixture.save(this.asto, 
+            "users/alice.yml",
+            String.join("\n", "permissions:", "  unknown_permissions:", "    repo: read")
+        );
+        PolicyFixture.save(this.asto, "users/bob.yaml", PolicyFixture.user("admin", "go-repo"));
+        policy.reload().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Alice lost permissions",
+            policy.getPermissions(SnapshotPolicyTest.ALICE)
+                .implies(PolicyFixture.read("rpm-repo")),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Bob was not reloaded",
+            policy.getPermissions(new AuthUser("bob", "test"))
+                .implies(PolicyFixture.read("go-repo")),
+            new IsEqual<>(true)
+        );
+    }
+}
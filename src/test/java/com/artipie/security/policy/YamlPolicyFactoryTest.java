@@ -51,4 +51,42 @@ class YamlPolicyFactoryTest {
         );
     }
 
+    @Test
+    void createsAsyncYamlPolicyWithRefresh() {
+        MatcherAssert.assertThat(
+            new YamlPolicyFactory().getPolicy(
+                new YamlPolicyConfig(
+                    Yaml.createYamlMappingBuilder().add("type", "artipie")
+                        .add("refresh_millis", "30000")
+                        .add(
+                            "storage",
+                            Yaml.createYamlMappingBuilder().add("type", "fs")
+                                .add("path", "/some/path").build()
+                        ).build()
+                )
+            ),
+            new IsInstanceOf(AsyncYamlPolicy.class)
+        );
+    }
+
+    @Test
+    void createsClosableWatchedPolicy() {
+        final Policy<?> policy = new YamlPolicyFactory().getPolicy(
+            new YamlPolicyConfig(
+                Yaml.createYamlMappingBuilder().add("type", "artipie")
+                    .add("watch_millis", "60000")
+                    .add(
+                        "storage",
+                        Yaml.createYamlMappingBuilder().add("type", "fs")
+                            .add("path", "/some/path").build()
+                    ).build()
+            )
+        );
+        MatcherAssert.assertThat(
+            policy,
+            new IsInstanceOf(WatchedPolicy.class)
+        );
+        ((WatchedPolicy<?>) policy).close();
+    }
+
 }